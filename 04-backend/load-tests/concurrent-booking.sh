@@ -0,0 +1,115 @@
+#!/bin/bash
+
+# Concurrent Booking Load Test
+# Fires parallel POST /api/appointments requests at a single doctor and verifies
+# that no two booked (SCHEDULED/CONFIRMED) appointments overlap.
+#
+# Usage: ./concurrent-booking.sh
+#
+# Environment variables:
+#   BASE_URL     API base URL (default: http://localhost:8080)
+#   TOKEN        JWT bearer token of an ADMIN user (required)
+#   USER_ID      ID of the user performing the bookings (required)
+#   DOCTOR_ID    Doctor to book against (required)
+#   PATIENT_ID   Patient to book for (required)
+#   DATE         Day to book, must be a working day of the doctor (default: tomorrow)
+#   START_TIME   First slot start time (default: 09:00)
+#   SLOTS        Number of distinct start times, 10 minutes apart (default: 12)
+#   REQUESTS     Total number of booking attempts (default: 500)
+#   PARALLELISM  Number of concurrent requests (default: 50)
+#   DURATION     Appointment duration in minutes (default: 30)
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+DATE=${DATE:-$(date -d tomorrow +%Y-%m-%d)}
+START_TIME=${START_TIME:-09:00}
+SLOTS=${SLOTS:-12}
+REQUESTS=${REQUESTS:-500}
+PARALLELISM=${PARALLELISM:-50}
+DURATION=${DURATION:-30}
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+check_prerequisites() {
+    for tool in curl jq xargs; do
+        if ! command -v "$tool" &> /dev/null; then
+            print_error "$tool is required but not installed"
+            exit 1
+        fi
+    done
+
+    for var in TOKEN USER_ID DOCTOR_ID PATIENT_ID; do
+        if [ -z "${!var}" ]; then
+            print_error "$var must be set"
+            exit 1
+        fi
+    done
+}
+
+# Book a single appointment; slot offsets of 10 minutes with 30 minute
+# durations guarantee that most attempts overlap each other
+book() {
+    local attempt=$1
+    local offset=$(( (attempt % SLOTS) * 10 ))
+    local start
+    start=$(date -d "$DATE $START_TIME $offset minutes" +%Y-%m-%dT%H:%M:%S)
+
+    curl -s -o /dev/null -w "%{http_code}\n" \
+        -X POST "$BASE_URL/api/appointments?userId=$USER_ID" \
+        -H "Authorization: Bearer $TOKEN" \
+        -H "Content-Type: application/json" \
+        -d "{\"appointmentDate\":\"$start\",\"duration\":$DURATION,\"reason\":\"Load test $attempt\",\"doctorId\":$DOCTOR_ID,\"patientId\":$PATIENT_ID}"
+}
+
+export -f book
+export BASE_URL TOKEN USER_ID DOCTOR_ID PATIENT_ID DATE START_TIME SLOTS DURATION
+
+check_prerequisites
+
+print_status "Firing $REQUESTS booking attempts at doctor $DOCTOR_ID on $DATE with parallelism $PARALLELISM"
+
+started=$(date +%s.%N)
+results=$(seq 1 "$REQUESTS" | xargs -P "$PARALLELISM" -I {} bash -c 'book {}')
+finished=$(date +%s.%N)
+
+elapsed=$(echo "$finished - $started" | bc)
+print_status "Completed in ${elapsed}s ($(echo "$REQUESTS / $elapsed" | bc) requests/s)"
+echo "$results" | sort | uniq -c | while read -r count code; do
+    print_status "HTTP $code: $count"
+done
+
+print_status "Verifying booked appointments for overlaps"
+
+overlaps=$(curl -s "$BASE_URL/api/appointments/doctor/$DOCTOR_ID?date=$DATE" \
+    -H "Authorization: Bearer $TOKEN" | jq '
+        [ .[]
+          | select(.status == "SCHEDULED" or .status == "CONFIRMED")
+          | { id, start: (.appointmentDate | sub("\\.[0-9]+$"; "") | strptime("%Y-%m-%dT%H:%M:%S") | mktime) , duration } ]
+        | sort_by(.start)
+        | [ range(1; length) as $i
+            | select(.[$i].start < .[$i - 1].start + .[$i - 1].duration * 60)
+            | [.[$i - 1].id, .[$i].id] ]')
+
+if [ "$(echo "$overlaps" | jq 'length')" -eq 0 ]; then
+    print_success "No overlapping appointments found"
+else
+    print_error "Overlapping appointments found: $overlaps"
+    exit 1
+fi
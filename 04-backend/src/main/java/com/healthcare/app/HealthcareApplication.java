@@ -2,10 +2,13 @@ package com.healthcare.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.util.TimeZone;
+
 /**
  * Main Spring Boot Application for Healthcare Appointment & EMR System
  * 
@@ -20,9 +23,12 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaAuditing
 @EnableTransactionManagement
 @EnableScheduling
+@EnableCaching
 public class HealthcareApplication {
 
     public static void main(String[] args) {
+        // Appointment and availability times are UTC; LocalDateTime.now() must agree with them
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
         SpringApplication.run(HealthcareApplication.class, args);
     }
 } 
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.healthcare.app.controller;
 
+import com.healthcare.app.dto.AppointmentBatchRequest;
 import com.healthcare.app.dto.AppointmentRequest;
 import com.healthcare.app.dto.AppointmentResponse;
 import com.healthcare.app.dto.AppointmentStatistics;
+import com.healthcare.app.dto.CursorPage;
+import com.healthcare.app.dto.DoctorAppointmentStatistics;
 import com.healthcare.app.entity.Appointment;
 import com.healthcare.app.entity.User;
+import com.healthcare.app.exception.AppointmentConflictException;
+import com.healthcare.app.service.AppointmentExportService;
 import com.healthcare.app.service.AppointmentService;
 import com.healthcare.app.service.AuthorizationService;
 import com.healthcare.app.service.UserService;
@@ -14,10 +19,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.time.LocalDate;
@@ -35,6 +43,9 @@ public class AppointmentController {
     @Autowired
     private AppointmentService appointmentService;
 
+    @Autowired
+    private AppointmentExportService appointmentExportService;
+
     @Autowired
     private UserService userService;
 
@@ -62,12 +73,16 @@ public class AppointmentController {
             Appointment appointment = convertToEntity(request);
             appointment.setCreatedBy(user);
             
-            Appointment savedAppointment = appointmentService.createAppointment(appointment);
+            Appointment savedAppointment = appointmentService.createAppointment(appointment, request.getHoldToken());
             AppointmentResponse response = convertToResponse(savedAppointment);
             
             logger.info("Appointment created successfully with ID: {}", savedAppointment.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (AppointmentConflictException e) {
+            logger.warn("Appointment conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(null);
         } catch (Exception e) {
             logger.error("Error creating appointment: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -75,6 +90,41 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Create a recurring series of appointments in one request
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<List<AppointmentResponse>> createAppointmentBatch(
+            @Valid @RequestBody AppointmentBatchRequest request,
+            @RequestParam Long userId) {
+        
+        logger.info("Creating {} {} appointments for user: {}", 
+            request.getOccurrences(), request.getFrequency(), userId);
+        
+        try {
+            Appointment template = convertToEntity(request.getAppointment());
+            List<Appointment> savedAppointments = appointmentService.createAppointmentSeries(
+                template, request.getOccurrenceDates(), userId);
+            
+            List<AppointmentResponse> responses = savedAppointments.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+            
+            logger.info("Appointment series created successfully with {} appointments", savedAppointments.size());
+            return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+            
+        } catch (AppointmentConflictException e) {
+            logger.warn("Appointment series conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error creating appointment series: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get appointment by ID
      */
@@ -129,6 +179,10 @@ public class AppointmentController {
             AppointmentResponse response = convertToResponse(savedAppointment);
             return ResponseEntity.ok(response);
             
+        } catch (AppointmentConflictException e) {
+            logger.warn("Appointment conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(null);
         } catch (Exception e) {
             logger.error("Error updating appointment: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -188,6 +242,35 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Start appointment
+     */
+    @PostMapping("/{appointmentId}/start")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<AppointmentResponse> startAppointment(
+            @PathVariable Long appointmentId,
+            @RequestParam Long userId) {
+        
+        logger.info("Starting appointment: {} by user: {}", appointmentId, userId);
+        
+        try {
+            Appointment startedAppointment = appointmentService.startAppointment(
+                appointmentId, userId);
+            
+            AppointmentResponse response = convertToResponse(startedAppointment);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid appointment transition: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error starting appointment: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Complete appointment
      */
@@ -341,6 +424,72 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Export appointments by date range as NDJSON or CSV, streamed row by row
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<StreamingResponseBody> exportAppointmentsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "NDJSON") AppointmentExportService.ExportFormat format) {
+        
+        logger.info("Exporting appointments between {} and {} as {}", startDate, endDate, format);
+        
+        if (!startDate.isBefore(endDate)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        }
+        
+        // Runs on the async request executor once headers are committed, so
+        // failures can only be logged; the client sees a truncated body
+        StreamingResponseBody body = outputStream -> {
+            try {
+                appointmentExportService.exportAppointmentsByDateRange(startDate, endDate, format, outputStream);
+            } catch (Exception e) {
+                logger.error("Error exporting appointments by date range: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
+        
+        String filename = "appointments-" + startDate.toLocalDate() + "-" + endDate.toLocalDate() + "." + format.getExtension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    /**
+     * Get appointments by status and date range, one keyset page at a time
+     */
+    @GetMapping("/status/{status}/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<CursorPage<AppointmentResponse>> getAppointmentsByStatusAndDateRange(
+            @PathVariable Appointment.AppointmentStatus status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        
+        logger.info("Fetching {} appointments between {} and {} with limit: {}", status, startDate, endDate, limit);
+        
+        try {
+            CursorPage<Appointment> appointments = appointmentService.getAppointmentsByStatusAndDateRange(
+                status, startDate, endDate, cursor, limit);
+            
+            return ResponseEntity.ok(appointments.map(this::convertToResponse));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid appointment cursor request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error fetching appointments by status and date range: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get paginated appointments
      */
@@ -387,6 +536,28 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Get appointment statistics broken down by doctor
+     */
+    @GetMapping("/statistics/by-doctor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DoctorAppointmentStatistics>> getAppointmentStatisticsByDoctor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        logger.info("Fetching appointment statistics by doctor from {} to {}", startDate, endDate);
+        
+        try {
+            List<DoctorAppointmentStatistics> statistics = appointmentService.getAppointmentStatisticsByDoctor(startDate, endDate);
+            return ResponseEntity.ok(statistics);
+            
+        } catch (Exception e) {
+            logger.error("Error fetching appointment statistics by doctor: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get urgent appointments
      */
@@ -0,0 +1,66 @@
+package com.healthcare.app.controller;
+
+import com.healthcare.app.dto.AuditLogResponse;
+import com.healthcare.app.dto.CursorPage;
+import com.healthcare.app.entity.AuditLog;
+import com.healthcare.app.service.AuditService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@CrossOrigin(origins = "*")
+public class AuditController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditController.class);
+
+    @Autowired
+    private AuditService auditService;
+
+    /**
+     * Get audit logs, newest first, one keyset page at a time
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<AuditLogResponse>> getAuditLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        
+        logger.info("Fetching audit log page with limit: {}", limit);
+        
+        try {
+            CursorPage<AuditLog> logs = auditService.getAuditLogs(cursor, limit);
+            
+            return ResponseEntity.ok(logs.map(this::convertToResponse));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid audit log cursor request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error fetching audit logs: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    private AuditLogResponse convertToResponse(AuditLog auditLog) {
+        AuditLogResponse response = new AuditLogResponse();
+        response.setId(auditLog.getId());
+        // Reading the id of a lazy association does not initialize the proxy
+        response.setUserId(auditLog.getUser() != null ? auditLog.getUser().getId() : null);
+        response.setAction(auditLog.getAction());
+        response.setResourceType(auditLog.getResourceType());
+        response.setResourceId(auditLog.getResourceId());
+        response.setDetails(auditLog.getDetails());
+        response.setIpAddress(auditLog.getIpAddress());
+        response.setUserAgent(auditLog.getUserAgent());
+        response.setCreatedAt(auditLog.getCreatedAt());
+        return response;
+    }
+}
@@ -2,10 +2,21 @@ package com.healthcare.app.controller;
 
 import com.healthcare.app.dto.DoctorAvailabilityRequest;
 import com.healthcare.app.dto.DoctorAvailabilityResponse;
+import com.healthcare.app.dto.AvailabilityExceptionResponse;
 import com.healthcare.app.dto.AvailabilityStatistics;
+import com.healthcare.app.dto.AvailableSlotResponse;
+import com.healthcare.app.dto.FreeSlotResponse;
+import com.healthcare.app.dto.SlotHoldRequest;
+import com.healthcare.app.dto.SlotHoldResponse;
+import com.healthcare.app.dto.WeeklyScheduleRequest;
+import com.healthcare.app.entity.AvailabilityException;
 import com.healthcare.app.entity.DoctorAvailability;
 import com.healthcare.app.entity.User;
+import com.healthcare.app.exception.AppointmentConflictException;
 import com.healthcare.app.service.DoctorAvailabilityService;
+import com.healthcare.app.service.DoctorSlotSearchService;
+import com.healthcare.app.service.SlotHoldService;
+import com.healthcare.app.service.SlotHoldStore;
 import com.healthcare.app.service.AuthorizationService;
 import com.healthcare.app.service.UserService;
 import org.slf4j.Logger;
@@ -22,6 +33,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,6 +47,12 @@ public class DoctorAvailabilityController {
     @Autowired
     private DoctorAvailabilityService availabilityService;
 
+    @Autowired
+    private DoctorSlotSearchService slotSearchService;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
     @Autowired
     private UserService userService;
 
@@ -124,6 +142,46 @@ public class DoctorAvailabilityController {
         }
     }
 
+    /**
+     * Replace a doctor's weekly schedule in one request
+     */
+    @PutMapping("/doctor/{doctorId}/week")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<List<DoctorAvailabilityResponse>> replaceWeeklySchedule(
+            @PathVariable Long doctorId,
+            @Valid @RequestBody WeeklyScheduleRequest request,
+            @RequestParam Long userId) {
+        
+        logger.info("Replacing weekly schedule of doctor: {} with {} slots by user: {}",
+            doctorId, request.getSlots().size(), userId);
+        
+        try {
+            List<DoctorAvailability> slots = new ArrayList<>(request.getSlots().size());
+            for (DoctorAvailabilityRequest slot : request.getSlots()) {
+                if (slot.getDoctorId() != null && !slot.getDoctorId().equals(doctorId)) {
+                    throw new IllegalArgumentException("Slot belongs to a different doctor: " + slot.getDoctorId());
+                }
+                slots.add(convertToEntity(slot));
+            }
+            
+            List<DoctorAvailabilityResponse> responses = availabilityService.replaceWeeklySchedule(doctorId, slots, userId)
+                .stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid weekly schedule: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error replacing weekly schedule: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get availability by ID
      */
@@ -209,6 +267,35 @@ public class DoctorAvailabilityController {
         }
     }
 
+    /**
+     * Search the earliest free slots across doctors of a specialization
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<List<AvailableSlotResponse>> searchSlots(
+            @RequestParam String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) Integer limit) {
+        
+        logger.info("Searching {} slots from {} to {}", specialization, from, to);
+        
+        try {
+            List<AvailableSlotResponse> slots = slotSearchService.findEarliestSlots(specialization, from, to, duration, limit);
+            return ResponseEntity.ok(slots);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid slot search: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error searching slots: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get available doctors at specific time
      */
@@ -236,7 +323,7 @@ public class DoctorAvailabilityController {
     }
 
     /**
-     * Check if doctor is available at specific time
+     * Check if doctor is available at a day and time in the doctor's clinic time zone
      */
     @GetMapping("/doctor/{doctorId}/check-availability")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
@@ -254,7 +341,7 @@ public class DoctorAvailabilityController {
                     .body(null);
             }
 
-            boolean isAvailable = availabilityService.isDoctorAvailableAtTime(doctor, dayOfWeek, time);
+            boolean isAvailable = availabilityService.isDoctorAvailableAtLocalTime(doctor, dayOfWeek, time);
             return ResponseEntity.ok(isAvailable);
             
         } catch (Exception e) {
@@ -265,16 +352,16 @@ public class DoctorAvailabilityController {
     }
 
     /**
-     * Get doctor availability for date range
+     * Get doctor free slots for date range
      */
     @GetMapping("/doctor/{doctorId}/date-range")
-    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
-    public ResponseEntity<List<DoctorAvailabilityResponse>> getDoctorAvailabilityForDateRange(
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<List<FreeSlotResponse>> getDoctorAvailabilityForDateRange(
             @PathVariable Long doctorId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        logger.info("Fetching availability for doctor: {} from {} to {}", doctorId, startDate, endDate);
+        logger.info("Fetching free slots for doctor: {} from {} to {}", doctorId, startDate, endDate);
         
         try {
             User doctor = userService.getUserById(doctorId);
@@ -283,17 +370,18 @@ public class DoctorAvailabilityController {
                     .body(null);
             }
 
-            List<DoctorAvailability> availabilities = availabilityService.getDoctorAvailabilityForDateRange(
-                doctor, startDate, endDate);
-            
-            List<DoctorAvailabilityResponse> responses = availabilities.stream()
-                .map(this::convertToResponse)
+            List<FreeSlotResponse> responses = availabilityService.getFreeSlots(doctor, startDate, endDate).stream()
+                .map(slot -> new FreeSlotResponse(doctorId, slot.start(), slot.end()))
                 .collect(Collectors.toList());
             
             return ResponseEntity.ok(responses);
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid date range for doctor free slots: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
         } catch (Exception e) {
-            logger.error("Error fetching doctor availability for date range: {}", e.getMessage(), e);
+            logger.error("Error fetching doctor free slots for date range: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(null);
         }
@@ -390,7 +478,7 @@ public class DoctorAvailabilityController {
      */
     @PostMapping("/doctor/{doctorId}/unavailable")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
-    public ResponseEntity<Void> setDoctorUnavailable(
+    public ResponseEntity<AvailabilityExceptionResponse> setDoctorUnavailable(
             @PathVariable Long doctorId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDateTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDateTime,
@@ -407,9 +495,15 @@ public class DoctorAvailabilityController {
                     .build();
             }
 
-            availabilityService.setDoctorUnavailable(doctor, startDateTime, endDateTime, reason);
-            return ResponseEntity.ok().build();
+            AvailabilityException exception = availabilityService.setDoctorUnavailable(
+                doctor, startDateTime, endDateTime, reason, userId);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(convertToExceptionResponse(exception));
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid unavailability request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .build();
         } catch (Exception e) {
             logger.error("Error setting doctor as unavailable: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -417,6 +511,64 @@ public class DoctorAvailabilityController {
         }
     }
 
+    /**
+     * Get doctor's unavailability periods
+     */
+    @GetMapping("/doctor/{doctorId}/exceptions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<List<AvailabilityExceptionResponse>> getAvailabilityExceptions(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        
+        logger.info("Fetching unavailability periods for doctor: {}", doctorId);
+        
+        try {
+            User doctor = userService.getUserById(doctorId);
+            if (doctor == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+            }
+
+            List<AvailabilityExceptionResponse> responses = availabilityService
+                .getAvailabilityExceptions(doctor, from != null ? from : LocalDateTime.now()).stream()
+                .map(this::convertToExceptionResponse)
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (Exception e) {
+            logger.error("Error fetching unavailability periods: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    /**
+     * Remove an unavailability period
+     */
+    @DeleteMapping("/exceptions/{exceptionId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<Void> deleteAvailabilityException(
+            @PathVariable Long exceptionId,
+            @RequestParam Long userId) {
+        
+        logger.info("Deleting unavailability period: {} by user: {}", exceptionId, userId);
+        
+        try {
+            availabilityService.deleteAvailabilityException(exceptionId, userId);
+            return ResponseEntity.noContent().build();
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid unavailability deletion: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .build();
+        } catch (Exception e) {
+            logger.error("Error deleting unavailability period: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .build();
+        }
+    }
+
     /**
      * Get next available slot for doctor
      */
@@ -424,7 +576,8 @@ public class DoctorAvailabilityController {
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
     public ResponseEntity<LocalDateTime> getNextAvailableSlot(
             @PathVariable Long doctorId,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+            @RequestParam(required = false) Integer duration) {
         
         logger.info("Finding next available slot for doctor: {} from: {}", doctorId, fromDateTime);
         
@@ -435,8 +588,9 @@ public class DoctorAvailabilityController {
                     .body(null);
             }
 
-            LocalDateTime nextSlot = availabilityService.getNextAvailableSlot(doctor, fromDateTime);
-            return ResponseEntity.ok(nextSlot);
+            return availabilityService.getNextAvailableSlot(doctor, fromDateTime, duration)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
             
         } catch (Exception e) {
             logger.error("Error finding next available slot: {}", e.getMessage(), e);
@@ -445,16 +599,157 @@ public class DoctorAvailabilityController {
         }
     }
 
+    /**
+     * Check if doctor has an unbooked slot at a specific date and time
+     */
+    @GetMapping("/doctor/{doctorId}/slot-free")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<Boolean> isSlotFree(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime,
+            @RequestParam(defaultValue = "30") int duration) {
+        
+        logger.info("Checking free slot for doctor: {} at {} for {} minutes", doctorId, dateTime, duration);
+        
+        try {
+            User doctor = userService.getUserById(doctorId);
+            if (doctor == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+            }
+
+            return ResponseEntity.ok(availabilityService.isDoctorFreeAt(doctor, dateTime, duration));
+            
+        } catch (Exception e) {
+            logger.error("Error checking free slot: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    /**
+     * Hold a slot for the patient while they complete the booking
+     */
+    @PostMapping("/doctor/{doctorId}/hold")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PATIENT')")
+    public ResponseEntity<SlotHoldResponse> holdSlot(
+            @PathVariable Long doctorId,
+            @Valid @RequestBody SlotHoldRequest request,
+            @RequestParam Long userId) {
+        
+        logger.info("Holding slot of doctor: {} at {} by user: {}", doctorId, request.getStartTime(), userId);
+        
+        try {
+            User doctor = userService.getUserById(doctorId);
+            User user = userService.getUserById(userId);
+            if (doctor == null || user == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+            }
+
+            Long patientId = resolveHoldPatient(user, request.getPatientId());
+            SlotHoldStore.SlotHold hold = slotHoldService.hold(doctor, patientId, request.getStartTime(), request.getDuration());
+            SlotHoldResponse response = new SlotHoldResponse(hold.token(), doctorId, hold.start(), hold.end(),
+                hold.expiresAt());
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            
+        } catch (AppointmentConflictException e) {
+            logger.warn("Slot hold conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(null);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid slot hold: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error holding slot: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    /**
+     * Release a slot hold before it expires
+     */
+    @DeleteMapping("/doctor/{doctorId}/hold/{token}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PATIENT')")
+    public ResponseEntity<Void> releaseSlotHold(
+            @PathVariable Long doctorId,
+            @PathVariable String token,
+            @RequestParam Long userId) {
+        
+        logger.info("Releasing slot hold of doctor: {} by user: {}", doctorId, userId);
+        
+        try {
+            User user = userService.getUserById(userId);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .build();
+            }
+
+            slotHoldService.release(doctorId, token, user);
+            return ResponseEntity.noContent().build();
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid slot hold release: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .build();
+        } catch (Exception e) {
+            logger.error("Error releasing slot hold: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .build();
+        }
+    }
+
+    /**
+     * Patients hold slots for themselves; admins hold on behalf of the given patient
+     */
+    private Long resolveHoldPatient(User user, Long requestedPatientId) {
+        if (user.getRole() != User.UserRole.ADMIN) {
+            if (requestedPatientId != null && !requestedPatientId.equals(user.getId())) {
+                throw new IllegalArgumentException("Patients can only hold slots for themselves");
+            }
+            return user.getId();
+        }
+
+        if (requestedPatientId == null) {
+            throw new IllegalArgumentException("Patient ID is required when an admin holds a slot");
+        }
+        User patient = userService.getUserById(requestedPatientId);
+        if (patient == null || patient.getRole() != User.UserRole.PATIENT) {
+            throw new IllegalArgumentException("User is not a patient: " + requestedPatientId);
+        }
+        return patient.getId();
+    }
+
     // Helper methods for conversion
     private DoctorAvailability convertToEntity(DoctorAvailabilityRequest request) {
         DoctorAvailability availability = new DoctorAvailability();
         availability.setDayOfWeek(request.getDayOfWeek());
         availability.setStartTime(request.getStartTime());
         availability.setEndTime(request.getEndTime());
-        availability.setIsActive(true);
+        availability.setIsAvailable(request.getIsAvailable() != null ? request.getIsAvailable() : true);
+        availability.setAppointmentDurationMinutes(request.getSlotDuration() != null ? request.getSlotDuration() : 30);
+        availability.setBreakStartTime(request.getBreakStartTime());
+        availability.setBreakEndTime(request.getBreakEndTime());
+        availability.setMaxAppointmentsPerDay(request.getMaxAppointmentsPerDay());
+        availability.setNotes(request.getNotes());
+        availability.setTimeZone(request.getTimeZone());
         return availability;
     }
 
+    private AvailabilityExceptionResponse convertToExceptionResponse(AvailabilityException exception) {
+        AvailabilityExceptionResponse response = new AvailabilityExceptionResponse();
+        response.setId(exception.getId());
+        response.setDoctorId(exception.getDoctor().getId());
+        response.setStartDateTime(exception.getStartDateTime());
+        response.setEndDateTime(exception.getEndDateTime());
+        response.setReason(exception.getReason());
+        response.setCreatedAt(exception.getCreatedAt());
+        return response;
+    }
+
     private DoctorAvailabilityResponse convertToResponse(DoctorAvailability availability) {
         DoctorAvailabilityResponse response = new DoctorAvailabilityResponse();
         response.setId(availability.getId());
@@ -1,5 +1,6 @@
 package com.healthcare.app.controller;
 
+import com.healthcare.app.dto.CursorPage;
 import com.healthcare.app.dto.EMRRequest;
 import com.healthcare.app.dto.EMRResponse;
 import com.healthcare.app.dto.EMRStatistics;
@@ -228,6 +229,40 @@ public class EMRController {
         }
     }
 
+    /**
+     * Get EMRs by doctor, one keyset page at a time
+     */
+    @GetMapping("/doctor/{doctorId}/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<CursorPage<EMRResponse>> getEMRsByDoctorCursor(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        
+        logger.info("Fetching EMR page for doctor: {} with limit: {}", doctorId, limit);
+        
+        try {
+            User doctor = userService.getUserById(doctorId);
+            if (doctor == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null);
+            }
+
+            CursorPage<EMR> emrs = emrService.getEMRsByDoctor(doctor, cursor, limit);
+            
+            return ResponseEntity.ok(emrs.map(this::convertToResponse));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid EMR cursor request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error fetching EMR page by doctor: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get EMRs by patient and doctor
      */
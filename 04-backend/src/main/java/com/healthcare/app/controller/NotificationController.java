@@ -6,6 +6,7 @@ import com.healthcare.app.dto.NotificationStatistics;
 import com.healthcare.app.entity.Notification;
 import com.healthcare.app.entity.User;
 import com.healthcare.app.service.NotificationService;
+import com.healthcare.app.service.NotificationStreamHub;
 import com.healthcare.app.service.AuthorizationService;
 import com.healthcare.app.service.UserService;
 import org.slf4j.Logger;
@@ -15,9 +16,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
@@ -34,6 +37,9 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamHub notificationStreamHub;
+
     @Autowired
     private UserService userService;
 
@@ -234,6 +240,32 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Stream new notifications as Server-Sent Events; reconnects replay what was missed after Last-Event-ID
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestParam Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        
+        logger.info("Opening notification stream for user: {} after event: {}", userId, lastEventId);
+        
+        try {
+            SseEmitter emitter = notificationStreamHub.subscribe(userId, lastEventId);
+            return ResponseEntity.ok(emitter);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid notification stream request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error opening notification stream: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
     /**
      * Get notification by ID
      */
@@ -0,0 +1,156 @@
+package com.healthcare.app.controller;
+
+import com.healthcare.app.dto.WaitlistRequest;
+import com.healthcare.app.dto.WaitlistResponse;
+import com.healthcare.app.entity.WaitlistEntry;
+import com.healthcare.app.service.WaitlistService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistController.class);
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    /**
+     * Add a patient to a doctor's waitlist
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<WaitlistResponse> joinWaitlist(
+            @Valid @RequestBody WaitlistRequest request,
+            @RequestParam Long userId) {
+        
+        logger.info("Adding patient: {} to waitlist of doctor: {} by user: {}",
+            request.getPatientId(), request.getDoctorId(), userId);
+        
+        try {
+            WaitlistEntry entry = waitlistService.joinWaitlist(
+                request.getDoctorId(), request.getPatientId(), request.getEarliestStart(), request.getLatestStart(),
+                request.getDuration(), request.getType(), request.getReason(), request.getIsUrgent(), userId);
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(convertToResponse(entry));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid waitlist request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error adding to waitlist: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    /**
+     * Cancel a waitlist entry
+     */
+    @PostMapping("/{entryId}/cancel")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<WaitlistResponse> leaveWaitlist(
+            @PathVariable Long entryId,
+            @RequestParam Long userId) {
+        
+        logger.info("Cancelling waitlist entry: {} by user: {}", entryId, userId);
+        
+        try {
+            WaitlistEntry entry = waitlistService.leaveWaitlist(entryId, userId);
+            return ResponseEntity.ok(convertToResponse(entry));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid waitlist cancellation: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(null);
+        } catch (Exception e) {
+            logger.error("Error cancelling waitlist entry: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    /**
+     * Get a doctor's waitlist in priority order
+     */
+    @GetMapping("/doctor/{doctorId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
+    public ResponseEntity<List<WaitlistResponse>> getWaitlistForDoctor(@PathVariable Long doctorId) {
+        
+        logger.info("Fetching waitlist for doctor: {}", doctorId);
+        
+        try {
+            List<WaitlistResponse> responses = waitlistService.getWaitlistForDoctor(doctorId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (Exception e) {
+            logger.error("Error fetching waitlist by doctor: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    /**
+     * Get a patient's waiting entries
+     */
+    @GetMapping("/patient/{patientId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'PATIENT')")
+    public ResponseEntity<List<WaitlistResponse>> getWaitlistForPatient(@PathVariable Long patientId) {
+        
+        logger.info("Fetching waitlist entries for patient: {}", patientId);
+        
+        try {
+            List<WaitlistResponse> responses = waitlistService.getWaitlistForPatient(patientId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (Exception e) {
+            logger.error("Error fetching waitlist by patient: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(null);
+        }
+    }
+
+    private WaitlistResponse convertToResponse(WaitlistEntry entry) {
+        WaitlistResponse response = new WaitlistResponse();
+        response.setId(entry.getId());
+        response.setEarliestStart(entry.getEarliestStart());
+        response.setLatestStart(entry.getLatestStart());
+        response.setDuration(entry.getDurationMinutes());
+        response.setType(entry.getType());
+        response.setReason(entry.getReason());
+        response.setIsUrgent(entry.getIsUrgent());
+        response.setStatus(entry.getStatus());
+        response.setAppointmentId(entry.getAppointmentId());
+        response.setCreatedAt(entry.getCreatedAt());
+        
+        if (entry.getDoctor() != null) {
+            response.setDoctorId(entry.getDoctor().getId());
+            response.setDoctorName(entry.getDoctor().getFirstName() + " " + entry.getDoctor().getLastName());
+        }
+        if (entry.getPatient() != null) {
+            response.setPatientId(entry.getPatient().getId());
+            response.setPatientName(entry.getPatient().getFirstName() + " " + entry.getPatient().getLastName());
+        }
+        
+        return response;
+    }
+}
@@ -0,0 +1,103 @@
+package com.healthcare.app.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AppointmentBatchRequest {
+
+    @NotNull(message = "Appointment is required")
+    @Valid
+    private AppointmentRequest appointment;
+
+    @NotNull(message = "Recurrence frequency is required")
+    private Frequency frequency;
+
+    @Min(value = 1, message = "Recurrence interval must be at least 1")
+    @Max(value = 12, message = "Recurrence interval cannot exceed 12")
+    private Integer interval = 1;
+
+    @NotNull(message = "Number of occurrences is required")
+    @Min(value = 1, message = "At least one occurrence is required")
+    @Max(value = 52, message = "Number of occurrences cannot exceed 52")
+    private Integer occurrences;
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    // Constructors
+    public AppointmentBatchRequest() {}
+
+    public AppointmentBatchRequest(AppointmentRequest appointment, Frequency frequency,
+                                 Integer interval, Integer occurrences) {
+        this.appointment = appointment;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.occurrences = occurrences;
+    }
+
+    /**
+     * Expand the recurrence rule into the start time of every occurrence
+     */
+    public List<LocalDateTime> getOccurrenceDates() {
+        List<LocalDateTime> dates = new ArrayList<>(occurrences);
+        LocalDateTime first = appointment.getAppointmentDate();
+        int step = interval != null ? interval : 1;
+
+        for (int i = 0; i < occurrences; i++) {
+            switch (frequency) {
+                case DAILY -> dates.add(first.plusDays((long) i * step));
+                case WEEKLY -> dates.add(first.plusWeeks((long) i * step));
+                case MONTHLY -> dates.add(first.plusMonths((long) i * step));
+            }
+        }
+
+        return dates;
+    }
+
+    // Getters and Setters
+    public AppointmentRequest getAppointment() {
+        return appointment;
+    }
+
+    public void setAppointment(AppointmentRequest appointment) {
+        this.appointment = appointment;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Integer interval) {
+        this.interval = interval;
+    }
+
+    public Integer getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(Integer occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentBatchRequest{" +
+                "appointment=" + appointment +
+                ", frequency=" + frequency +
+                ", interval=" + interval +
+                ", occurrences=" + occurrences +
+                '}';
+    }
+}
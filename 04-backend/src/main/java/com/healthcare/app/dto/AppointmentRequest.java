@@ -31,6 +31,9 @@ public class AppointmentRequest {
     
     private Boolean followUpRequired = false;
     
+    @Size(max = 64, message = "Hold token cannot exceed 64 characters")
+    private String holdToken;
+    
     // Constructors
     public AppointmentRequest() {}
     
@@ -112,6 +115,14 @@ public class AppointmentRequest {
         this.followUpRequired = followUpRequired;
     }
     
+    public String getHoldToken() {
+        return holdToken;
+    }
+    
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
+    
     @Override
     public String toString() {
         return "AppointmentRequest{" +
@@ -123,6 +134,7 @@ public class AppointmentRequest {
                 ", patientId=" + patientId +
                 ", isUrgent=" + isUrgent +
                 ", followUpRequired=" + followUpRequired +
+                ", holdToken='" + holdToken + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
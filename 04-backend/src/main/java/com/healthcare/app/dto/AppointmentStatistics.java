@@ -1,12 +1,14 @@
 package com.healthcare.app.dto;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
-public class AppointmentStatistics {
+public class AppointmentStatistics implements Serializable {
     
     private Long totalAppointments;
     private Long scheduledAppointments;
     private Long confirmedAppointments;
+    private Long inProgressAppointments;
     private Long completedAppointments;
     private Long cancelledAppointments;
     private Long noShowAppointments;
@@ -81,6 +83,14 @@ public class AppointmentStatistics {
         this.confirmedAppointments = confirmedAppointments;
     }
     
+    public Long getInProgressAppointments() {
+        return inProgressAppointments;
+    }
+    
+    public void setInProgressAppointments(Long inProgressAppointments) {
+        this.inProgressAppointments = inProgressAppointments;
+    }
+    
     public Long getCompletedAppointments() {
         return completedAppointments;
     }
@@ -207,6 +217,7 @@ public class AppointmentStatistics {
                 "totalAppointments=" + totalAppointments +
                 ", scheduledAppointments=" + scheduledAppointments +
                 ", confirmedAppointments=" + confirmedAppointments +
+                ", inProgressAppointments=" + inProgressAppointments +
                 ", completedAppointments=" + completedAppointments +
                 ", cancelledAppointments=" + cancelledAppointments +
                 ", noShowAppointments=" + noShowAppointments +
@@ -0,0 +1,104 @@
+package com.healthcare.app.dto;
+
+import java.time.LocalDateTime;
+
+public class AuditLogResponse {
+
+    private Long id;
+    private Long userId;
+    private String action;
+    private String resourceType;
+    private Long resourceId;
+    private String details;
+    private String ipAddress;
+    private String userAgent;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public AuditLogResponse() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    public void setResourceType(String resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditLogResponse{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", action='" + action + '\'' +
+                ", resourceType='" + resourceType + '\'' +
+                ", resourceId=" + resourceId +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.healthcare.app.dto;
+
+import java.time.LocalDateTime;
+
+public class AvailabilityExceptionResponse {
+
+    private Long id;
+    private Long doctorId;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+    private String reason;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public AvailabilityExceptionResponse() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(LocalDateTime startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public void setEndDateTime(LocalDateTime endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AvailabilityExceptionResponse{" +
+                "id=" + id +
+                ", doctorId=" + doctorId +
+                ", startDateTime=" + startDateTime +
+                ", endDateTime=" + endDateTime +
+                ", reason='" + reason + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.healthcare.app.dto;
+
+import java.time.LocalDateTime;
+
+public class AvailableSlotResponse {
+
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private LocalDateTime startTime;
+    private Integer remainingDailyCapacity;
+
+    // Constructors
+    public AvailableSlotResponse() {}
+
+    public AvailableSlotResponse(Long doctorId, String doctorName, String specialization, LocalDateTime startTime,
+                                 Integer remainingDailyCapacity) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.specialization = specialization;
+        this.startTime = startTime;
+        this.remainingDailyCapacity = remainingDailyCapacity;
+    }
+
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Integer getRemainingDailyCapacity() {
+        return remainingDailyCapacity;
+    }
+
+    public void setRemainingDailyCapacity(Integer remainingDailyCapacity) {
+        this.remainingDailyCapacity = remainingDailyCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "AvailableSlotResponse{" +
+                "doctorId=" + doctorId +
+                ", doctorName='" + doctorName + '\'' +
+                ", specialization='" + specialization + '\'' +
+                ", startTime=" + startTime +
+                ", remainingDailyCapacity=" + remainingDailyCapacity +
+                '}';
+    }
+}
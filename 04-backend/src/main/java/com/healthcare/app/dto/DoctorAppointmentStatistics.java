@@ -0,0 +1,113 @@
+package com.healthcare.app.dto;
+
+import java.io.Serializable;
+
+public class DoctorAppointmentStatistics implements Serializable {
+
+    private Long doctorId;
+    private String doctorName;
+
+    private Long totalAppointments = 0L;
+    private Long scheduledAppointments = 0L;
+    private Long confirmedAppointments = 0L;
+    private Long inProgressAppointments = 0L;
+    private Long completedAppointments = 0L;
+    private Long cancelledAppointments = 0L;
+    private Long noShowAppointments = 0L;
+
+    // Constructors
+    public DoctorAppointmentStatistics() {}
+
+    public DoctorAppointmentStatistics(Long doctorId, String doctorName) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+    }
+
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public Long getTotalAppointments() {
+        return totalAppointments;
+    }
+
+    public void setTotalAppointments(Long totalAppointments) {
+        this.totalAppointments = totalAppointments;
+    }
+
+    public Long getScheduledAppointments() {
+        return scheduledAppointments;
+    }
+
+    public void setScheduledAppointments(Long scheduledAppointments) {
+        this.scheduledAppointments = scheduledAppointments;
+    }
+
+    public Long getConfirmedAppointments() {
+        return confirmedAppointments;
+    }
+
+    public void setConfirmedAppointments(Long confirmedAppointments) {
+        this.confirmedAppointments = confirmedAppointments;
+    }
+
+    public Long getInProgressAppointments() {
+        return inProgressAppointments;
+    }
+
+    public void setInProgressAppointments(Long inProgressAppointments) {
+        this.inProgressAppointments = inProgressAppointments;
+    }
+
+    public Long getCompletedAppointments() {
+        return completedAppointments;
+    }
+
+    public void setCompletedAppointments(Long completedAppointments) {
+        this.completedAppointments = completedAppointments;
+    }
+
+    public Long getCancelledAppointments() {
+        return cancelledAppointments;
+    }
+
+    public void setCancelledAppointments(Long cancelledAppointments) {
+        this.cancelledAppointments = cancelledAppointments;
+    }
+
+    public Long getNoShowAppointments() {
+        return noShowAppointments;
+    }
+
+    public void setNoShowAppointments(Long noShowAppointments) {
+        this.noShowAppointments = noShowAppointments;
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorAppointmentStatistics{" +
+                "doctorId=" + doctorId +
+                ", doctorName='" + doctorName + '\'' +
+                ", totalAppointments=" + totalAppointments +
+                ", scheduledAppointments=" + scheduledAppointments +
+                ", confirmedAppointments=" + confirmedAppointments +
+                ", inProgressAppointments=" + inProgressAppointments +
+                ", completedAppointments=" + completedAppointments +
+                ", cancelledAppointments=" + cancelledAppointments +
+                ", noShowAppointments=" + noShowAppointments +
+                '}';
+    }
+}
@@ -35,6 +35,7 @@ public class DoctorAvailabilityRequest {
     private Boolean isRecurring = true;
     private LocalTime breakStartTime;
     private LocalTime breakEndTime;
+    private String timeZone;
     
     // Constructors
     public DoctorAvailabilityRequest() {}
@@ -144,6 +145,14 @@ public class DoctorAvailabilityRequest {
         this.breakEndTime = breakEndTime;
     }
     
+    public String getTimeZone() {
+        return timeZone;
+    }
+    
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+    
     @Override
     public String toString() {
         return "DoctorAvailabilityRequest{" +
@@ -158,6 +167,7 @@ public class DoctorAvailabilityRequest {
                 ", isRecurring=" + isRecurring +
                 ", breakStartTime=" + breakStartTime +
                 ", breakEndTime=" + breakEndTime +
+                ", timeZone='" + timeZone + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.healthcare.app.dto;
+
+import java.time.LocalDateTime;
+
+public class FreeSlotResponse {
+
+    private Long doctorId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    // Constructors
+    public FreeSlotResponse() {}
+
+    public FreeSlotResponse(Long doctorId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.doctorId = doctorId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "FreeSlotResponse{" +
+                "doctorId=" + doctorId +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                '}';
+    }
+}
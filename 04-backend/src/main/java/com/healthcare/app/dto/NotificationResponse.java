@@ -1 +1,123 @@
- 
\ No newline at end of file
+package com.healthcare.app.dto;
+
+import com.healthcare.app.entity.Notification;
+import java.time.LocalDateTime;
+
+public class NotificationResponse {
+
+    private Long id;
+    private Long userId;
+    private String userName;
+    private Notification.NotificationType type;
+    private Notification.NotificationPriority priority;
+    private String title;
+    private String message;
+    private Boolean isRead;
+    private Long createdById;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public NotificationResponse() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public Notification.NotificationType getType() {
+        return type;
+    }
+
+    public void setType(Notification.NotificationType type) {
+        this.type = type;
+    }
+
+    public Notification.NotificationPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Notification.NotificationPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public void setIsRead(Boolean isRead) {
+        this.isRead = isRead;
+    }
+
+    public Long getCreatedById() {
+        return createdById;
+    }
+
+    public void setCreatedById(Long createdById) {
+        this.createdById = createdById;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationResponse{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", type=" + type +
+                ", priority=" + priority +
+                ", isRead=" + isRead +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
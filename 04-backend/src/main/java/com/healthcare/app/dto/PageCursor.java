@@ -0,0 +1,68 @@
+package com.healthcare.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, encoded as an opaque continuation token
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime position;
+    private final Long id;
+
+    public PageCursor(LocalDateTime position, Long id) {
+        this.position = position;
+        this.id = id;
+    }
+
+    /**
+     * Encode the cursor as a URL-safe token
+     */
+    public String encode() {
+        String raw = position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; a blank token means the first page
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Getters
+    public LocalDateTime getPosition() {
+        return position;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{" +
+                "position=" + position +
+                ", id=" + id +
+                '}';
+    }
+}
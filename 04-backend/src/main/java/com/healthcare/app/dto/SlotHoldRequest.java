@@ -0,0 +1,60 @@
+package com.healthcare.app.dto;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+public class SlotHoldRequest {
+
+    @NotNull(message = "Start time is required")
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime startTime;
+
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    @Max(value = 480, message = "Duration cannot exceed 8 hours")
+    private Integer duration = 30;
+
+    // Patient the slot is held for; required when an admin holds on a patient's behalf
+    private Long patientId;
+
+    // Constructors
+    public SlotHoldRequest() {}
+
+    public SlotHoldRequest(LocalDateTime startTime, Integer duration) {
+        this.startTime = startTime;
+        this.duration = duration;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotHoldRequest{" +
+                "startTime=" + startTime +
+                ", duration=" + duration +
+                ", patientId=" + patientId +
+                '}';
+    }
+}
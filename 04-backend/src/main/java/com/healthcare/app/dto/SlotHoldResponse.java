@@ -0,0 +1,77 @@
+package com.healthcare.app.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public class SlotHoldResponse {
+
+    private String token;
+    private Long doctorId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Instant expiresAt;
+
+    // Constructors
+    public SlotHoldResponse() {}
+
+    public SlotHoldResponse(String token, Long doctorId, LocalDateTime startTime, LocalDateTime endTime,
+                            Instant expiresAt) {
+        this.token = token;
+        this.doctorId = doctorId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotHoldResponse{" +
+                "token='" + token + '\'' +
+                ", doctorId=" + doctorId +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,114 @@
+package com.healthcare.app.dto;
+
+import com.healthcare.app.entity.Appointment;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+public class WaitlistRequest {
+
+    @NotNull(message = "Doctor ID is required")
+    private Long doctorId;
+
+    @NotNull(message = "Patient ID is required")
+    private Long patientId;
+
+    @NotNull(message = "Earliest start is required")
+    private LocalDateTime earliestStart;
+
+    @NotNull(message = "Latest start is required")
+    @Future(message = "Latest start must be in the future")
+    private LocalDateTime latestStart;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 15, message = "Duration must be at least 15 minutes")
+    @Max(value = 480, message = "Duration cannot exceed 8 hours")
+    private Integer duration = 30;
+
+    private Appointment.AppointmentType type = Appointment.AppointmentType.CONSULTATION;
+
+    @Size(max = 500, message = "Reason cannot exceed 500 characters")
+    private String reason;
+
+    private Boolean isUrgent = false;
+
+    // Constructors
+    public WaitlistRequest() {}
+
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public LocalDateTime getEarliestStart() {
+        return earliestStart;
+    }
+
+    public void setEarliestStart(LocalDateTime earliestStart) {
+        this.earliestStart = earliestStart;
+    }
+
+    public LocalDateTime getLatestStart() {
+        return latestStart;
+    }
+
+    public void setLatestStart(LocalDateTime latestStart) {
+        this.latestStart = latestStart;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    public Appointment.AppointmentType getType() {
+        return type;
+    }
+
+    public void setType(Appointment.AppointmentType type) {
+        this.type = type;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Boolean getIsUrgent() {
+        return isUrgent;
+    }
+
+    public void setIsUrgent(Boolean isUrgent) {
+        this.isUrgent = isUrgent;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistRequest{" +
+                "doctorId=" + doctorId +
+                ", patientId=" + patientId +
+                ", earliestStart=" + earliestStart +
+                ", latestStart=" + latestStart +
+                ", duration=" + duration +
+                ", type=" + type +
+                ", isUrgent=" + isUrgent +
+                '}';
+    }
+}
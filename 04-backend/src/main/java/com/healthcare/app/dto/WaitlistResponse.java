@@ -0,0 +1,151 @@
+package com.healthcare.app.dto;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.WaitlistEntry;
+import java.time.LocalDateTime;
+
+public class WaitlistResponse {
+
+    private Long id;
+    private Long doctorId;
+    private String doctorName;
+    private Long patientId;
+    private String patientName;
+    private LocalDateTime earliestStart;
+    private LocalDateTime latestStart;
+    private Integer duration;
+    private Appointment.AppointmentType type;
+    private String reason;
+    private Boolean isUrgent;
+    private WaitlistEntry.WaitlistStatus status;
+    private Long appointmentId;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public WaitlistResponse() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getPatientName() {
+        return patientName;
+    }
+
+    public void setPatientName(String patientName) {
+        this.patientName = patientName;
+    }
+
+    public LocalDateTime getEarliestStart() {
+        return earliestStart;
+    }
+
+    public void setEarliestStart(LocalDateTime earliestStart) {
+        this.earliestStart = earliestStart;
+    }
+
+    public LocalDateTime getLatestStart() {
+        return latestStart;
+    }
+
+    public void setLatestStart(LocalDateTime latestStart) {
+        this.latestStart = latestStart;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Appointment.AppointmentType getType() {
+        return type;
+    }
+
+    public void setType(Appointment.AppointmentType type) {
+        this.type = type;
+    }
+
+    public Boolean getIsUrgent() {
+        return isUrgent;
+    }
+
+    public void setIsUrgent(Boolean isUrgent) {
+        this.isUrgent = isUrgent;
+    }
+
+    public WaitlistEntry.WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistEntry.WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistResponse{" +
+                "id=" + id +
+                ", doctorId=" + doctorId +
+                ", patientId=" + patientId +
+                ", earliestStart=" + earliestStart +
+                ", latestStart=" + latestStart +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.healthcare.app.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WeeklyScheduleRequest {
+
+    @NotNull(message = "Slots are required")
+    @Size(max = 50, message = "A weekly schedule cannot have more than 50 slots")
+    @Valid
+    private List<DoctorAvailabilityRequest> slots = new ArrayList<>();
+
+    // Constructors
+    public WeeklyScheduleRequest() {}
+
+    public WeeklyScheduleRequest(List<DoctorAvailabilityRequest> slots) {
+        this.slots = slots;
+    }
+
+    // Getters and Setters
+    public List<DoctorAvailabilityRequest> getSlots() {
+        return slots;
+    }
+
+    public void setSlots(List<DoctorAvailabilityRequest> slots) {
+        this.slots = slots;
+    }
+
+    @Override
+    public String toString() {
+        return "WeeklyScheduleRequest{" +
+                "slots=" + slots +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.healthcare.app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox record of an appointment status change, written in the same transaction as the change
+ */
+@Entity
+@Table(name = "appointment_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+    
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+    
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false)
+    private Appointment.AppointmentStatus fromStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private Appointment.AppointmentStatus toStatus;
+    
+    @Column(name = "actor_user_id")
+    private Long actorUserId;
+    
+    @Column(name = "details", columnDefinition = "TEXT")
+    private String details;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    /**
+     * Audit action name of this transition, e.g. APPOINTMENT_CONFIRMED
+     */
+    public String getAction() {
+        return switch (toStatus) {
+            case SCHEDULED -> "APPOINTMENT_SCHEDULED";
+            case CONFIRMED -> "APPOINTMENT_CONFIRMED";
+            case IN_PROGRESS -> "APPOINTMENT_STARTED";
+            case COMPLETED -> "APPOINTMENT_COMPLETED";
+            case CANCELLED -> "APPOINTMENT_CANCELLED";
+            case NO_SHOW -> "APPOINTMENT_NO_SHOW";
+        };
+    }
+}
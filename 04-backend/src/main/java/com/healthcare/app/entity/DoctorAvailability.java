@@ -58,6 +58,9 @@ public class DoctorAvailability {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
     
+    @Column(name = "time_zone", nullable = false, length = 64)
+    private String timeZone = "UTC";
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreatedDate
     private LocalDateTime createdAt;
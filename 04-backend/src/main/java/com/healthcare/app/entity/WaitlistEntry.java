@@ -0,0 +1,72 @@
+package com.healthcare.app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private User doctor;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private User patient;
+    
+    @Column(name = "earliest_start", nullable = false)
+    private LocalDateTime earliestStart;
+    
+    @Column(name = "latest_start", nullable = false)
+    private LocalDateTime latestStart;
+    
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes = 30;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "appointment_type", nullable = false)
+    private Appointment.AppointmentType type = Appointment.AppointmentType.CONSULTATION;
+    
+    @Column(name = "reason", columnDefinition = "TEXT")
+    private String reason;
+    
+    @Column(name = "is_urgent", nullable = false)
+    private Boolean isUrgent = false;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+    
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreatedDate
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+    
+    public enum WaitlistStatus {
+        WAITING, BOOKED, CANCELLED, EXPIRED
+    }
+}
@@ -1 +1,50 @@
- 
\ No newline at end of file
+package com.healthcare.app.exception;
+
+import java.time.LocalDateTime;
+
+public class AppointmentConflictException extends RuntimeException {
+
+    private Long doctorId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+
+    public AppointmentConflictException(String message, Long doctorId,
+                                      LocalDateTime startTime, LocalDateTime endTime) {
+        super(message);
+        this.doctorId = doctorId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public AppointmentConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,30 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.Appointment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk write operations for appointments that bypass per-entity persistence
+ */
+public interface AppointmentBatchRepository {
+
+    /**
+     * Insert all appointments in a single JDBC batch and assign their generated IDs
+     */
+    void batchInsert(List<Appointment> appointments);
+
+    /**
+     * Lock up to {@code limit} CONFIRMED appointments that ended at or before {@code endedBefore},
+     * skipping rows already locked by another transaction
+     */
+    List<OverdueAppointment> lockOverdueConfirmed(LocalDateTime endedBefore, int limit);
+
+    /**
+     * Move the given CONFIRMED appointments to NO_SHOW with a single UPDATE and return the number of rows changed
+     */
+    int markNoShow(List<Long> appointmentIds, LocalDateTime updatedAt);
+
+    record OverdueAppointment(Long id, Long doctorId, Long patientId) {}
+}
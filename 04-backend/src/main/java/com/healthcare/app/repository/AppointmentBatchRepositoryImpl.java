@@ -0,0 +1,116 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.Appointment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link AppointmentBatchRepository}.
+ *
+ * Appointments use IDENTITY keys, which stops Hibernate from batching inserts,
+ * so bulk inserts go through JdbcTemplate and read the keys back from the batch.
+ */
+@RequiredArgsConstructor
+public class AppointmentBatchRepositoryImpl implements AppointmentBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO appointments (doctor_id, patient_id, appointment_date, duration_minutes, status, type, " +
+            "reason, notes, is_urgent, is_follow_up, follow_up_appointment_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The appointment_date bound is redundant with the end time check but lets the
+    // (status, appointment_date) index narrow the scan
+    private static final String LOCK_OVERDUE_SQL =
+            "SELECT id, doctor_id, patient_id FROM appointments " +
+            "WHERE status = 'CONFIRMED' AND appointment_date < ? " +
+            "AND DATE_ADD(appointment_date, INTERVAL duration_minutes MINUTE) <= ? " +
+            "ORDER BY appointment_date, id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Appointment appointment = appointments.get(i);
+                        ps.setLong(1, appointment.getDoctor().getId());
+                        ps.setLong(2, appointment.getPatient().getId());
+                        ps.setTimestamp(3, Timestamp.valueOf(appointment.getAppointmentDate()));
+                        ps.setInt(4, appointment.getDurationMinutes());
+                        ps.setString(5, appointment.getStatus().name());
+                        ps.setString(6, appointment.getType().name());
+                        ps.setString(7, appointment.getReason());
+                        ps.setString(8, appointment.getNotes());
+                        ps.setBoolean(9, Boolean.TRUE.equals(appointment.getIsUrgent()));
+                        ps.setBoolean(10, Boolean.TRUE.equals(appointment.getIsFollowUp()));
+                        if (appointment.getFollowUpAppointmentId() != null) {
+                            ps.setLong(11, appointment.getFollowUpAppointmentId());
+                        } else {
+                            ps.setNull(11, Types.BIGINT);
+                        }
+                        ps.setTimestamp(12, Timestamp.valueOf(appointment.getCreatedAt()));
+                        ps.setTimestamp(13, Timestamp.valueOf(appointment.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return appointments.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < appointments.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            appointments.get(i).setId(((Number) key).longValue());
+        }
+    }
+
+    @Override
+    public List<OverdueAppointment> lockOverdueConfirmed(LocalDateTime endedBefore, int limit) {
+        Timestamp cutoff = Timestamp.valueOf(endedBefore);
+        return jdbcTemplate.query(LOCK_OVERDUE_SQL,
+                (rs, rowNum) -> new OverdueAppointment(rs.getLong("id"), rs.getLong("doctor_id"), rs.getLong("patient_id")),
+                cutoff, cutoff, limit);
+    }
+
+    @Override
+    public int markNoShow(List<Long> appointmentIds, LocalDateTime updatedAt) {
+        if (appointmentIds.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = appointmentIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        List<Object> args = new ArrayList<>(appointmentIds.size() + 1);
+        args.add(Timestamp.valueOf(updatedAt));
+        args.addAll(appointmentIds);
+
+        // The status guard keeps rows that changed since they were locked untouched
+        return jdbcTemplate.update(
+                "UPDATE appointments SET status = 'NO_SHOW', updated_at = ? " +
+                "WHERE status = 'CONFIRMED' AND id IN (" + placeholders + ")",
+                args.toArray());
+    }
+}
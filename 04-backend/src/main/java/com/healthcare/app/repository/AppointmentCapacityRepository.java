@@ -0,0 +1,53 @@
+package com.healthcare.app.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-(doctor, date) booking counters used to enforce daily appointment limits without counting appointments
+ */
+public interface AppointmentCapacityRepository {
+
+    /**
+     * Increment the doctor's counter for the date unless it already reached {@code limit}; a null limit
+     * always increments. Returns false when the day is full.
+     */
+    boolean tryReserveDailySlot(Long doctorId, LocalDate date, Integer limit);
+
+    /**
+     * Add {@code count} to the doctor's counter for the date unless that would take it past {@code limit};
+     * a null limit always adds. Returns false, changing nothing, when the day cannot take them all.
+     */
+    boolean tryReserveDailySlots(Long doctorId, LocalDate date, int count, Integer limit);
+
+    /**
+     * Decrement the doctor's counter for the date, never below zero
+     */
+    void releaseDailySlot(Long doctorId, LocalDate date);
+
+    /**
+     * Read the non-zero counters of the given doctors for dates in [from, to]
+     */
+    List<DailyBookingCount> findDailyBookingCounts(Collection<Long> doctorIds, LocalDate from, LocalDate to);
+
+    /**
+     * Zero every counter from {@code from} onwards and return the number of rows changed
+     */
+    int resetDailyBookingCounts(LocalDate from, LocalDateTime now);
+
+    /**
+     * Write the given counters, inserting missing rows
+     */
+    void saveDailyBookingCounts(Collection<DailyBookingCount> counts, LocalDateTime now);
+
+    /**
+     * Doctor and start of every non-cancelled appointment starting at or after {@code from}
+     */
+    List<BookingStart> findBookingStartsFrom(LocalDateTime from);
+
+    record DailyBookingCount(Long doctorId, LocalDate date, int bookedCount) {}
+
+    record BookingStart(Long doctorId, LocalDateTime start) {}
+}
@@ -0,0 +1,114 @@
+package com.healthcare.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link AppointmentCapacityRepository}.
+ *
+ * A reservation is a conditional single-row UPDATE, so the row lock makes the
+ * check-and-increment atomic across transactions and instances, and it rolls back
+ * together with the appointment it was taken for.
+ */
+@RequiredArgsConstructor
+public class AppointmentCapacityRepositoryImpl implements AppointmentCapacityRepository {
+
+    private static final String ENSURE_ROW_SQL =
+            "INSERT IGNORE INTO doctor_daily_bookings (doctor_id, booking_date, booked_count, updated_at) " +
+            "VALUES (?, ?, 0, ?)";
+
+    private static final String RESERVE_SQL =
+            "UPDATE doctor_daily_bookings SET booked_count = booked_count + ?, updated_at = ? " +
+            "WHERE doctor_id = ? AND booking_date = ? AND (? IS NULL OR booked_count + ? <= ?)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE doctor_daily_bookings SET booked_count = booked_count - 1, updated_at = ? " +
+            "WHERE doctor_id = ? AND booking_date = ? AND booked_count > 0";
+
+    private static final String RESET_SQL =
+            "UPDATE doctor_daily_bookings SET booked_count = 0, updated_at = ? WHERE booking_date >= ? AND booked_count > 0";
+
+    private static final String SAVE_COUNT_SQL =
+            "INSERT INTO doctor_daily_bookings (doctor_id, booking_date, booked_count, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE booked_count = VALUES(booked_count), updated_at = VALUES(updated_at)";
+
+    private static final String BOOKING_STARTS_SQL =
+            "SELECT doctor_id, appointment_date FROM appointments WHERE status <> 'CANCELLED' AND appointment_date >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryReserveDailySlot(Long doctorId, LocalDate date, Integer limit) {
+        return tryReserveDailySlots(doctorId, date, 1, limit);
+    }
+
+    @Override
+    public boolean tryReserveDailySlots(Long doctorId, LocalDate date, int count, Integer limit) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date day = Date.valueOf(date);
+
+        jdbcTemplate.update(ENSURE_ROW_SQL, doctorId, day, now);
+        return jdbcTemplate.update(RESERVE_SQL, count, now, doctorId, day, limit, count, limit) == 1;
+    }
+
+    @Override
+    public void releaseDailySlot(Long doctorId, LocalDate date) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now()), doctorId, Date.valueOf(date));
+    }
+
+    @Override
+    public List<DailyBookingCount> findDailyBookingCounts(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        if (doctorIds.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = doctorIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        List<Object> args = new ArrayList<>(doctorIds.size() + 2);
+        args.addAll(doctorIds);
+        args.add(Date.valueOf(from));
+        args.add(Date.valueOf(to));
+
+        return jdbcTemplate.query(
+                "SELECT doctor_id, booking_date, booked_count FROM doctor_daily_bookings " +
+                "WHERE doctor_id IN (" + placeholders + ") AND booking_date BETWEEN ? AND ? AND booked_count > 0",
+                (rs, rowNum) -> new DailyBookingCount(rs.getLong("doctor_id"),
+                        rs.getDate("booking_date").toLocalDate(), rs.getInt("booked_count")),
+                args.toArray());
+    }
+
+    @Override
+    public int resetDailyBookingCounts(LocalDate from, LocalDateTime now) {
+        return jdbcTemplate.update(RESET_SQL, Timestamp.valueOf(now), Date.valueOf(from));
+    }
+
+    @Override
+    public void saveDailyBookingCounts(Collection<DailyBookingCount> counts, LocalDateTime now) {
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(SAVE_COUNT_SQL, counts, counts.size(), (ps, count) -> {
+            ps.setLong(1, count.doctorId());
+            ps.setDate(2, Date.valueOf(count.date()));
+            ps.setInt(3, count.bookedCount());
+            ps.setTimestamp(4, updatedAt);
+        });
+    }
+
+    @Override
+    public List<BookingStart> findBookingStartsFrom(LocalDateTime from) {
+        return jdbcTemplate.query(BOOKING_STARTS_SQL,
+                (rs, rowNum) -> new BookingStart(rs.getLong("doctor_id"), rs.getTimestamp("appointment_date").toLocalDateTime()),
+                Timestamp.valueOf(from));
+    }
+}
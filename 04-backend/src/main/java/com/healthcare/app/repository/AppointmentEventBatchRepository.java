@@ -0,0 +1,16 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.AppointmentEvent;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for appointment outbox events that bypass per-entity persistence
+ */
+public interface AppointmentEventBatchRepository {
+
+    /**
+     * Insert all events in a single JDBC batch
+     */
+    void batchInsert(List<AppointmentEvent> events);
+}
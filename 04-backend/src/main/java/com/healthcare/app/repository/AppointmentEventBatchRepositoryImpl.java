@@ -0,0 +1,47 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.AppointmentEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link AppointmentEventBatchRepository}.
+ *
+ * Events use IDENTITY keys, which stops Hibernate from batching inserts,
+ * so bulk inserts go through JdbcTemplate.
+ */
+@RequiredArgsConstructor
+public class AppointmentEventBatchRepositoryImpl implements AppointmentEventBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO appointment_events (appointment_id, doctor_id, patient_id, from_status, to_status, " +
+            "actor_user_id, details, occurred_at, attempts) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<AppointmentEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getAppointmentId());
+            ps.setLong(2, event.getDoctorId());
+            ps.setLong(3, event.getPatientId());
+            ps.setString(4, event.getFromStatus().name());
+            ps.setString(5, event.getToStatus().name());
+            if (event.getActorUserId() != null) {
+                ps.setLong(6, event.getActorUserId());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            ps.setString(7, event.getDetails());
+            ps.setTimestamp(8, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.AppointmentEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AppointmentEventRepository extends JpaRepository<AppointmentEvent, Long>, AppointmentEventBatchRepository {
+    
+    /**
+     * Lock the oldest unpublished events after the given ID; a lock timeout of -2 makes Hibernate
+     * emit SKIP LOCKED, so concurrent relays claim disjoint batches
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AppointmentEvent e WHERE e.publishedAt IS NULL AND e.attempts < :maxAttempts " +
+           "AND e.id > :afterId ORDER BY e.id")
+    List<AppointmentEvent> lockUnpublished(@Param("maxAttempts") int maxAttempts,
+                                           @Param("afterId") long afterId,
+                                           Pageable pageable);
+    
+    /**
+     * Lock a single unpublished event, skipping it if another relay holds it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM AppointmentEvent e WHERE e.id = :id AND e.publishedAt IS NULL AND e.attempts < :maxAttempts")
+    Optional<AppointmentEvent> lockUnpublishedById(@Param("id") Long id, @Param("maxAttempts") int maxAttempts);
+    
+    @Modifying
+    @Query("UPDATE AppointmentEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+    
+    @Modifying
+    @Query("DELETE FROM AppointmentEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,23 @@
+package com.healthcare.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Claims on due appointment reminders, so each reminder is sent by exactly one instance
+ */
+public interface AppointmentReminderClaimRepository {
+
+    /**
+     * Claim the reminders in a single JDBC batch and return the ones this call won; a reminder already
+     * claimed by another instance is skipped, waiting for that instance's transaction if it is still open
+     */
+    List<ReminderClaim> claimReminders(List<ReminderClaim> reminders, LocalDateTime claimedAt);
+
+    /**
+     * Delete claims of appointments that started before the cutoff and return the number of rows deleted
+     */
+    int deleteReminderClaimsBefore(LocalDateTime before);
+
+    record ReminderClaim(Long appointmentId, LocalDateTime appointmentStart, long offsetMinutes) {}
+}
@@ -0,0 +1,62 @@
+package com.healthcare.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link AppointmentReminderClaimRepository}.
+ *
+ * Claims are INSERT IGNORE rows tagged with a token unique to the call. Batched inserts
+ * do not report per-row counts once the driver rewrites them into one statement, so the
+ * won claims are read back by token instead.
+ */
+@RequiredArgsConstructor
+public class AppointmentReminderClaimRepositoryImpl implements AppointmentReminderClaimRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO appointment_reminder_claims " +
+            "(appointment_id, appointment_start, offset_minutes, claim_token, claimed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String CLAIMED_SQL =
+            "SELECT appointment_id, offset_minutes FROM appointment_reminder_claims WHERE claim_token = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ReminderClaim> claimReminders(List<ReminderClaim> reminders, LocalDateTime claimedAt) {
+        if (reminders.isEmpty()) {
+            return List.of();
+        }
+
+        String token = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(claimedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, reminders, reminders.size(), (ps, reminder) -> {
+            ps.setLong(1, reminder.appointmentId());
+            ps.setTimestamp(2, Timestamp.valueOf(reminder.appointmentStart()));
+            ps.setLong(3, reminder.offsetMinutes());
+            ps.setString(4, token);
+            ps.setTimestamp(5, now);
+        });
+
+        Set<Map.Entry<Long, Long>> won = new HashSet<>(jdbcTemplate.query(CLAIMED_SQL,
+                (rs, rowNum) -> Map.entry(rs.getLong("appointment_id"), rs.getLong("offset_minutes")), token));
+        return reminders.stream()
+                .filter(reminder -> won.contains(Map.entry(reminder.appointmentId(), reminder.offsetMinutes())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int deleteReminderClaimsBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM appointment_reminder_claims WHERE appointment_start < ?",
+                Timestamp.valueOf(before));
+    }
+}
@@ -2,81 +2,127 @@ package com.healthcare.app.repository;
 
 import com.healthcare.app.entity.Appointment;
 import com.healthcare.app.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentBatchRepository,
+                                               AppointmentCapacityRepository, AppointmentReservationRepository,
+                                               AppointmentReminderClaimRepository {
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     List<Appointment> findByDoctor(User doctor);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     List<Appointment> findByPatient(User patient);
     
     List<Appointment> findByDoctorAndAppointmentDateBetween(User doctor, LocalDateTime startDate, LocalDateTime endDate);
     
     List<Appointment> findByPatientAndAppointmentDateBetween(User patient, LocalDateTime startDate, LocalDateTime endDate);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     List<Appointment> findByDoctorAndStatus(User doctor, Appointment.AppointmentStatus status);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     List<Appointment> findByPatientAndStatus(User patient, Appointment.AppointmentStatus status);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.doctor = :doctor AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate")
     List<Appointment> findDoctorAppointmentsInDateRange(@Param("doctor") User doctor, 
                                                        @Param("startDate") LocalDateTime startDate, 
                                                        @Param("endDate") LocalDateTime endDate);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.patient = :patient AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate")
     List<Appointment> findPatientAppointmentsInDateRange(@Param("patient") User patient, 
                                                         @Param("startDate") LocalDateTime startDate, 
                                                         @Param("endDate") LocalDateTime endDate);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.doctor = :doctor AND a.appointmentDate >= :today AND a.status IN ('SCHEDULED', 'CONFIRMED') ORDER BY a.appointmentDate")
     List<Appointment> findUpcomingDoctorAppointments(@Param("doctor") User doctor, @Param("today") LocalDateTime today);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.patient = :patient AND a.appointmentDate >= :today AND a.status IN ('SCHEDULED', 'CONFIRMED') ORDER BY a.appointmentDate")
     List<Appointment> findUpcomingPatientAppointments(@Param("patient") User patient, @Param("today") LocalDateTime today);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.doctor = :doctor AND DATE(a.appointmentDate) = DATE(:date)")
     List<Appointment> findDoctorAppointmentsByDate(@Param("doctor") User doctor, @Param("date") LocalDateTime date);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.patient = :patient AND DATE(a.appointmentDate) = DATE(:date)")
     List<Appointment> findPatientAppointmentsByDate(@Param("patient") User patient, @Param("date") LocalDateTime date);
     
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctor = :doctor AND a.appointmentDate BETWEEN :startTime AND :endTime AND a.status IN ('SCHEDULED', 'CONFIRMED')")
-    long countConflictingAppointments(@Param("doctor") User doctor, 
-                                     @Param("startTime") LocalDateTime startTime, 
-                                     @Param("endTime") LocalDateTime endTime);
-    
-    @Query("SELECT a FROM Appointment a WHERE a.doctor = :doctor AND a.appointmentDate BETWEEN :startTime AND :endTime AND a.id != :excludeAppointmentId AND a.status IN ('SCHEDULED', 'CONFIRMED')")
-    List<Appointment> findConflictingAppointmentsExcluding(@Param("doctor") User doctor, 
-                                                          @Param("startTime") LocalDateTime startTime, 
-                                                          @Param("endTime") LocalDateTime endTime,
-                                                          @Param("excludeAppointmentId") Long excludeAppointmentId);
-    
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.status = :status AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate")
     Page<Appointment> findAppointmentsByStatusAndDateRange(@Param("status") Appointment.AppointmentStatus status,
                                                           @Param("startDate") LocalDateTime startDate,
                                                           @Param("endDate") LocalDateTime endDate,
                                                           Pageable pageable);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @Query("SELECT a FROM Appointment a WHERE a.status = :status AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate " +
+           "AND (:afterDate IS NULL OR a.appointmentDate > :afterDate OR (a.appointmentDate = :afterDate AND a.id > :afterId)) " +
+           "ORDER BY a.appointmentDate ASC, a.id ASC")
+    List<Appointment> findAppointmentsByStatusAndDateRangeAfter(@Param("status") Appointment.AppointmentStatus status,
+                                                               @Param("startDate") LocalDateTime startDate,
+                                                               @Param("endDate") LocalDateTime endDate,
+                                                               @Param("afterDate") LocalDateTime afterDate,
+                                                               @Param("afterId") Long afterId,
+                                                               Pageable pageable);
+    
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.doctor = :doctor AND a.status = 'NO_SHOW' AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate")
     long countNoShowsByDoctor(@Param("doctor") User doctor, 
                              @Param("startDate") LocalDateTime startDate, 
                              @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.status = :status AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate")
-    long countAppointmentsByStatus(@Param("status") Appointment.AppointmentStatus status,
-                                  @Param("startDate") LocalDateTime startDate,
-                                  @Param("endDate") LocalDateTime endDate);
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @Query("SELECT a FROM Appointment a WHERE a.appointmentDate >= :startDate AND a.appointmentDate < :endDate ORDER BY a.appointmentDate")
+    List<Appointment> findAppointmentsInDateRange(@Param("startDate") LocalDateTime startDate,
+                                                 @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Stream appointments in a date range row by row; Integer.MIN_VALUE makes MySQL Connector/J
+     * stream the result set instead of buffering it, so the caller must consume it inside a transaction
+     */
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM Appointment a WHERE a.appointmentDate >= :startDate AND a.appointmentDate < :endDate ORDER BY a.appointmentDate, a.id")
+    Stream<Appointment> streamAppointmentsInDateRange(@Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+    
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @Query(value = "SELECT a FROM Appointment a", countQuery = "SELECT COUNT(a) FROM Appointment a")
+    Page<Appointment> findAllWithParticipants(Pageable pageable);
+    
+    @Query("SELECT a.status AS status, COUNT(a) AS count FROM Appointment a WHERE (:startDate IS NULL OR a.appointmentDate >= :startDate) AND (:endDate IS NULL OR a.appointmentDate < :endDate) GROUP BY a.status")
+    List<StatusCount> countAppointmentsGroupedByStatus(@Param("startDate") LocalDateTime startDate,
+                                                       @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT d.id AS doctorId, d.firstName AS firstName, d.lastName AS lastName, a.status AS status, COUNT(a) AS count FROM Appointment a JOIN a.doctor d WHERE (:startDate IS NULL OR a.appointmentDate >= :startDate) AND (:endDate IS NULL OR a.appointmentDate < :endDate) GROUP BY d.id, d.firstName, d.lastName, a.status")
+    List<DoctorStatusCount> countAppointmentsGroupedByDoctorAndStatus(@Param("startDate") LocalDateTime startDate,
+                                                                      @Param("endDate") LocalDateTime endDate);
     
+    @EntityGraph(attributePaths = {"doctor", "patient"})
     @Query("SELECT a FROM Appointment a WHERE a.isUrgent = true AND a.status IN ('SCHEDULED', 'CONFIRMED') ORDER BY a.appointmentDate")
     List<Appointment> findUrgentAppointments();
     
@@ -86,4 +132,54 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     Optional<Appointment> findByIdAndDoctor(Long id, User doctor);
     
     Optional<Appointment> findByIdAndPatient(Long id, User patient);
+    
+    @Query("SELECT a.id AS id, a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, a.durationMinutes AS durationMinutes FROM Appointment a WHERE a.appointmentDate >= :from AND a.status IN ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS')")
+    List<BookedSlot> findBookedSlotsFrom(@Param("from") LocalDateTime from);
+    
+    @Query("SELECT a.id AS id, a.doctor.id AS doctorId, a.appointmentDate AS appointmentDate, a.durationMinutes AS durationMinutes FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentDate >= :from AND a.status IN ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS')")
+    List<BookedSlot> findBookedSlotsByDoctorFrom(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from);
+    
+    @Query("SELECT a.id AS id, a.patient.id AS patientId, a.doctor.firstName AS doctorFirstName, a.doctor.lastName AS doctorLastName, a.appointmentDate AS appointmentDate FROM Appointment a WHERE a.status IN ('SCHEDULED', 'CONFIRMED') AND a.appointmentDate >= :from AND a.appointmentDate < :to")
+    List<ReminderCandidate> findReminderCandidates(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT a.id AS id, a.patient.id AS patientId, a.doctor.firstName AS doctorFirstName, a.doctor.lastName AS doctorLastName, a.appointmentDate AS appointmentDate FROM Appointment a WHERE a.id IN :ids AND a.status IN ('SCHEDULED', 'CONFIRMED')")
+    List<ReminderCandidate> findReminderCandidatesByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Appointment count for one status
+     */
+    interface StatusCount {
+        Appointment.AppointmentStatus getStatus();
+        Long getCount();
+    }
+    
+    /**
+     * Appointment count for one doctor and status
+     */
+    interface DoctorStatusCount extends StatusCount {
+        Long getDoctorId();
+        String getFirstName();
+        String getLastName();
+    }
+    
+    /**
+     * Lightweight view of a booked (SCHEDULED/CONFIRMED/IN_PROGRESS) appointment's time slot
+     */
+    interface BookedSlot {
+        Long getId();
+        Long getDoctorId();
+        LocalDateTime getAppointmentDate();
+        Integer getDurationMinutes();
+    }
+    
+    /**
+     * Upcoming appointment that still gets reminders
+     */
+    interface ReminderCandidate {
+        Long getId();
+        Long getPatientId();
+        String getDoctorFirstName();
+        String getDoctorLastName();
+        LocalDateTime getAppointmentDate();
+    }
 } 
\ No newline at end of file
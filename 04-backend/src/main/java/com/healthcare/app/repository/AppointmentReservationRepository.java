@@ -0,0 +1,35 @@
+package com.healthcare.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Unique (doctor, slot start) reservations that make overlapping bookings fail in the database
+ */
+public interface AppointmentReservationRepository {
+
+    /**
+     * Insert one reservation per slot start in a single JDBC batch; throws
+     * {@link org.springframework.dao.DuplicateKeyException} when another booking holds any of them
+     */
+    void reserveSlots(Long doctorId, Long appointmentId, List<LocalDateTime> slotStarts);
+
+    /**
+     * Insert the reservations of several appointments of one doctor in a single JDBC batch; throws
+     * {@link org.springframework.dao.DuplicateKeyException} when another booking holds any of the slots
+     */
+    void reserveSlots(Long doctorId, List<SlotReservation> reservations);
+
+    /**
+     * Delete the reservations of the given appointments
+     */
+    void releaseSlots(Collection<Long> appointmentIds);
+
+    /**
+     * Delete reservations of slots that started before the cutoff and return the number of rows deleted
+     */
+    int deleteSlotReservationsBefore(LocalDateTime before);
+
+    record SlotReservation(LocalDateTime slotStart, Long appointmentId) {}
+}
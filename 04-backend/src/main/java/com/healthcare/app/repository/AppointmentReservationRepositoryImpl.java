@@ -0,0 +1,66 @@
+package com.healthcare.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link AppointmentReservationRepository}.
+ *
+ * Slots are inserted in ascending order, so two transactions racing for overlapping
+ * intervals block on the same first key instead of deadlocking, and the loser gets a
+ * duplicate key once the winner commits.
+ */
+@RequiredArgsConstructor
+public class AppointmentReservationRepositoryImpl implements AppointmentReservationRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO doctor_slot_reservations (doctor_id, slot_start, appointment_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void reserveSlots(Long doctorId, Long appointmentId, List<LocalDateTime> slotStarts) {
+        reserveSlots(doctorId, slotStarts.stream()
+                .map(slotStart -> new SlotReservation(slotStart, appointmentId))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void reserveSlots(Long doctorId, List<SlotReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        List<SlotReservation> sorted = reservations.stream()
+                .sorted(Comparator.comparing(SlotReservation::slotStart))
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_SQL, sorted, sorted.size(), (ps, reservation) -> {
+            ps.setLong(1, doctorId);
+            ps.setTimestamp(2, Timestamp.valueOf(reservation.slotStart()));
+            ps.setLong(3, reservation.appointmentId());
+        });
+    }
+
+    @Override
+    public void releaseSlots(Collection<Long> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return;
+        }
+
+        String placeholders = appointmentIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        jdbcTemplate.update("DELETE FROM doctor_slot_reservations WHERE appointment_id IN (" + placeholders + ")",
+                appointmentIds.toArray());
+    }
+
+    @Override
+    public int deleteSlotReservationsBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM doctor_slot_reservations WHERE slot_start < ?", Timestamp.valueOf(before));
+    }
+}
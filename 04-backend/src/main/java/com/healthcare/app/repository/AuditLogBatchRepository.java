@@ -0,0 +1,16 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.AuditLog;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for audit logs that bypass per-entity persistence
+ */
+public interface AuditLogBatchRepository {
+
+    /**
+     * Insert all audit logs in a single JDBC batch
+     */
+    void batchInsert(List<AuditLog> auditLogs);
+}
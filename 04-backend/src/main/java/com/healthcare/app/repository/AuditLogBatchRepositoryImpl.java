@@ -0,0 +1,53 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link AuditLogBatchRepository}.
+ *
+ * Audit logs use IDENTITY keys, which stops Hibernate from batching inserts,
+ * so bulk inserts go through JdbcTemplate.
+ */
+@RequiredArgsConstructor
+public class AuditLogBatchRepositoryImpl implements AuditLogBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (user_id, action, resource_type, resource_id, details, ip_address, user_agent, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, auditLogs, auditLogs.size(), (ps, auditLog) -> {
+            if (auditLog.getUser() != null) {
+                ps.setLong(1, auditLog.getUser().getId());
+            } else {
+                ps.setNull(1, Types.BIGINT);
+            }
+            ps.setString(2, auditLog.getAction());
+            ps.setString(3, auditLog.getResourceType());
+            if (auditLog.getResourceId() != null) {
+                ps.setLong(4, auditLog.getResourceId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, auditLog.getDetails());
+            ps.setString(6, auditLog.getIpAddress());
+            ps.setString(7, auditLog.getUserAgent());
+            LocalDateTime createdAt = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : LocalDateTime.now();
+            ps.setTimestamp(8, Timestamp.valueOf(createdAt));
+        });
+    }
+}
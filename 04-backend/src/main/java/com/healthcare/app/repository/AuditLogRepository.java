@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogBatchRepository {
     
     List<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId);
     
@@ -40,6 +40,12 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     @Query("SELECT al FROM AuditLog al ORDER BY al.createdAt DESC LIMIT :limit")
     List<AuditLog> findRecentLogs(@Param("limit") int limit);
     
+    @Query("SELECT al FROM AuditLog al WHERE :beforeDate IS NULL OR al.createdAt < :beforeDate " +
+           "OR (al.createdAt = :beforeDate AND al.id < :beforeId) ORDER BY al.createdAt DESC, al.id DESC")
+    List<AuditLog> findLogsBefore(@Param("beforeDate") LocalDateTime beforeDate,
+                                  @Param("beforeId") Long beforeId,
+                                  Pageable pageable);
+    
     @Query("SELECT al FROM AuditLog al WHERE al.action IN :actions AND al.createdAt >= :since ORDER BY al.createdAt DESC")
     List<AuditLog> findByActionInAndCreatedAtAfter(@Param("actions") List<String> actions, @Param("since") LocalDateTime since);
     
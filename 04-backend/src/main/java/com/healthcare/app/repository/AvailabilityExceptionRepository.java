@@ -0,0 +1,34 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.AvailabilityException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AvailabilityExceptionRepository extends JpaRepository<AvailabilityException, Long> {
+    
+    @Query("SELECT e FROM AvailabilityException e WHERE e.doctor.id = :doctorId AND e.endDateTime > :from ORDER BY e.startDateTime, e.id")
+    List<AvailabilityException> findByDoctorIdEndingAfter(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from);
+    
+    @Query("SELECT e.startDateTime AS startDateTime, e.endDateTime AS endDateTime FROM AvailabilityException e " +
+           "WHERE e.doctor.id = :doctorId AND e.endDateTime > :from ORDER BY e.startDateTime")
+    List<ExceptionInterval> findIntervalsByDoctorIdEndingAfter(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from);
+    
+    @Modifying
+    @Query("DELETE FROM AvailabilityException e WHERE e.endDateTime < :cutoff")
+    int deleteEndedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Bounds of an exception used to build the in-memory overlay
+     */
+    interface ExceptionInterval {
+        LocalDateTime getStartDateTime();
+        LocalDateTime getEndDateTime();
+    }
+}
@@ -0,0 +1,29 @@
+package com.healthcare.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Access to the materialized {@code doctor_free_slots} table of concrete bookable slots
+ */
+public interface DoctorFreeSlotRepository {
+
+    /**
+     * Replace the doctor's free slots starting in [from, to) with the given ones
+     */
+    void replaceFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to, List<FreeSlot> slots);
+
+    /**
+     * Read the doctor's free slots starting in [from, to), ordered by start
+     */
+    List<FreeSlot> findFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Delete all slots that started before the cutoff and return the number of rows removed
+     */
+    int deleteFreeSlotsBefore(LocalDateTime cutoff);
+
+    boolean hasFreeSlots();
+
+    record FreeSlot(LocalDateTime start, LocalDateTime end) {}
+}
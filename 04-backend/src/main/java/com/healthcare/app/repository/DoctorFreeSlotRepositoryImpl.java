@@ -0,0 +1,61 @@
+package com.healthcare.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link DoctorFreeSlotRepository}; the slot rows have no entity and are
+ * always rewritten a doctor-range at a time, so they are written as one delete plus one batch insert
+ */
+@RequiredArgsConstructor
+public class DoctorFreeSlotRepositoryImpl implements DoctorFreeSlotRepository {
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM doctor_free_slots WHERE doctor_id = ? AND slot_start >= ? AND slot_start < ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO doctor_free_slots (doctor_id, slot_start, slot_end) VALUES (?, ?, ?)";
+
+    private static final String SELECT_RANGE_SQL =
+            "SELECT slot_start, slot_end FROM doctor_free_slots " +
+            "WHERE doctor_id = ? AND slot_start >= ? AND slot_start < ? ORDER BY slot_start";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void replaceFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to, List<FreeSlot> slots) {
+        jdbcTemplate.update(DELETE_RANGE_SQL, doctorId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (slots.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, slots, slots.size(), (ps, slot) -> {
+            ps.setLong(1, doctorId);
+            ps.setTimestamp(2, Timestamp.valueOf(slot.start()));
+            ps.setTimestamp(3, Timestamp.valueOf(slot.end()));
+        });
+    }
+
+    @Override
+    public List<FreeSlot> findFreeSlots(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_RANGE_SQL,
+                (rs, rowNum) -> new FreeSlot(rs.getTimestamp("slot_start").toLocalDateTime(),
+                        rs.getTimestamp("slot_end").toLocalDateTime()),
+                doctorId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    @Override
+    public int deleteFreeSlotsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM doctor_free_slots WHERE slot_start < ?", Timestamp.valueOf(cutoff));
+    }
+
+    @Override
+    public boolean hasFreeSlots() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM doctor_free_slots)", Boolean.class));
+    }
+}
@@ -84,6 +84,14 @@ public interface EMRRepository extends JpaRepository<EMR, Long> {
     @Query("SELECT DISTINCT e.diagnosis FROM EMR e WHERE e.doctor = :doctor ORDER BY e.diagnosis")
     List<String> findDistinctDiagnosesByDoctor(@Param("doctor") User doctor);
     
+    @Query("SELECT e FROM EMR e WHERE e.doctor = :doctor " +
+           "AND (:beforeDate IS NULL OR e.visitDate < :beforeDate OR (e.visitDate = :beforeDate AND e.id < :beforeId)) " +
+           "ORDER BY e.visitDate DESC, e.id DESC")
+    List<EMR> findDoctorEMRBefore(@Param("doctor") User doctor,
+                                  @Param("beforeDate") LocalDateTime beforeDate,
+                                  @Param("beforeId") Long beforeId,
+                                  Pageable pageable);
+    
     Optional<EMR> findByIdAndPatient(Long id, User patient);
     
     Optional<EMR> findByIdAndDoctor(Long id, User doctor);
@@ -0,0 +1,16 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.Notification;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for notifications that bypass per-entity persistence
+ */
+public interface NotificationBatchRepository {
+
+    /**
+     * Insert all notifications in a single JDBC batch and assign their generated IDs
+     */
+    void batchInsert(List<Notification> notifications);
+}
@@ -0,0 +1,74 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link NotificationBatchRepository}.
+ *
+ * Notifications use IDENTITY keys, which stops Hibernate from batching inserts,
+ * so bulk inserts go through JdbcTemplate and read the keys back from the batch.
+ */
+@RequiredArgsConstructor
+public class NotificationBatchRepositoryImpl implements NotificationBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, type, title, message, priority, is_read, created_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification notification = notifications.get(i);
+                        ps.setLong(1, notification.getUser().getId());
+                        ps.setString(2, notification.getType().name());
+                        ps.setString(3, notification.getTitle());
+                        ps.setString(4, notification.getMessage());
+                        ps.setString(5, notification.getPriority().name());
+                        ps.setBoolean(6, Boolean.TRUE.equals(notification.getIsRead()));
+                        if (notification.getCreatedBy() != null) {
+                            ps.setLong(7, notification.getCreatedBy().getId());
+                        } else {
+                            ps.setNull(7, Types.BIGINT);
+                        }
+                        ps.setTimestamp(8, Timestamp.valueOf(notification.getCreatedAt()));
+                        ps.setTimestamp(9, Timestamp.valueOf(notification.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return notifications.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < notifications.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            notifications.get(i).setId(((Number) key).longValue());
+        }
+    }
+}
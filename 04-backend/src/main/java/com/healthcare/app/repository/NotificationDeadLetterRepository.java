@@ -0,0 +1,9 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.NotificationDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+}
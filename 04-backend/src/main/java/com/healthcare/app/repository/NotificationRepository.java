@@ -0,0 +1,80 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationBatchRepository {
+
+    List<Notification> findByUserOrderByCreatedAtDesc(User user);
+
+    Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+
+    List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
+
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
+    List<Notification> findByUserAndTypeOrderByCreatedAtDesc(User user, Notification.NotificationType type);
+
+    List<Notification> findByUserAndPriorityOrderByCreatedAtDesc(User user, Notification.NotificationPriority priority);
+
+    List<Notification> findByUserAndCreatedAtBetweenOrderByCreatedAtDesc(User user, LocalDateTime startDate, LocalDateTime endDate);
+
+    List<Notification> findByUserAndTypeAndCreatedAtBetweenOrderByCreatedAtDesc(User user, Notification.NotificationType type,
+                                                                                LocalDateTime startDate, LocalDateTime endDate);
+
+    @Modifying
+    @Query(value = "UPDATE notifications SET is_read = TRUE, read_at = :now, updated_at = :now " +
+                   "WHERE user_id = :userId AND is_read = FALSE ORDER BY id LIMIT :limit", nativeQuery = true)
+    int markUnreadAsRead(@Param("userId") Long userId, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE created_at < :cutoff ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM notifications WHERE user_id = :#{#user.id} ORDER BY created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Notification> findRecentNotificationsByUser(@Param("user") User user, @Param("limit") int limit);
+
+    long countByUser(User user);
+
+    long countByUserAndIsReadFalse(User user);
+
+    long countByUserAndPriority(User user, Notification.NotificationPriority priority);
+
+    long countByUserAndCreatedAtBetween(User user, LocalDateTime startDate, LocalDateTime endDate);
+
+    long countByUserAndIsReadTrueAndCreatedAtBetween(User user, LocalDateTime startDate, LocalDateTime endDate);
+
+    long countByUserAndIsReadFalseAndCreatedAtBetween(User user, LocalDateTime startDate, LocalDateTime endDate);
+
+    long countByUserAndPriorityAndCreatedAtBetween(User user, Notification.NotificationPriority priority,
+                                                   LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT n.user.id AS userId, COUNT(n) AS total, " +
+           "SUM(CASE WHEN n.isRead = false THEN 1 ELSE 0 END) AS unread, " +
+           "SUM(CASE WHEN n.priority = 'HIGH' THEN 1 ELSE 0 END) AS highPriority " +
+           "FROM Notification n WHERE n.user.id IN :userIds GROUP BY n.user.id")
+    List<UserCounts> countByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Badge counts of one user, as recomputed for the counter cache
+     */
+    interface UserCounts {
+        Long getUserId();
+        Long getTotal();
+        Long getUnread();
+        Long getHighPriority();
+    }
+}
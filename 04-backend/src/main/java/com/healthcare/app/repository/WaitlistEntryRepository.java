@@ -0,0 +1,47 @@
+package com.healthcare.app.repository;
+
+import com.healthcare.app.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.doctor.id = :doctorId AND w.status = 'WAITING' ORDER BY w.isUrgent DESC, w.createdAt, w.id")
+    List<WaitlistEntry> findWaitingByDoctorId(@Param("doctorId") Long doctorId);
+    
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.patient.id = :patientId AND w.status = 'WAITING' ORDER BY w.earliestStart")
+    List<WaitlistEntry> findWaitingByPatientId(@Param("patientId") Long patientId);
+    
+    @Query("SELECT w.id AS id, w.doctor.id AS doctorId, w.patient.id AS patientId, w.earliestStart AS earliestStart, " +
+           "w.latestStart AS latestStart, w.durationMinutes AS durationMinutes, w.isUrgent AS isUrgent, w.createdAt AS createdAt " +
+           "FROM WaitlistEntry w WHERE w.doctor.id = :doctorId AND w.status = 'WAITING' AND w.latestStart >= :from")
+    List<WaitingSlot> findWaitingSlotsByDoctorFrom(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from);
+    
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED', w.updatedAt = :now WHERE w.status = 'WAITING' AND w.latestStart < :now")
+    int expireWaitingBefore(@Param("now") LocalDateTime now);
+    
+    /**
+     * Lightweight view of a waiting entry used to build the in-memory waitlist
+     */
+    interface WaitingSlot {
+        Long getId();
+        Long getDoctorId();
+        Long getPatientId();
+        LocalDateTime getEarliestStart();
+        LocalDateTime getLatestStart();
+        Integer getDurationMinutes();
+        Boolean getIsUrgent();
+        LocalDateTime getCreatedAt();
+    }
+}
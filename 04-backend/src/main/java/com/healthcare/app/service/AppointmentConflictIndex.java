@@ -0,0 +1,260 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory per-doctor index of booked (SCHEDULED/CONFIRMED/IN_PROGRESS) appointment intervals.
+ *
+ * Each doctor's bookings are kept sorted by start time, so an overlap query only
+ * visits the bookings that start inside [start - longest booking, end) instead of
+ * issuing a COUNT query per create/update. The index is warmed at startup, loaded
+ * lazily for doctors it has not seen yet, and updates made inside a transaction are
+ * undone if that transaction rolls back. Every change, including an undo, is published
+ * as a {@link BookingChanged} event so derived views can update incrementally.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentConflictIndex {
+
+    /**
+     * How far back bookings are kept; anything that ended before this cannot conflict with a new booking
+     */
+    private static final long RETENTION_HOURS = 24;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<Long, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Load all upcoming bookings once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        List<AppointmentRepository.BookedSlot> slots = appointmentRepository.findBookedSlotsFrom(retentionCutoff());
+
+        Map<Long, List<AppointmentRepository.BookedSlot>> slotsByDoctor = slots.stream()
+                .collect(Collectors.groupingBy(AppointmentRepository.BookedSlot::getDoctorId));
+        slotsByDoctor.forEach((doctorId, doctorSlots) -> schedules.putIfAbsent(doctorId, DoctorSchedule.of(doctorSlots)));
+
+        log.info("Appointment conflict index warmed with {} bookings for {} doctors", slots.size(), slotsByDoctor.size());
+    }
+
+    /**
+     * Check whether [start, end) overlaps any booking of the doctor, ignoring the given appointment
+     */
+    public boolean hasConflict(Long doctorId, LocalDateTime start, LocalDateTime end, Long excludeAppointmentId) {
+        return schedule(doctorId).overlaps(start, end, excludeAppointmentId);
+    }
+
+    /**
+     * Add or replace the booking of an appointment
+     */
+    public void put(Appointment appointment) {
+        Long doctorId = appointment.getDoctor().getId();
+        Booking booking = Booking.of(appointment);
+        DoctorSchedule schedule = schedule(doctorId);
+
+        Booking previous = schedule.put(booking);
+        changed(doctorId, booking, previous);
+        TransactionCompensation.onRollback(() -> {
+            schedule.remove(booking.appointmentId());
+            if (previous != null) {
+                schedule.put(previous);
+            }
+            changed(doctorId, booking, previous);
+        });
+    }
+
+    /**
+     * Remove the booking of an appointment that no longer occupies its slot
+     */
+    public void remove(Appointment appointment) {
+        remove(appointment.getDoctor().getId(), appointment.getId());
+    }
+
+    /**
+     * Remove a booking by doctor and appointment ID, for callers that work on rows rather than entities
+     */
+    public void remove(Long doctorId, Long appointmentId) {
+        DoctorSchedule schedule = schedules.get(doctorId);
+        if (schedule == null) {
+            return;
+        }
+
+        Booking removed = schedule.remove(appointmentId);
+        if (removed != null) {
+            changed(doctorId, removed, null);
+            TransactionCompensation.onRollback(() -> {
+                schedule.put(removed);
+                changed(doctorId, removed, null);
+            });
+        }
+    }
+
+    /**
+     * Drop bookings that ended before the retention window
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void evictPastBookings() {
+        LocalDateTime cutoff = retentionCutoff();
+        int evicted = schedules.values().stream()
+                .mapToInt(schedule -> schedule.removeEndingBefore(cutoff))
+                .sum();
+
+        log.debug("Evicted {} past bookings from appointment conflict index", evicted);
+    }
+
+    private void changed(Long doctorId, Booking booking, Booking previous) {
+        eventPublisher.publishEvent(new BookingChanged(doctorId, booking.start(), booking.end()));
+        if (previous != null) {
+            eventPublisher.publishEvent(new BookingChanged(doctorId, previous.start(), previous.end()));
+        }
+    }
+
+    private DoctorSchedule schedule(Long doctorId) {
+        return schedules.computeIfAbsent(doctorId, id ->
+                DoctorSchedule.of(appointmentRepository.findBookedSlotsByDoctorFrom(id, retentionCutoff())));
+    }
+
+    private static LocalDateTime retentionCutoff() {
+        return LocalDateTime.now().minusHours(RETENTION_HOURS);
+    }
+
+    /**
+     * Published when the [start, end) interval of a doctor was booked or freed
+     */
+    public record BookingChanged(Long doctorId, LocalDateTime start, LocalDateTime end) {}
+
+    /**
+     * A booked [start, end) interval
+     */
+    private record Booking(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+
+        static final Comparator<Booking> BY_START = Comparator.comparing(Booking::start)
+                .thenComparing(Booking::appointmentId);
+
+        static Booking of(Appointment appointment) {
+            return new Booking(appointment.getId(), appointment.getAppointmentDate(),
+                    appointment.getAppointmentDate().plusMinutes(appointment.getDurationMinutes()));
+        }
+
+        static Booking of(AppointmentRepository.BookedSlot slot) {
+            return new Booking(slot.getId(), slot.getAppointmentDate(),
+                    slot.getAppointmentDate().plusMinutes(slot.getDurationMinutes()));
+        }
+
+        static Booking probe(LocalDateTime start) {
+            return new Booking(Long.MIN_VALUE, start, start);
+        }
+    }
+
+    /**
+     * Bookings of a single doctor ordered by start time
+     */
+    private static final class DoctorSchedule {
+
+        private final NavigableSet<Booking> byStart = new TreeSet<>(Booking.BY_START);
+        private final Map<Long, Booking> byAppointmentId = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // Only ever grows, which keeps the overlap scan window conservative
+        private long longestBookingMinutes;
+
+        static DoctorSchedule of(List<AppointmentRepository.BookedSlot> slots) {
+            DoctorSchedule schedule = new DoctorSchedule();
+            slots.forEach(slot -> schedule.put(Booking.of(slot)));
+            return schedule;
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end, Long excludeAppointmentId) {
+            lock.readLock().lock();
+            try {
+                Booking from = Booking.probe(start.minusMinutes(longestBookingMinutes));
+                Booking to = Booking.probe(end);
+
+                for (Booking booking : byStart.subSet(from, true, to, false)) {
+                    if (booking.end().isAfter(start) && !booking.appointmentId().equals(excludeAppointmentId)) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Booking put(Booking booking) {
+            lock.writeLock().lock();
+            try {
+                Booking previous = byAppointmentId.put(booking.appointmentId(), booking);
+                if (previous != null) {
+                    byStart.remove(previous);
+                }
+                byStart.add(booking);
+                longestBookingMinutes = Math.max(longestBookingMinutes,
+                        Duration.between(booking.start(), booking.end()).toMinutes());
+                return previous;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Booking remove(Long appointmentId) {
+            lock.writeLock().lock();
+            try {
+                Booking removed = byAppointmentId.remove(appointmentId);
+                if (removed != null) {
+                    byStart.remove(removed);
+                }
+                return removed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int removeEndingBefore(LocalDateTime cutoff) {
+            lock.writeLock().lock();
+            try {
+                int removed = 0;
+                NavigableSet<Booking> candidates = byStart.headSet(Booking.probe(cutoff), false);
+                for (var iterator = candidates.iterator(); iterator.hasNext(); ) {
+                    Booking booking = iterator.next();
+                    if (booking.end().isBefore(cutoff)) {
+                        iterator.remove();
+                        byAppointmentId.remove(booking.appointmentId());
+                        removed++;
+                    }
+                }
+                return removed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.AppointmentEvent;
+import com.healthcare.app.entity.AuditLog;
+import com.healthcare.app.repository.AuditLogRepository;
+import com.healthcare.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one audit row per appointment status change, in a single batch per relayed batch.
+ * Writes go straight to the repository so a failure fails the batch and is retried.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentEventAuditConsumer implements AppointmentEventConsumer {
+
+    private final AuditLogRepository auditLogRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public void consume(List<AppointmentEvent> events) {
+        auditLogRepository.batchInsert(events.stream()
+                .map(event -> AuditLog.builder()
+                        .user(event.getActorUserId() != null ? userRepository.getReferenceById(event.getActorUserId()) : null)
+                        .action(event.getAction())
+                        .resourceType("APPOINTMENT")
+                        .resourceId(event.getAppointmentId())
+                        .details(describe(event))
+                        .createdAt(event.getOccurredAt())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    private static String describe(AppointmentEvent event) {
+        String actor = event.getActorUserId() != null ? "user: " + event.getActorUserId() : "system";
+        String description = "Appointment moved from " + event.getFromStatus() + " to " + event.getToStatus() + " by " + actor;
+        return event.getDetails() != null ? description + ". " + event.getDetails() : description;
+    }
+}
@@ -0,0 +1,16 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.AppointmentEvent;
+
+import java.util.List;
+
+/**
+ * Side effect of appointment status changes, fed in batches by {@link AppointmentEventRelay}.
+ *
+ * Delivery is at least once: if any consumer fails, the batch is redelivered to every consumer
+ * one event at a time.
+ */
+public interface AppointmentEventConsumer {
+
+    void consume(List<AppointmentEvent> events);
+}
@@ -0,0 +1,39 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.AppointmentEvent;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Notifies patients when their appointment is confirmed or cancelled
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentEventNotificationConsumer implements AppointmentEventConsumer {
+
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+
+    @Override
+    public void consume(List<AppointmentEvent> events) {
+        for (AppointmentEvent event : events) {
+            switch (event.getToStatus()) {
+                case CONFIRMED -> notificationService.createAppointmentConfirmation(
+                        patient(event), "Appointment #" + event.getAppointmentId());
+                case CANCELLED -> notificationService.createAppointmentCancellation(
+                        patient(event), "Appointment #" + event.getAppointmentId(), event.getDetails());
+                default -> {
+                    // No patient notification for other transitions
+                }
+            }
+        }
+    }
+
+    private User patient(AppointmentEvent event) {
+        return userRepository.getReferenceById(event.getPatientId());
+    }
+}
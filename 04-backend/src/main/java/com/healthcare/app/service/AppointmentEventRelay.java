@@ -0,0 +1,172 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.AppointmentEvent;
+import com.healthcare.app.repository.AppointmentEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Relays appointment outbox events to every {@link AppointmentEventConsumer}.
+ *
+ * Committed transitions nudge the relay onto the task executor right away, and a
+ * scheduled poll picks up anything a nudge missed, e.g. after a restart. Each batch
+ * is claimed with SKIP LOCKED, handed to the consumers and marked published in one
+ * transaction. A failing batch is rolled back and its events are relayed one by one,
+ * so only the failing event is charged an attempt; it is left unpublished once it
+ * runs out of attempts while the rest of the batch goes through.
+ */
+@Component
+@Slf4j
+public class AppointmentEventRelay {
+
+    private final AppointmentEventRepository appointmentEventRepository;
+    private final List<AppointmentEventConsumer> consumers;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retentionDays;
+
+    private final AtomicBoolean relayPending = new AtomicBoolean();
+
+    public AppointmentEventRelay(AppointmentEventRepository appointmentEventRepository,
+                                 List<AppointmentEventConsumer> consumers,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.appointments.outbox-batch-size:200}") int batchSize,
+                                 @Value("${app.appointments.outbox-max-attempts:10}") int maxAttempts,
+                                 @Value("${app.appointments.outbox-retention-days:7}") long retentionDays) {
+        this.appointmentEventRepository = appointmentEventRepository;
+        this.consumers = consumers;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Relay once the current transaction commits; nudges that arrive while one is pending are coalesced
+     */
+    public void relayAfterCommit() {
+        TransactionCompensation.afterCommit(this::requestRelay);
+    }
+
+    /**
+     * Relay all pending events in batches
+     */
+    @Scheduled(fixedDelayString = "${app.appointments.outbox-poll-interval-ms:5000}")
+    public void relay() {
+        long afterId = 0;
+        BatchResult result;
+        do {
+            long from = afterId;
+            result = transactionTemplate.execute(status -> relayBatch(status, from));
+            if (result.failedEventIds() != null) {
+                // The batch was rolled back; relay its events one at a time so only the failing ones are charged
+                result.failedEventIds().forEach(this::relaySingle);
+            }
+            afterId = result.lastEventId();
+        } while (result.claimed() == batchSize);
+    }
+
+    /**
+     * Delete published events past the retention period
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgePublished() {
+        int deleted = transactionTemplate.execute(status ->
+                appointmentEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Purged {} published appointment events", deleted);
+    }
+
+    private void requestRelay() {
+        if (relayPending.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                relayPending.set(false);
+                try {
+                    relay();
+                } catch (Exception e) {
+                    log.error("Appointment event relay failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    private BatchResult relayBatch(TransactionStatus status, long afterId) {
+        List<AppointmentEvent> events = appointmentEventRepository.lockUnpublished(
+                maxAttempts, afterId, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return new BatchResult(0, afterId, null);
+        }
+        long lastEventId = events.get(events.size() - 1).getId();
+
+        try {
+            consumers.forEach(consumer -> consumer.consume(events));
+        } catch (Exception e) {
+            log.warn("Appointment event batch starting at ID: {} failed, isolating events: {}", events.get(0).getId(), e.getMessage());
+            // Consumers share this transaction and may already have marked it rollback-only
+            status.setRollbackOnly();
+            List<Long> eventIds = events.stream().map(AppointmentEvent::getId).collect(Collectors.toList());
+            return new BatchResult(events.size(), lastEventId, eventIds);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> event.setPublishedAt(now));
+        return new BatchResult(events.size(), lastEventId, null);
+    }
+
+    /**
+     * Relay one event in its own transaction; a failure is charged to that event alone
+     */
+    private void relaySingle(Long eventId) {
+        String error = transactionTemplate.execute(status -> {
+            Optional<AppointmentEvent> locked = appointmentEventRepository.lockUnpublishedById(eventId, maxAttempts);
+            if (locked.isEmpty()) {
+                // Published or claimed by another relay in the meantime
+                return null;
+            }
+
+            AppointmentEvent event = locked.get();
+            try {
+                consumers.forEach(consumer -> consumer.consume(List.of(event)));
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                return String.valueOf(e.getMessage());
+            }
+            event.setPublishedAt(LocalDateTime.now());
+            return null;
+        });
+        if (error == null) {
+            return;
+        }
+
+        // The event transaction was rolled back, so the failure is recorded in a fresh one
+        transactionTemplate.executeWithoutResult(status -> appointmentEventRepository.recordFailure(eventId, error));
+        AppointmentEvent event = appointmentEventRepository.findById(eventId).orElse(null);
+        if (event != null && event.getAttempts() >= maxAttempts) {
+            log.error("Abandoning appointment event ID: {} after {} attempts: {}", eventId, event.getAttempts(), error);
+        } else {
+            log.warn("Appointment event ID: {} failed, will retry: {}", eventId, error);
+        }
+    }
+
+    /**
+     * Outcome of one batch; failed event IDs are set when a consumer threw and the batch was rolled back
+     */
+    private record BatchResult(int claimed, long lastEventId, List<Long> failedEventIds) {}
+}
@@ -0,0 +1,27 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.AppointmentEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops cached appointment statistics once status changes land, instead of waiting for the TTL
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentEventStatisticsConsumer implements AppointmentEventConsumer {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void consume(List<AppointmentEvent> events) {
+        Cache cache = cacheManager.getCache(AppointmentService.STATISTICS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.healthcare.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExportService {
+
+    /** Rows written between flushes and persistence context clears */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String[] CSV_HEADER = {
+        "id", "appointmentDate", "durationMinutes", "status", "type", "doctorId", "doctorName",
+        "patientId", "patientName", "reason", "isUrgent", "isFollowUp", "createdAt"
+    };
+
+    private final AppointmentRepository appointmentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write all appointments in a date range to the output stream without holding them in memory.
+     * Rows are streamed from the database and the persistence context is cleared every
+     * FLUSH_INTERVAL rows, so heap usage stays flat regardless of the size of the range.
+     */
+    @Transactional(readOnly = true)
+    public long exportAppointmentsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                             ExportFormat format, OutputStream outputStream) throws IOException {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        // The response stream is owned by the container, so the generator must not close it
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by the newline written after each object, not Jackson's default " "
+        generator.setRootValueSeparator(null);
+        long rows = 0;
+
+        try (Stream<Appointment> appointments = appointmentRepository.streamAppointmentsInDateRange(startDate, endDate)) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, CSV_HEADER);
+            }
+
+            Iterator<Appointment> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                Appointment appointment = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, appointment);
+                } else {
+                    writeJson(generator, appointment);
+                }
+
+                if (++rows % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        generator.flush();
+        writer.flush();
+        log.info("Exported {} appointments between {} and {} as {}", rows, startDate, endDate, format);
+        return rows;
+    }
+
+    private void writeJson(JsonGenerator generator, Appointment appointment) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", appointment.getId());
+        generator.writeStringField("appointmentDate", format(appointment.getAppointmentDate()));
+        generator.writeNumberField("durationMinutes", appointment.getDurationMinutes());
+        generator.writeStringField("status", appointment.getStatus().name());
+        generator.writeStringField("type", appointment.getType().name());
+        generator.writeNumberField("doctorId", appointment.getDoctor().getId());
+        generator.writeStringField("doctorName", fullName(appointment.getDoctor()));
+        generator.writeNumberField("patientId", appointment.getPatient().getId());
+        generator.writeStringField("patientName", fullName(appointment.getPatient()));
+        generator.writeStringField("reason", appointment.getReason());
+        generator.writeBooleanField("isUrgent", Boolean.TRUE.equals(appointment.getIsUrgent()));
+        generator.writeBooleanField("isFollowUp", Boolean.TRUE.equals(appointment.getIsFollowUp()));
+        generator.writeStringField("createdAt", format(appointment.getCreatedAt()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsv(Writer writer, Appointment appointment) throws IOException {
+        writeCsvRow(writer,
+            String.valueOf(appointment.getId()),
+            format(appointment.getAppointmentDate()),
+            String.valueOf(appointment.getDurationMinutes()),
+            appointment.getStatus().name(),
+            appointment.getType().name(),
+            String.valueOf(appointment.getDoctor().getId()),
+            fullName(appointment.getDoctor()),
+            String.valueOf(appointment.getPatient().getId()),
+            fullName(appointment.getPatient()),
+            appointment.getReason(),
+            String.valueOf(Boolean.TRUE.equals(appointment.getIsUrgent())),
+            String.valueOf(Boolean.TRUE.equals(appointment.getIsFollowUp())),
+            format(appointment.getCreatedAt()));
+    }
+
+    private static void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote a CSV value if it contains a delimiter, quote or line break (RFC 4180)
+     */
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toString() : null;
+    }
+
+    private static String fullName(User user) {
+        return user.getFirstName() + " " + user.getLastName();
+    }
+}
@@ -0,0 +1,358 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.repository.AppointmentReminderClaimRepository;
+import com.healthcare.app.repository.AppointmentRepository;
+import com.healthcare.app.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends appointment reminders at configured offsets before the start, e.g. 24h and 1h.
+ *
+ * Pending reminders sit in a hierarchical timing wheel of minute, hour and day buckets. A
+ * reminder goes into the coarsest level its delay allows and is cascaded one level down
+ * when its hour or day bucket comes up, so each tick only touches the reminders due in
+ * that minute. The wheel spans {@code horizon-days}; appointments further out are loaded
+ * as the horizon moves forward, so a restart only reads the upcoming window. Every
+ * (re)schedule gives the appointment a new generation and reminders of older generations
+ * are dropped when their bucket drains, so moving an appointment away and back again does
+ * not send its reminders twice; cancellations stop tracking the appointment altogether.
+ * Due reminders are re-checked against the database in one query and created in one
+ * batch, which also catches changes made outside this service. Reminders whose time
+ * passed while the application was down are not sent late.
+ *
+ * Every instance keeps its own wheel and drains the same reminders, so each due reminder
+ * is claimed in {@code appointment_reminder_claims} in the transaction that creates it and
+ * only the instance whose claim lands sends it.
+ */
+@Component
+@Slf4j
+public class AppointmentReminderScheduler {
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_DAY = MINUTES_PER_HOUR * HOURS_PER_DAY;
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Long> offsetsMinutes;
+    private final long smallestOffsetMinutes;
+    private final int horizonDays;
+    private final Clock clock;
+
+    private final List<Reminder>[] minuteBuckets;
+    private final List<Reminder>[] hourBuckets;
+    private final List<Reminder>[] dayBuckets;
+
+    /**
+     * Start time and generation each tracked appointment's reminders were scheduled for; guarded by this
+     */
+    private final Map<Long, Tracked> scheduledStarts = new HashMap<>();
+    private long nextGeneration;
+    private long currentMinute = -1;
+    private LocalDateTime loadedUntil;
+
+    @Autowired
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+                                        UserRepository userRepository,
+                                        NotificationService notificationService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.reminders.offsets-minutes:1440,60}") List<Long> offsetsMinutes,
+                                        @Value("${app.reminders.horizon-days:7}") int horizonDays) {
+        this(appointmentRepository, userRepository, notificationService, transactionManager, offsetsMinutes, horizonDays,
+                Clock.systemDefaultZone());
+    }
+
+    AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+                                 UserRepository userRepository,
+                                 NotificationService notificationService,
+                                 PlatformTransactionManager transactionManager,
+                                 List<Long> offsetsMinutes,
+                                 int horizonDays,
+                                 Clock clock) {
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.offsetsMinutes = List.copyOf(offsetsMinutes);
+        this.smallestOffsetMinutes = offsetsMinutes.stream().mapToLong(Long::longValue).min().orElse(0);
+        this.horizonDays = horizonDays;
+        this.clock = clock;
+        this.minuteBuckets = newBuckets(MINUTES_PER_HOUR);
+        this.hourBuckets = newBuckets(HOURS_PER_DAY);
+        this.dayBuckets = newBuckets(horizonDays);
+    }
+
+    /**
+     * Load the reminders of the upcoming window once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (this) {
+            currentMinute = epochMinute(now);
+            loadedUntil = now;
+        }
+        extendHorizon();
+    }
+
+    /**
+     * Track the appointment's reminders once the booking or reschedule commits
+     */
+    public void scheduleAfterCommit(Appointment appointment) {
+        Long appointmentId = appointment.getId();
+        LocalDateTime start = appointment.getAppointmentDate();
+        TransactionCompensation.afterCommit(() -> schedule(appointmentId, start));
+    }
+
+    /**
+     * Stop the appointment's pending reminders once the cancellation commits
+     */
+    public void cancelAfterCommit(Long appointmentId) {
+        TransactionCompensation.afterCommit(() -> {
+            synchronized (this) {
+                scheduledStarts.remove(appointmentId);
+            }
+        });
+    }
+
+    /**
+     * Advance the wheel to the current minute and send the reminders that came due
+     */
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
+    public void advance() {
+        LocalDateTime time = LocalDateTime.now(clock);
+        long now = epochMinute(time);
+        List<Reminder> due = new ArrayList<>();
+        boolean extend = false;
+        synchronized (this) {
+            if (currentMinute < 0) {
+                return;
+            }
+            if (now - currentMinute >= (long) horizonDays * MINUTES_PER_DAY) {
+                // Paused for longer than the wheel spans; every bucket is stale
+                log.warn("Reminder wheel fell {} minutes behind, reloading", now - currentMinute);
+                clear();
+                currentMinute = now;
+                loadedUntil = time;
+                extend = true;
+            }
+            while (currentMinute < now) {
+                currentMinute++;
+                if (currentMinute % MINUTES_PER_DAY == 0) {
+                    cascade(dayBuckets, (int) Math.floorMod(currentMinute / MINUTES_PER_DAY, (long) horizonDays));
+                }
+                if (currentMinute % MINUTES_PER_HOUR == 0) {
+                    cascade(hourBuckets, (int) Math.floorMod(currentMinute / MINUTES_PER_HOUR, (long) HOURS_PER_DAY));
+                    // The window moved by an hour, so load the appointments that entered it
+                    extend = true;
+                }
+                drainDue((int) Math.floorMod(currentMinute, (long) MINUTES_PER_HOUR), due);
+            }
+        }
+
+        if (!due.isEmpty()) {
+            send(due);
+        }
+        if (extend) {
+            extendHorizon();
+        }
+    }
+
+    private void schedule(Long appointmentId, LocalDateTime start) {
+        synchronized (this) {
+            Tracked tracked = scheduledStarts.get(appointmentId);
+            if (currentMinute < 0 || (tracked != null && start.equals(tracked.start()))) {
+                return;
+            }
+            scheduledStarts.remove(appointmentId);
+            // Only appointments whose last reminder fits the wheel; later ones are loaded with the horizon
+            if (epochMinute(start) - smallestOffsetMinutes >= currentMinute + (long) horizonDays * MINUTES_PER_DAY) {
+                return;
+            }
+
+            long generation = ++nextGeneration;
+            boolean added = false;
+            for (Long offset : offsetsMinutes) {
+                long fireMinute = epochMinute(start) - offset;
+                if (fireMinute > currentMinute) {
+                    insert(new Reminder(appointmentId, start, generation, fireMinute, offset, offset == smallestOffsetMinutes));
+                    added = true;
+                }
+            }
+            if (added) {
+                scheduledStarts.put(appointmentId, new Tracked(start, generation));
+            }
+        }
+    }
+
+    /**
+     * Load appointments that entered the wheel's window since the last load
+     */
+    private void extendHorizon() {
+        LocalDateTime from;
+        LocalDateTime to = LocalDateTime.now(clock).plusDays(horizonDays).minusMinutes(1);
+        synchronized (this) {
+            from = loadedUntil;
+        }
+        if (from == null || !from.isBefore(to)) {
+            return;
+        }
+
+        List<AppointmentRepository.ReminderCandidate> candidates = appointmentRepository.findReminderCandidates(from, to);
+        synchronized (this) {
+            for (AppointmentRepository.ReminderCandidate candidate : candidates) {
+                schedule(candidate.getId(), candidate.getAppointmentDate());
+            }
+            loadedUntil = to;
+        }
+        log.debug("Loaded reminders for {} appointments starting before {}", candidates.size(), to);
+    }
+
+    private void insert(Reminder reminder) {
+        long delay = reminder.fireMinute() - currentMinute;
+        if (delay < MINUTES_PER_HOUR) {
+            minuteBuckets[(int) Math.floorMod(reminder.fireMinute(), (long) MINUTES_PER_HOUR)].add(reminder);
+        } else if (delay < MINUTES_PER_DAY) {
+            hourBuckets[(int) Math.floorMod(reminder.fireMinute() / MINUTES_PER_HOUR, (long) HOURS_PER_DAY)].add(reminder);
+        } else {
+            dayBuckets[(int) Math.floorMod(reminder.fireMinute() / MINUTES_PER_DAY, (long) horizonDays)].add(reminder);
+        }
+    }
+
+    /**
+     * Move a coarse bucket's reminders down to the level their remaining delay calls for
+     */
+    private void cascade(List<Reminder>[] level, int index) {
+        List<Reminder> reminders = level[index];
+        level[index] = new ArrayList<>();
+        for (Reminder reminder : reminders) {
+            if (isCurrent(reminder)) {
+                insert(reminder);
+            }
+        }
+    }
+
+    private void drainDue(int index, List<Reminder> due) {
+        List<Reminder> reminders = minuteBuckets[index];
+        minuteBuckets[index] = new ArrayList<>();
+        for (Reminder reminder : reminders) {
+            if (!isCurrent(reminder)) {
+                continue;
+            }
+            due.add(reminder);
+            if (reminder.last()) {
+                scheduledStarts.remove(reminder.appointmentId());
+            }
+        }
+    }
+
+    /**
+     * A reminder is stale once its appointment was cancelled or scheduled again, even back to the same start time
+     */
+    private boolean isCurrent(Reminder reminder) {
+        Tracked tracked = scheduledStarts.get(reminder.appointmentId());
+        return tracked != null && tracked.generation() == reminder.generation();
+    }
+
+    private void clear() {
+        scheduledStarts.clear();
+        for (List<Reminder>[] level : List.of(minuteBuckets, hourBuckets, dayBuckets)) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Purge claims of appointments that have already started, which no instance will send reminders for again
+     */
+    @Scheduled(cron = "${app.reminders.claim-purge-cron:0 50 3 * * *}")
+    public void purgeClaims() {
+        int deleted = transactionTemplate.execute(status ->
+                appointmentRepository.deleteReminderClaimsBefore(LocalDateTime.now(clock).minusDays(1)));
+        log.info("Purged {} appointment reminder claims", deleted);
+    }
+
+    private void send(List<Reminder> due) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Re-check status and start time, which also covers changes made outside the service
+                Map<Long, AppointmentRepository.ReminderCandidate> booked = appointmentRepository.findReminderCandidatesByIds(
+                                due.stream().map(Reminder::appointmentId).collect(Collectors.toSet())).stream()
+                        .collect(Collectors.toMap(AppointmentRepository.ReminderCandidate::getId, Function.identity()));
+
+                List<AppointmentReminderClaimRepository.ReminderClaim> claims = new ArrayList<>();
+                for (Reminder reminder : due) {
+                    AppointmentRepository.ReminderCandidate appointment = booked.get(reminder.appointmentId());
+                    if (appointment != null && appointment.getAppointmentDate().equals(reminder.start())) {
+                        claims.add(new AppointmentReminderClaimRepository.ReminderClaim(
+                                reminder.appointmentId(), reminder.start(), reminder.offsetMinutes()));
+                    }
+                }
+
+                // Other instances drain the same reminders; only the ones claimed here are sent from here
+                List<Notification> reminders = new ArrayList<>();
+                for (AppointmentReminderClaimRepository.ReminderClaim claim
+                        : appointmentRepository.claimReminders(claims, LocalDateTime.now(clock))) {
+                    AppointmentRepository.ReminderCandidate appointment = booked.get(claim.appointmentId());
+                    reminders.add(NotificationService.appointmentReminder(userRepository.getReferenceById(appointment.getPatientId()),
+                            "Appointment #" + appointment.getId() + " with Dr. " + appointment.getDoctorFirstName() + " "
+                                    + appointment.getDoctorLastName(),
+                            appointment.getAppointmentDate()));
+                }
+
+                if (!reminders.isEmpty()) {
+                    notificationService.createNotifications(reminders);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to send {} appointment reminders: {}", due.size(), e.getMessage(), e);
+        }
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Reminder>[] newBuckets(int size) {
+        List<Reminder>[] buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        return buckets;
+    }
+
+    /**
+     * One pending reminder; last marks the smallest offset, after which the appointment is no longer tracked
+     */
+    private record Reminder(Long appointmentId, LocalDateTime start, long generation, long fireMinute, long offsetMinutes,
+                            boolean last) {}
+
+    /**
+     * Start time an appointment's pending reminders were scheduled for and the generation they carry
+     */
+    private record Tracked(LocalDateTime start, long generation) {}
+}
@@ -1,20 +1,40 @@
 package com.healthcare.app.service;
 
+import com.healthcare.app.dto.AppointmentStatistics;
+import com.healthcare.app.dto.CursorPage;
+import com.healthcare.app.dto.DoctorAppointmentStatistics;
+import com.healthcare.app.dto.PageCursor;
 import com.healthcare.app.entity.Appointment;
 import com.healthcare.app.entity.User;
+import com.healthcare.app.entity.WaitlistEntry;
+import com.healthcare.app.exception.AppointmentConflictException;
 import com.healthcare.app.repository.AppointmentRepository;
 import com.healthcare.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,15 +42,35 @@ import java.util.Optional;
 @Transactional
 public class AppointmentService {
     
+    static final String STATISTICS_CACHE = "appointmentStatistics";
+    
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final DoctorAvailabilityService doctorAvailabilityService;
     private final AuditService auditService;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final DoctorBookingLocks doctorBookingLocks;
+    private final DoctorSlotReservations doctorSlotReservations;
+    private final DoctorDailyCapacity doctorDailyCapacity;
+    private final WaitlistService waitlistService;
+    private final AppointmentStateMachine appointmentStateMachine;
+    private final SlotHoldService slotHoldService;
+    private final AppointmentReminderScheduler appointmentReminderScheduler;
+    private final NotificationService notificationService;
+    private final PlatformTransactionManager transactionManager;
     
     /**
      * Create a new appointment
      */
     public Appointment createAppointment(Appointment appointment) {
+        return createAppointment(appointment, null);
+    }
+    
+    /**
+     * Create an appointment, consuming the patient's slot hold if a token is given.
+     * Slots held by other patients cannot be booked until their hold expires.
+     */
+    public Appointment createAppointment(Appointment appointment, String holdToken) {
         log.info("Creating appointment for patient: {} with doctor: {} at: {}", 
                 appointment.getPatient().getId(), appointment.getDoctor().getId(), appointment.getAppointmentDate());
         
@@ -40,25 +80,98 @@ public class AppointmentService {
         // Check if doctor is available
         validateDoctorAvailability(appointment);
         
-        // Check for scheduling conflicts
-        validateNoConflicts(appointment);
-        
-        // Set default values
-        appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
-        appointment.setCreatedAt(LocalDateTime.now());
-        appointment.setUpdatedAt(LocalDateTime.now());
-        
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        // Check for scheduling conflicts and book while holding the doctor's lock,
+        // so concurrent bookings for the same doctor cannot both pass the check
+        Appointment savedAppointment = doctorBookingLocks.withLock(appointment.getDoctor().getId(), () -> {
+            validateNoConflicts(appointment);
+            validateNotHeldByOthers(appointment);
+            doctorDailyCapacity.reserve(appointment.getDoctor().getId(), appointment.getAppointmentDate());
+            
+            // Set default values
+            appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+            appointment.setCreatedAt(LocalDateTime.now());
+            appointment.setUpdatedAt(LocalDateTime.now());
+            
+            Appointment booked = appointmentRepository.save(appointment);
+            doctorSlotReservations.reserve(booked);
+            appointmentConflictIndex.put(booked);
+            return booked;
+        });
         
         // Audit the appointment creation
         auditService.logAction("APPOINTMENT_CREATED", appointment.getPatient().getId(), 
                               "APPOINTMENT", savedAppointment.getId(), 
                               "Appointment created with doctor: " + appointment.getDoctor().getEmail());
         
+        slotHoldService.releaseAfterCommit(appointment.getDoctor().getId(), holdToken, appointment.getPatient().getId(),
+                appointment.getAppointmentDate(), appointment.getAppointmentDate().plusMinutes(appointment.getDurationMinutes()));
+        appointmentReminderScheduler.scheduleAfterCommit(savedAppointment);
+        
         log.info("Appointment created successfully with ID: {}", savedAppointment.getId());
         return savedAppointment;
     }
     
+    /**
+     * Create a series of appointments from a template, one per occurrence date.
+     * The whole series is validated up front and inserted in one batch; if any
+     * occurrence is unavailable or conflicting, nothing is booked.
+     */
+    public List<Appointment> createAppointmentSeries(Appointment template, List<LocalDateTime> occurrenceDates, Long userId) {
+        log.info("Creating series of {} appointments for patient: {} with doctor: {} by user: {}", 
+                occurrenceDates.size(), template.getPatient().getId(), template.getDoctor().getId(), userId);
+        
+        if (occurrenceDates.isEmpty()) {
+            throw new IllegalArgumentException("At least one occurrence is required");
+        }
+        
+        List<Appointment> series = occurrenceDates.stream()
+                .sorted()
+                .map(date -> copyForOccurrence(template, date))
+                .collect(Collectors.toList());
+        series.forEach(this::validateAppointmentData);
+        
+        // Check the doctor and the availability of every occurrence in one pass
+        User doctor = loadBookableDoctor(template.getDoctor().getId());
+        List<LocalDateTime> unavailableTimes = doctorAvailabilityService.findUnavailableTimes(doctor, 
+                series.stream().map(Appointment::getAppointmentDate).collect(Collectors.toList()), 
+                template.getDurationMinutes());
+        if (!unavailableTimes.isEmpty()) {
+            throw new IllegalArgumentException("Doctor is not available at: " + unavailableTimes);
+        }
+        
+        List<Appointment> savedSeries = doctorBookingLocks.withLock(doctor.getId(), () -> {
+            LocalDateTime previousEnd = null;
+            for (Appointment occurrence : series) {
+                // Occurrences are sorted, so only adjacent ones can overlap each other
+                if (previousEnd != null && occurrence.getAppointmentDate().isBefore(previousEnd)) {
+                    throw new AppointmentConflictException("Appointment series occurrences overlap each other",
+                            doctor.getId(), occurrence.getAppointmentDate(), previousEnd);
+                }
+                validateNoConflicts(occurrence);
+                validateNotHeldByOthers(occurrence);
+                previousEnd = occurrence.getAppointmentDate().plusMinutes(occurrence.getDurationMinutes());
+            }
+            doctorDailyCapacity.reserveAll(doctor.getId(),
+                    series.stream().map(Appointment::getAppointmentDate).collect(Collectors.toList()));
+            
+            appointmentRepository.batchInsert(series);
+            doctorSlotReservations.reserveAll(series);
+            series.forEach(appointmentConflictIndex::put);
+            return series;
+        });
+        
+        // Audit the whole series with a single record
+        auditService.logAction("APPOINTMENT_SERIES_CREATED", userId, 
+                              "APPOINTMENT", savedSeries.get(0).getId(), 
+                              "Appointment series of " + savedSeries.size() + " created with doctor: " + doctor.getEmail() +
+                              " from " + savedSeries.get(0).getAppointmentDate() + 
+                              " to " + savedSeries.get(savedSeries.size() - 1).getAppointmentDate());
+        savedSeries.forEach(appointmentReminderScheduler::scheduleAfterCommit);
+        
+        log.info("Appointment series created successfully, first ID: {}", savedSeries.get(0).getId());
+        return savedSeries;
+    }
+    
     /**
      * Update appointment
      */
@@ -73,27 +186,57 @@ public class AppointmentService {
         
         // Validate appointment data if date/time is being changed
         if (!existingAppointment.getAppointmentDate().equals(updatedAppointment.getAppointmentDate()) ||
+            !existingAppointment.getDurationMinutes().equals(updatedAppointment.getDurationMinutes()) ||
             !existingAppointment.getDoctor().getId().equals(updatedAppointment.getDoctor().getId())) {
             validateAppointmentData(updatedAppointment);
             validateDoctorAvailability(updatedAppointment);
-            validateNoConflicts(updatedAppointment, appointmentId);
         }
         
-        // Update allowed fields
-        existingAppointment.setAppointmentDate(updatedAppointment.getAppointmentDate());
-        existingAppointment.setDurationMinutes(updatedAppointment.getDurationMinutes());
-        existingAppointment.setType(updatedAppointment.getType());
-        existingAppointment.setReason(updatedAppointment.getReason());
-        existingAppointment.setNotes(updatedAppointment.getNotes());
-        existingAppointment.setIsUrgent(updatedAppointment.getIsUrgent());
-        existingAppointment.setUpdatedAt(LocalDateTime.now());
-        
-        Appointment savedAppointment = appointmentRepository.save(existingAppointment);
+        Appointment savedAppointment = doctorBookingLocks.withLock(existingAppointment.getDoctor().getId(), () -> {
+            if (!existingAppointment.getAppointmentDate().equals(updatedAppointment.getAppointmentDate()) ||
+                !existingAppointment.getDurationMinutes().equals(updatedAppointment.getDurationMinutes())) {
+                validateNoConflicts(existingAppointment.getDoctor().getId(), updatedAppointment.getAppointmentDate(),
+                        updatedAppointment.getDurationMinutes(), appointmentId);
+                slotHoldService.validateNotHeldByOthers(existingAppointment.getDoctor().getId(),
+                        updatedAppointment.getAppointmentDate(),
+                        updatedAppointment.getAppointmentDate().plusMinutes(updatedAppointment.getDurationMinutes()),
+                        existingAppointment.getPatient().getId());
+            }
+            
+            // Moving to another day takes capacity on the new day before giving back the old one
+            if (existingAppointment.getStatus() != Appointment.AppointmentStatus.CANCELLED) {
+                doctorDailyCapacity.move(existingAppointment.getDoctor().getId(),
+                        existingAppointment.getAppointmentDate(), updatedAppointment.getAppointmentDate());
+            }
+            
+            // Update allowed fields
+            LocalDateTime previousStart = existingAppointment.getAppointmentDate();
+            Integer previousDuration = existingAppointment.getDurationMinutes();
+            existingAppointment.setAppointmentDate(updatedAppointment.getAppointmentDate());
+            existingAppointment.setDurationMinutes(updatedAppointment.getDurationMinutes());
+            existingAppointment.setType(updatedAppointment.getType());
+            existingAppointment.setReason(updatedAppointment.getReason());
+            existingAppointment.setNotes(updatedAppointment.getNotes());
+            existingAppointment.setIsUrgent(updatedAppointment.getIsUrgent());
+            existingAppointment.setUpdatedAt(LocalDateTime.now());
+            
+            Appointment updated = appointmentRepository.save(existingAppointment);
+            if (isBooked(updated)) {
+                if (!updated.getAppointmentDate().equals(previousStart) || !updated.getDurationMinutes().equals(previousDuration)) {
+                    doctorSlotReservations.move(updated);
+                }
+                appointmentConflictIndex.put(updated);
+            }
+            return updated;
+        });
         
         // Audit the appointment update
         auditService.logAction("APPOINTMENT_UPDATED", userId, "APPOINTMENT", appointmentId, 
                               "Appointment updated by user: " + userId);
         
+        // Moves the reminders when the appointment was rescheduled; an unchanged start keeps them
+        appointmentReminderScheduler.scheduleAfterCommit(savedAppointment);
+        
         log.info("Appointment updated successfully ID: {}", appointmentId);
         return savedAppointment;
     }
@@ -107,27 +250,19 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
         
-        // Check if appointment can be cancelled
-        if (appointment.getStatus() != Appointment.AppointmentStatus.SCHEDULED && 
-            appointment.getStatus() != Appointment.AppointmentStatus.CONFIRMED) {
-            throw new IllegalArgumentException("Appointment cannot be cancelled in current status: " + appointment.getStatus());
-        }
-        
         // Check if user has permission to cancel this appointment
         validateAppointmentAccess(appointment, userId);
         
-        // Update appointment status
-        appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
         appointment.setCancellationReason(reason);
         appointment.setCancelledBy(userId);
         appointment.setCancelledAt(LocalDateTime.now());
-        appointment.setUpdatedAt(LocalDateTime.now());
         
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = appointmentStateMachine.transition(
+                appointment, Appointment.AppointmentStatus.CANCELLED, userId, "Reason: " + reason);
+        appointmentReminderScheduler.cancelAfterCommit(appointmentId);
         
-        // Audit the appointment cancellation
-        auditService.logAction("APPOINTMENT_CANCELLED", userId, "APPOINTMENT", appointmentId, 
-                              "Appointment cancelled. Reason: " + reason);
+        // Hand the freed slot to the next patient on the doctor's waitlist once the cancellation is final
+        fillFromWaitlistAfterCommit(savedAppointment, userId);
         
         log.info("Appointment cancelled successfully ID: {}", appointmentId);
         return savedAppointment;
@@ -139,28 +274,21 @@ public class AppointmentService {
     public Appointment confirmAppointment(Long appointmentId, Long userId) {
         log.info("Confirming appointment ID: {} by user: {}", appointmentId, userId);
         
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
-        
-        // Check if appointment can be confirmed
-        if (appointment.getStatus() != Appointment.AppointmentStatus.SCHEDULED) {
-            throw new IllegalArgumentException("Appointment cannot be confirmed in current status: " + appointment.getStatus());
-        }
-        
-        // Check if user has permission to confirm this appointment
-        validateAppointmentAccess(appointment, userId);
+        Appointment savedAppointment = transitionAppointment(appointmentId, Appointment.AppointmentStatus.CONFIRMED, userId);
         
-        // Update appointment status
-        appointment.setStatus(Appointment.AppointmentStatus.CONFIRMED);
-        appointment.setUpdatedAt(LocalDateTime.now());
-        
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        log.info("Appointment confirmed successfully ID: {}", appointmentId);
+        return savedAppointment;
+    }
+    
+    /**
+     * Start appointment when the patient is seen
+     */
+    public Appointment startAppointment(Long appointmentId, Long userId) {
+        log.info("Starting appointment ID: {} by user: {}", appointmentId, userId);
         
-        // Audit the appointment confirmation
-        auditService.logAction("APPOINTMENT_CONFIRMED", userId, "APPOINTMENT", appointmentId, 
-                              "Appointment confirmed by user: " + userId);
+        Appointment savedAppointment = transitionAppointment(appointmentId, Appointment.AppointmentStatus.IN_PROGRESS, userId);
         
-        log.info("Appointment confirmed successfully ID: {}", appointmentId);
+        log.info("Appointment started successfully ID: {}", appointmentId);
         return savedAppointment;
     }
     
@@ -170,26 +298,7 @@ public class AppointmentService {
     public Appointment completeAppointment(Long appointmentId, Long userId) {
         log.info("Completing appointment ID: {} by user: {}", appointmentId, userId);
         
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
-        
-        // Check if appointment can be completed
-        if (appointment.getStatus() != Appointment.AppointmentStatus.IN_PROGRESS) {
-            throw new IllegalArgumentException("Appointment cannot be completed in current status: " + appointment.getStatus());
-        }
-        
-        // Check if user has permission to complete this appointment
-        validateAppointmentAccess(appointment, userId);
-        
-        // Update appointment status
-        appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
-        appointment.setUpdatedAt(LocalDateTime.now());
-        
-        Appointment savedAppointment = appointmentRepository.save(appointment);
-        
-        // Audit the appointment completion
-        auditService.logAction("APPOINTMENT_COMPLETED", userId, "APPOINTMENT", appointmentId, 
-                              "Appointment completed by user: " + userId);
+        Appointment savedAppointment = transitionAppointment(appointmentId, Appointment.AppointmentStatus.COMPLETED, userId);
         
         log.info("Appointment completed successfully ID: {}", appointmentId);
         return savedAppointment;
@@ -201,26 +310,7 @@ public class AppointmentService {
     public Appointment markNoShow(Long appointmentId, Long userId) {
         log.info("Marking appointment ID: {} as no-show by user: {}", appointmentId, userId);
         
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
-        
-        // Check if appointment can be marked as no-show
-        if (appointment.getStatus() != Appointment.AppointmentStatus.CONFIRMED) {
-            throw new IllegalArgumentException("Appointment cannot be marked as no-show in current status: " + appointment.getStatus());
-        }
-        
-        // Check if user has permission to mark this appointment as no-show
-        validateAppointmentAccess(appointment, userId);
-        
-        // Update appointment status
-        appointment.setStatus(Appointment.AppointmentStatus.NO_SHOW);
-        appointment.setUpdatedAt(LocalDateTime.now());
-        
-        Appointment savedAppointment = appointmentRepository.save(appointment);
-        
-        // Audit the no-show marking
-        auditService.logAction("APPOINTMENT_NO_SHOW", userId, "APPOINTMENT", appointmentId, 
-                              "Appointment marked as no-show by user: " + userId);
+        Appointment savedAppointment = transitionAppointment(appointmentId, Appointment.AppointmentStatus.NO_SHOW, userId);
         
         log.info("Appointment marked as no-show successfully ID: {}", appointmentId);
         return savedAppointment;
@@ -250,6 +340,24 @@ public class AppointmentService {
         return appointmentRepository.findByPatient(patient);
     }
     
+    /**
+     * Get appointments of a doctor on a specific day
+     */
+    @Transactional(readOnly = true)
+    public List<Appointment> getAppointmentsByDoctorAndDate(User doctor, LocalDate date) {
+        return appointmentRepository.findDoctorAppointmentsInDateRange(doctor, 
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
+    /**
+     * Get appointments of a patient on a specific day
+     */
+    @Transactional(readOnly = true)
+    public List<Appointment> getAppointmentsByPatientAndDate(User patient, LocalDate date) {
+        return appointmentRepository.findPatientAppointmentsInDateRange(patient, 
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
     /**
      * Get upcoming appointments for doctor
      */
@@ -280,6 +388,22 @@ public class AppointmentService {
         }
     }
     
+    /**
+     * Get all appointments in a date range
+     */
+    @Transactional(readOnly = true)
+    public List<Appointment> getAppointmentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return appointmentRepository.findAppointmentsInDateRange(startDate, endDate);
+    }
+    
+    /**
+     * Get a page of appointments
+     */
+    @Transactional(readOnly = true)
+    public Page<Appointment> getPaginatedAppointments(Pageable pageable) {
+        return appointmentRepository.findAllWithParticipants(pageable);
+    }
+    
     /**
      * Get appointments by status
      */
@@ -327,6 +451,27 @@ public class AppointmentService {
         return appointmentRepository.findAppointmentsByStatusAndDateRange(status, startDate, endDate, pageable);
     }
     
+    /**
+     * Get appointments by status and date range using keyset pagination on (appointmentDate, id)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Appointment> getAppointmentsByStatusAndDateRange(Appointment.AppointmentStatus status,
+                                                                      LocalDateTime startDate,
+                                                                      LocalDateTime endDate,
+                                                                      String cursor,
+                                                                      Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.clampLimit(limit);
+        
+        List<Appointment> rows = appointmentRepository.findAppointmentsByStatusAndDateRangeAfter(
+            status, startDate, endDate,
+            after != null ? after.getPosition() : null,
+            after != null ? after.getId() : null,
+            PageRequest.of(0, pageSize + 1));
+        
+        return CursorPage.of(rows, pageSize, a -> new PageCursor(a.getAppointmentDate(), a.getId()));
+    }
+    
     /**
      * Get follow-up appointments
      */
@@ -336,30 +481,89 @@ public class AppointmentService {
     }
     
     /**
-     * Get appointment statistics
+     * Get appointment statistics, computed with a single GROUP BY query and cached per
+     * (startDate, endDate) bucket truncated to the minute. The bounds are truncated before
+     * querying too, so every caller in the bucket gets the same result.
      */
     @Transactional(readOnly = true)
+    @Cacheable(value = STATISTICS_CACHE, key = "{'all', #startDate?.truncatedTo(T(java.time.temporal.ChronoUnit).MINUTES), #endDate?.truncatedTo(T(java.time.temporal.ChronoUnit).MINUTES)}")
     public AppointmentStatistics getAppointmentStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        long totalAppointments = appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.SCHEDULED, startDate, endDate) +
-                                appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.CONFIRMED, startDate, endDate) +
-                                appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.COMPLETED, startDate, endDate) +
-                                appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.CANCELLED, startDate, endDate) +
-                                appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.NO_SHOW, startDate, endDate);
+        startDate = truncateToMinute(startDate);
+        endDate = truncateToMinute(endDate);
         
-        long scheduledAppointments = appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.SCHEDULED, startDate, endDate);
-        long confirmedAppointments = appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.CONFIRMED, startDate, endDate);
-        long completedAppointments = appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.COMPLETED, startDate, endDate);
-        long cancelledAppointments = appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.CANCELLED, startDate, endDate);
-        long noShowAppointments = appointmentRepository.countAppointmentsByStatus(Appointment.AppointmentStatus.NO_SHOW, startDate, endDate);
+        Map<Appointment.AppointmentStatus, Long> counts = new EnumMap<>(Appointment.AppointmentStatus.class);
+        for (AppointmentRepository.StatusCount statusCount : appointmentRepository.countAppointmentsGroupedByStatus(startDate, endDate)) {
+            counts.put(statusCount.getStatus(), statusCount.getCount());
+        }
+        
+        long totalAppointments = counts.values().stream().mapToLong(Long::longValue).sum();
+        long completedAppointments = counts.getOrDefault(Appointment.AppointmentStatus.COMPLETED, 0L);
+        long cancelledAppointments = counts.getOrDefault(Appointment.AppointmentStatus.CANCELLED, 0L);
+        long noShowAppointments = counts.getOrDefault(Appointment.AppointmentStatus.NO_SHOW, 0L);
+        
+        AppointmentStatistics statistics = new AppointmentStatistics();
+        statistics.setTotalAppointments(totalAppointments);
+        statistics.setScheduledAppointments(counts.getOrDefault(Appointment.AppointmentStatus.SCHEDULED, 0L));
+        statistics.setConfirmedAppointments(counts.getOrDefault(Appointment.AppointmentStatus.CONFIRMED, 0L));
+        statistics.setInProgressAppointments(counts.getOrDefault(Appointment.AppointmentStatus.IN_PROGRESS, 0L));
+        statistics.setCompletedAppointments(completedAppointments);
+        statistics.setCancelledAppointments(cancelledAppointments);
+        statistics.setNoShowAppointments(noShowAppointments);
+        statistics.setCompletionRate(rate(completedAppointments, totalAppointments));
+        statistics.setCancellationRate(rate(cancelledAppointments, totalAppointments));
+        statistics.setNoShowRate(rate(noShowAppointments, totalAppointments));
+        statistics.setStartDate(startDate);
+        statistics.setEndDate(endDate);
+        return statistics;
+    }
+    
+    /**
+     * Get appointment statistics broken down by doctor, cached like {@link #getAppointmentStatistics}
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = STATISTICS_CACHE, key = "{'byDoctor', #startDate?.truncatedTo(T(java.time.temporal.ChronoUnit).MINUTES), #endDate?.truncatedTo(T(java.time.temporal.ChronoUnit).MINUTES)}")
+    public List<DoctorAppointmentStatistics> getAppointmentStatisticsByDoctor(LocalDateTime startDate, LocalDateTime endDate) {
+        startDate = truncateToMinute(startDate);
+        endDate = truncateToMinute(endDate);
+        
+        Map<Long, DoctorAppointmentStatistics> statisticsByDoctor = new LinkedHashMap<>();
+        
+        for (AppointmentRepository.DoctorStatusCount row : 
+                appointmentRepository.countAppointmentsGroupedByDoctorAndStatus(startDate, endDate)) {
+            DoctorAppointmentStatistics statistics = statisticsByDoctor.computeIfAbsent(row.getDoctorId(), 
+                    id -> new DoctorAppointmentStatistics(id, row.getFirstName() + " " + row.getLastName()));
+            
+            long count = row.getCount();
+            statistics.setTotalAppointments(statistics.getTotalAppointments() + count);
+            switch (row.getStatus()) {
+                case SCHEDULED -> statistics.setScheduledAppointments(count);
+                case CONFIRMED -> statistics.setConfirmedAppointments(count);
+                case IN_PROGRESS -> statistics.setInProgressAppointments(count);
+                case COMPLETED -> statistics.setCompletedAppointments(count);
+                case CANCELLED -> statistics.setCancelledAppointments(count);
+                case NO_SHOW -> statistics.setNoShowAppointments(count);
+            }
+        }
         
-        return AppointmentStatistics.builder()
-                .totalAppointments(totalAppointments)
-                .scheduledAppointments(scheduledAppointments)
-                .confirmedAppointments(confirmedAppointments)
-                .completedAppointments(completedAppointments)
-                .cancelledAppointments(cancelledAppointments)
-                .noShowAppointments(noShowAppointments)
-                .build();
+        return new ArrayList<>(statisticsByDoctor.values());
+    }
+    
+    /**
+     * Expire cached statistics so the dashboard sees fresh numbers within the configured TTL
+     */
+    @Scheduled(fixedDelayString = "${app.appointments.statistics-cache-ttl-ms:30000}")
+    @CacheEvict(value = STATISTICS_CACHE, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictAppointmentStatistics() {
+        log.debug("Evicted cached appointment statistics");
+    }
+    
+    private static double rate(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+    
+    private static LocalDateTime truncateToMinute(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MINUTES) : null;
     }
     
     /**
@@ -387,10 +591,24 @@ public class AppointmentService {
     }
     
     /**
-     * Validate doctor availability
+     * Validate that the whole appointment fits the doctor's working hours, breaks and absences
      */
     private void validateDoctorAvailability(Appointment appointment) {
-        User doctor = userRepository.findById(appointment.getDoctor().getId())
+        User doctor = loadBookableDoctor(appointment.getDoctor().getId());
+        
+        DoctorAvailabilityEvaluator.Verdict verdict = doctorAvailabilityService.evaluateAvailability(
+                doctor, appointment.getAppointmentDate(), appointment.getDurationMinutes());
+        
+        if (verdict != DoctorAvailabilityEvaluator.Verdict.AVAILABLE) {
+            throw new IllegalArgumentException(verdict.getMessage());
+        }
+    }
+    
+    /**
+     * Load a doctor and check that they accept bookings
+     */
+    private User loadBookableDoctor(Long doctorId) {
+        User doctor = userRepository.findById(doctorId)
                 .orElseThrow(() -> new IllegalArgumentException("Doctor not found"));
         
         if (doctor.getRole() != User.UserRole.DOCTOR) {
@@ -405,16 +623,28 @@ public class AppointmentService {
             throw new IllegalArgumentException("Doctor is not available");
         }
         
-        // Check if doctor is available at the appointment time
-        LocalDateTime appointmentDate = appointment.getAppointmentDate();
-        LocalTime appointmentTime = appointmentDate.toLocalTime();
-        
-        boolean isAvailable = doctorAvailabilityService.isDoctorAvailableAtTime(
-                doctor, appointmentDate.getDayOfWeek(), appointmentTime);
-        
-        if (!isAvailable) {
-            throw new IllegalArgumentException("Doctor is not available at the specified time");
-        }
+        return doctor;
+    }
+    
+    /**
+     * Copy a series template into a new SCHEDULED appointment at the given date
+     */
+    private Appointment copyForOccurrence(Appointment template, LocalDateTime appointmentDate) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        Appointment occurrence = new Appointment();
+        occurrence.setDoctor(template.getDoctor());
+        occurrence.setPatient(template.getPatient());
+        occurrence.setAppointmentDate(appointmentDate);
+        occurrence.setDurationMinutes(template.getDurationMinutes());
+        occurrence.setType(template.getType());
+        occurrence.setReason(template.getReason());
+        occurrence.setNotes(template.getNotes());
+        occurrence.setIsUrgent(template.getIsUrgent());
+        occurrence.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+        occurrence.setCreatedAt(now);
+        occurrence.setUpdatedAt(now);
+        return occurrence;
     }
     
     /**
@@ -424,27 +654,160 @@ public class AppointmentService {
         validateNoConflicts(appointment, null);
     }
     
+    /**
+     * Validate that no other patient holds the appointment's slot
+     */
+    private void validateNotHeldByOthers(Appointment appointment) {
+        slotHoldService.validateNotHeldByOthers(appointment.getDoctor().getId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentDate().plusMinutes(appointment.getDurationMinutes()),
+                appointment.getPatient().getId());
+    }
+    
     /**
      * Validate no scheduling conflicts (excluding specific appointment)
      */
     private void validateNoConflicts(Appointment appointment, Long excludeAppointmentId) {
-        LocalDateTime startTime = appointment.getAppointmentDate();
-        LocalDateTime endTime = startTime.plusMinutes(appointment.getDurationMinutes());
+        validateNoConflicts(appointment.getDoctor().getId(), appointment.getAppointmentDate(),
+                appointment.getDurationMinutes(), excludeAppointmentId);
+    }
+    
+    /**
+     * Validate that the doctor has no booking overlapping the given time slot
+     */
+    private void validateNoConflicts(Long doctorId, LocalDateTime startTime, Integer durationMinutes, Long excludeAppointmentId) {
+        LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
         
-        long conflictingCount;
-        if (excludeAppointmentId != null) {
-            conflictingCount = appointmentRepository.countConflictingAppointments(
-                    appointment.getDoctor(), startTime, endTime);
-        } else {
-            conflictingCount = appointmentRepository.countConflictingAppointments(
-                    appointment.getDoctor(), startTime, endTime);
+        if (appointmentConflictIndex.hasConflict(doctorId, startTime, endTime, excludeAppointmentId)) {
+            throw new AppointmentConflictException("Appointment conflicts with existing appointment",
+                    doctorId, startTime, endTime);
+        }
+    }
+    
+    /**
+     * Book the freed slot from the waitlist after the cancellation commits, so a failure while
+     * booking a waiting patient can never undo the cancellation itself
+     */
+    private void fillFromWaitlistAfterCommit(Appointment freed, Long actorUserId) {
+        LocalDateTime slotStart = freed.getAppointmentDate();
+        if (!slotStart.isAfter(LocalDateTime.now())) {
+            return;
         }
         
-        if (conflictingCount > 0) {
-            throw new IllegalArgumentException("Appointment conflicts with existing appointment");
+        FreedSlot slot = new FreedSlot(freed.getId(), freed.getDoctor().getId(), freed.getPatient().getId(),
+                slotStart, freed.getDurationMinutes());
+        TransactionCompensation.afterCommit(() -> fillFromWaitlist(slot, actorUserId));
+    }
+    
+    /**
+     * Book a freed slot for the highest priority waiting patient whose window and duration fit it.
+     * Each candidate is tried in its own transaction, so a failing candidate only rolls back itself.
+     */
+    private void fillFromWaitlist(FreedSlot slot, Long actorUserId) {
+        try {
+            List<WaitlistIndex.Waiter> candidates = waitlistService.findCandidates(
+                    slot.doctorId(), slot.start(), slot.durationMinutes(), slot.patientId());
+            
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            for (WaitlistIndex.Waiter candidate : candidates) {
+                try {
+                    Appointment booked = transactionTemplate.execute(status -> bookFromWaitlist(slot, candidate, actorUserId));
+                    if (booked != null) {
+                        log.info("Freed slot of appointment ID: {} booked from waitlist entry ID: {}", slot.appointmentId(), candidate.id());
+                        return;
+                    }
+                } catch (AppointmentConflictException e) {
+                    log.debug("Waitlist entry ID: {} does not fit freed slot: {}", candidate.id(), e.getMessage());
+                } catch (Exception e) {
+                    log.warn("Failed to book waitlist entry ID: {} into freed slot of appointment ID: {}: {}",
+                            candidate.id(), slot.appointmentId(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to fill freed slot of appointment ID: {} from waitlist: {}", slot.appointmentId(), e.getMessage(), e);
         }
     }
     
+    /**
+     * Book the freed slot for one waiting patient and tell them; null when the entry is no longer waiting
+     * or the doctor no longer takes bookings of its duration at that time
+     */
+    private Appointment bookFromWaitlist(FreedSlot slot, WaitlistIndex.Waiter candidate, Long actorUserId) {
+        Optional<WaitlistEntry> waiting = waitlistService.findWaitingEntry(candidate.id());
+        if (waiting.isEmpty()) {
+            return null;
+        }
+        WaitlistEntry entry = waiting.get();
+        
+        Long doctorId = slot.doctorId();
+        LocalDateTime slotStart = slot.start();
+        User doctor = userRepository.getReferenceById(doctorId);
+        Appointment booked = doctorBookingLocks.withLock(doctorId, () -> {
+            // An absence or a schedule change since the cancellation may have taken the slot away
+            DoctorAvailabilityEvaluator.Verdict verdict = doctorAvailabilityService.evaluateAvailability(
+                    doctor, slotStart, candidate.durationMinutes());
+            if (verdict != DoctorAvailabilityEvaluator.Verdict.AVAILABLE) {
+                log.debug("Waitlist entry ID: {} does not fit freed slot: {}", candidate.id(), verdict.getMessage());
+                return null;
+            }
+            
+            validateNoConflicts(doctorId, slotStart, candidate.durationMinutes(), null);
+            slotHoldService.validateNotHeldByOthers(doctorId, slotStart,
+                    slotStart.plusMinutes(candidate.durationMinutes()), candidate.patientId());
+            doctorDailyCapacity.reserve(doctorId, slotStart);
+            
+            LocalDateTime now = LocalDateTime.now();
+            Appointment appointment = Appointment.builder()
+                    .doctor(doctor)
+                    .patient(userRepository.getReferenceById(candidate.patientId()))
+                    .appointmentDate(slotStart)
+                    .durationMinutes(candidate.durationMinutes())
+                    .status(Appointment.AppointmentStatus.SCHEDULED)
+                    .type(entry.getType())
+                    .reason(entry.getReason())
+                    .isUrgent(candidate.urgent())
+                    .isFollowUp(false)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            
+            Appointment saved = appointmentRepository.save(appointment);
+            doctorSlotReservations.reserve(saved);
+            appointmentConflictIndex.put(saved);
+            return saved;
+        });
+        if (booked == null) {
+            return null;
+        }
+        
+        waitlistService.markBooked(candidate.id(), booked.getId());
+        auditService.logAction("APPOINTMENT_BOOKED_FROM_WAITLIST", actorUserId, "APPOINTMENT", booked.getId(),
+                              "Freed slot of appointment " + slot.appointmentId() + " booked for waitlist entry " + candidate.id());
+        notificationService.createWaitlistBooking(booked.getPatient(), "Appointment #" + booked.getId(), slotStart);
+        appointmentReminderScheduler.scheduleAfterCommit(booked);
+        return booked;
+    }
+    
+    /**
+     * Load an appointment, check access and move it to the target status
+     */
+    private Appointment transitionAppointment(Long appointmentId, Appointment.AppointmentStatus target, Long userId) {
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
+        
+        // Check if user has permission to change this appointment
+        validateAppointmentAccess(appointment, userId);
+        
+        return appointmentStateMachine.transition(appointment, target, userId, null);
+    }
+    
+    /**
+     * Check whether the appointment still occupies its doctor's time slot
+     */
+    private boolean isBooked(Appointment appointment) {
+        return AppointmentStateMachine.occupiesSlot(appointment.getStatus());
+    }
+    
     /**
      * Validate appointment access permissions
      */
@@ -471,33 +834,7 @@ public class AppointmentService {
     }
     
     /**
-     * Appointment statistics DTO
+     * Slot given up by a cancelled appointment, captured before its transaction ends
      */
-    public static class AppointmentStatistics {
-        private final long totalAppointments;
-        private final long scheduledAppointments;
-        private final long confirmedAppointments;
-        private final long completedAppointments;
-        private final long cancelledAppointments;
-        private final long noShowAppointments;
-        
-        public AppointmentStatistics(long totalAppointments, long scheduledAppointments, 
-                                   long confirmedAppointments, long completedAppointments,
-                                   long cancelledAppointments, long noShowAppointments) {
-            this.totalAppointments = totalAppointments;
-            this.scheduledAppointments = scheduledAppointments;
-            this.confirmedAppointments = confirmedAppointments;
-            this.completedAppointments = completedAppointments;
-            this.cancelledAppointments = cancelledAppointments;
-            this.noShowAppointments = noShowAppointments;
-        }
-        
-        // Getters
-        public long getTotalAppointments() { return totalAppointments; }
-        public long getScheduledAppointments() { return scheduledAppointments; }
-        public long getConfirmedAppointments() { return confirmedAppointments; }
-        public long getCompletedAppointments() { return completedAppointments; }
-        public long getCancelledAppointments() { return cancelledAppointments; }
-        public long getNoShowAppointments() { return noShowAppointments; }
-    }
-} 
\ No newline at end of file
+    private record FreedSlot(Long appointmentId, Long doctorId, Long patientId, LocalDateTime start, int durationMinutes) {}
+}
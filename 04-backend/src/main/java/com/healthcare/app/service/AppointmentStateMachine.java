@@ -0,0 +1,109 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.Appointment.AppointmentStatus;
+import com.healthcare.app.entity.AppointmentEvent;
+import com.healthcare.app.repository.AppointmentEventRepository;
+import com.healthcare.app.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed appointment status transitions.
+ *
+ * A transition updates the appointment and appends an outbox event in the caller's
+ * transaction; audit, notification and statistics side effects are applied later by
+ * {@link AppointmentEventRelay}, off the request thread.
+ *
+ * SCHEDULED -> CONFIRMED | CANCELLED
+ * CONFIRMED -> IN_PROGRESS | CANCELLED | NO_SHOW
+ * IN_PROGRESS -> COMPLETED
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentStateMachine {
+
+    private static final Map<AppointmentStatus, Set<AppointmentStatus>> TRANSITIONS = new EnumMap<>(AppointmentStatus.class);
+
+    static {
+        TRANSITIONS.put(AppointmentStatus.SCHEDULED, EnumSet.of(AppointmentStatus.CONFIRMED, AppointmentStatus.CANCELLED));
+        TRANSITIONS.put(AppointmentStatus.CONFIRMED, EnumSet.of(AppointmentStatus.IN_PROGRESS, AppointmentStatus.CANCELLED,
+                AppointmentStatus.NO_SHOW));
+        TRANSITIONS.put(AppointmentStatus.IN_PROGRESS, EnumSet.of(AppointmentStatus.COMPLETED));
+        TRANSITIONS.put(AppointmentStatus.COMPLETED, EnumSet.noneOf(AppointmentStatus.class));
+        TRANSITIONS.put(AppointmentStatus.CANCELLED, EnumSet.noneOf(AppointmentStatus.class));
+        TRANSITIONS.put(AppointmentStatus.NO_SHOW, EnumSet.noneOf(AppointmentStatus.class));
+    }
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentEventRepository appointmentEventRepository;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final DoctorSlotReservations doctorSlotReservations;
+    private final AppointmentEventRelay appointmentEventRelay;
+    private final DoctorDailyCapacity doctorDailyCapacity;
+
+    /**
+     * Check whether an appointment in the given status still occupies its doctor's time slot
+     */
+    public static boolean occupiesSlot(AppointmentStatus status) {
+        return status == AppointmentStatus.SCHEDULED ||
+               status == AppointmentStatus.CONFIRMED ||
+               status == AppointmentStatus.IN_PROGRESS;
+    }
+
+    /**
+     * Check whether an appointment may move from one status to another
+     */
+    public static boolean canTransition(AppointmentStatus from, AppointmentStatus to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Move the appointment to the target status and record the change in the outbox
+     */
+    @Transactional
+    public Appointment transition(Appointment appointment, AppointmentStatus target, Long actorUserId, String details) {
+        AppointmentStatus current = appointment.getStatus();
+        if (!canTransition(current, target)) {
+            throw new IllegalArgumentException("Appointment cannot move from " + current + " to " + target);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        appointment.setStatus(target);
+        appointment.setUpdatedAt(now);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+
+        if (!occupiesSlot(target)) {
+            doctorSlotReservations.release(savedAppointment.getId());
+            appointmentConflictIndex.remove(savedAppointment);
+        }
+        if (target == AppointmentStatus.CANCELLED) {
+            doctorDailyCapacity.release(savedAppointment.getDoctor().getId(), savedAppointment.getAppointmentDate());
+        }
+
+        appointmentEventRepository.save(AppointmentEvent.builder()
+                .appointmentId(savedAppointment.getId())
+                .doctorId(savedAppointment.getDoctor().getId())
+                .patientId(savedAppointment.getPatient().getId())
+                .fromStatus(current)
+                .toStatus(target)
+                .actorUserId(actorUserId)
+                .details(details)
+                .occurredAt(now)
+                .attempts(0)
+                .build());
+        appointmentEventRelay.relayAfterCommit();
+
+        log.debug("Appointment ID: {} moved from {} to {}", savedAppointment.getId(), current, target);
+        return savedAppointment;
+    }
+}
@@ -1,10 +1,13 @@
 package com.healthcare.app.service;
 
+import com.healthcare.app.dto.CursorPage;
+import com.healthcare.app.dto.PageCursor;
 import com.healthcare.app.entity.AuditLog;
 import com.healthcare.app.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,6 +56,19 @@ public class AuditService {
         }
     }
     
+    /**
+     * Log many actions at once with a single batched insert
+     */
+    public void logActions(List<AuditLog> auditLogs) {
+        try {
+            auditLogRepository.batchInsert(auditLogs);
+            log.debug("Audit logs created: {}", auditLogs.size());
+        } catch (Exception e) {
+            log.error("Failed to create {} audit logs: {}", auditLogs.size(), e.getMessage(), e);
+            // Don't throw exception to avoid breaking main functionality
+        }
+    }
+    
     /**
      * Get audit logs by user ID
      */
@@ -101,6 +117,22 @@ public class AuditService {
         return auditLogRepository.findAll(pageable);
     }
     
+    /**
+     * Get audit logs, newest first, using keyset pagination on (createdAt, id)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> getAuditLogs(String cursor, Integer limit) {
+        PageCursor before = PageCursor.decode(cursor);
+        int pageSize = CursorPage.clampLimit(limit);
+        
+        List<AuditLog> rows = auditLogRepository.findLogsBefore(
+            before != null ? before.getPosition() : null,
+            before != null ? before.getId() : null,
+            PageRequest.of(0, pageSize + 1));
+        
+        return CursorPage.of(rows, pageSize, log -> new PageCursor(log.getCreatedAt(), log.getId()));
+    }
+    
     /**
      * Get paginated audit logs by user ID
      */
@@ -0,0 +1,79 @@
+package com.healthcare.app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static com.healthcare.app.service.DoctorWeeklyTemplates.minuteOfDay;
+
+/**
+ * Evaluates a doctor's availability against the cached weekly template instead of querying
+ * availability rows per check. Bookings are UTC and checked against the template's windows
+ * converted to UTC for the booking's date. Working windows include their start and exclude
+ * their end, breaks are carved out, and a booking must fit inside a single window and miss
+ * every date-range exception. The daily appointment limit is enforced by {@link DoctorDailyCapacity}
+ * when the booking is made.
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorAvailabilityEvaluator {
+
+    private final DoctorWeeklyTemplates doctorWeeklyTemplates;
+    private final DoctorExceptionOverlay doctorExceptionOverlay;
+
+    public enum Verdict {
+        AVAILABLE("Doctor is available"),
+        OUTSIDE_WORKING_HOURS("Doctor is not available at the specified time"),
+        DURING_BREAK("Appointment overlaps the doctor's break"),
+        ON_LEAVE("Doctor is unavailable during the requested period"),
+        EXCEEDS_WORKING_HOURS("Appointment extends past the doctor's working hours");
+
+        private final String message;
+
+        Verdict(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Check whether the time falls inside a working window of the doctor and outside its break.
+     * Unlike the other checks, day and time are local to the doctor's clinic time zone, not UTC,
+     * since a bare weekday and time name no date to convert with.
+     */
+    public boolean isWithinLocalWorkingHours(Long doctorId, DayOfWeek localDayOfWeek, LocalTime localTime) {
+        int minute = minuteOfDay(localTime);
+        DoctorWeeklyTemplates.Window window = doctorWeeklyTemplates.get(doctorId).windowAt(localDayOfWeek, minute);
+        return window != null && !window.overlapsBreak(minute, minute + 1);
+    }
+
+    /**
+     * Evaluate whether a booking starting at the UTC time fits the doctor's working hours
+     */
+    public Verdict evaluate(Long doctorId, LocalDateTime start, int durationMinutes) {
+        int startMinute = minuteOfDay(start.toLocalTime());
+        int endMinute = startMinute + durationMinutes;
+
+        DoctorWeeklyTemplates.Window window = doctorWeeklyTemplates.get(doctorId).windowAt(start);
+        if (window == null) {
+            return Verdict.OUTSIDE_WORKING_HOURS;
+        }
+        if (window.overlapsBreak(startMinute, endMinute)) {
+            return Verdict.DURING_BREAK;
+        }
+        if (endMinute > window.endMinute()) {
+            return Verdict.EXCEEDS_WORKING_HOURS;
+        }
+        if (doctorExceptionOverlay.overlaps(doctorId, start, start.plusMinutes(durationMinutes))) {
+            return Verdict.ON_LEAVE;
+        }
+
+        return Verdict.AVAILABLE;
+    }
+}
@@ -1,8 +1,11 @@
 package com.healthcare.app.service;
 
+import com.healthcare.app.entity.AvailabilityException;
 import com.healthcare.app.entity.DoctorAvailability;
 import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.AvailabilityExceptionRepository;
 import com.healthcare.app.repository.DoctorAvailabilityRepository;
+import com.healthcare.app.repository.DoctorFreeSlotRepository;
 import com.healthcare.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +16,14 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +32,20 @@ import java.util.Optional;
 public class DoctorAvailabilityService {
     
     private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AvailabilityExceptionRepository availabilityExceptionRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final DoctorSlotCalendar doctorSlotCalendar;
+    private final DoctorWeeklyTemplates doctorWeeklyTemplates;
+    private final DoctorExceptionOverlay doctorExceptionOverlay;
+    private final DoctorAvailabilityEvaluator doctorAvailabilityEvaluator;
+    private final DoctorDailyCapacity doctorDailyCapacity;
+    private final FreeSlotMaterializer freeSlotMaterializer;
+    private final DoctorOnDutyIndex doctorOnDutyIndex;
+    
+    private static final Comparator<DoctorAvailability> SLOT_ORDER = Comparator
+            .comparing(DoctorAvailability::getDayOfWeek)
+            .thenComparing(DoctorAvailability::getStartTime);
     
     /**
      * Set doctor availability for a specific day and time slot
@@ -57,6 +78,7 @@ public class DoctorAvailabilityService {
         availability.setUpdatedAt(LocalDateTime.now());
         
         DoctorAvailability savedAvailability = doctorAvailabilityRepository.save(availability);
+        refreshSlotCalendarAfterCommit(doctor.getId());
         
         // Audit the availability setting
         auditService.logAction("AVAILABILITY_SET", doctor.getId(), "AVAILABILITY", savedAvailability.getId(), 
@@ -92,9 +114,11 @@ public class DoctorAvailabilityService {
         existingAvailability.setIsAvailable(updatedAvailability.getIsAvailable());
         existingAvailability.setMaxAppointments(updatedAvailability.getMaxAppointments());
         existingAvailability.setNotes(updatedAvailability.getNotes());
+        existingAvailability.setTimeZone(updatedAvailability.getTimeZone());
         existingAvailability.setUpdatedAt(LocalDateTime.now());
         
         DoctorAvailability savedAvailability = doctorAvailabilityRepository.save(existingAvailability);
+        refreshSlotCalendarAfterCommit(existingAvailability.getDoctor().getId());
         
         // Audit the availability update
         auditService.logAction("AVAILABILITY_UPDATED", userId, "AVAILABILITY", availabilityId, 
@@ -117,6 +141,7 @@ public class DoctorAvailabilityService {
         validateAvailabilityAccess(availability, userId);
         
         doctorAvailabilityRepository.delete(availability);
+        refreshSlotCalendarAfterCommit(availability.getDoctor().getId());
         
         // Audit the availability deletion
         auditService.logAction("AVAILABILITY_DELETED", userId, "AVAILABILITY", availabilityId, 
@@ -125,6 +150,82 @@ public class DoctorAvailabilityService {
         log.info("Availability deleted successfully ID: {}", availabilityId);
     }
     
+    /**
+     * Replace the doctor's whole weekly template in one transaction.
+     * Slots are matched to existing rows by day and start time, so unchanged rows are left
+     * alone and only the difference is inserted, updated or deleted.
+     */
+    public List<DoctorAvailability> replaceWeeklySchedule(Long doctorId, List<DoctorAvailability> slots, Long userId) {
+        log.info("Replacing weekly schedule of doctor: {} with {} slots by user: {}", doctorId, slots.size(), userId);
+        
+        validateDoctorAccess(doctorId, userId);
+        
+        User doctor = userRepository.findById(doctorId)
+                .orElseThrow(() -> new IllegalArgumentException("Doctor not found"));
+        
+        if (doctor.getRole() != User.UserRole.DOCTOR) {
+            throw new IllegalArgumentException("User is not a doctor");
+        }
+        
+        if (!doctor.getIsActive()) {
+            throw new IllegalArgumentException("Doctor is not active");
+        }
+        
+        for (DoctorAvailability slot : slots) {
+            slot.setDoctor(doctor);
+            validateAvailabilityData(slot);
+        }
+        validateNoOverlappingSlots(slots);
+        
+        Map<SlotKey, DoctorAvailability> existingByKey = new HashMap<>();
+        for (DoctorAvailability existing : doctorAvailabilityRepository.findByDoctor(doctor)) {
+            existingByKey.putIfAbsent(new SlotKey(existing.getDayOfWeek(), existing.getStartTime()), existing);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<DoctorAvailability> schedule = new ArrayList<>(slots.size());
+        List<DoctorAvailability> toSave = new ArrayList<>();
+        int inserted = 0;
+        for (DoctorAvailability slot : slots) {
+            DoctorAvailability existing = existingByKey.remove(new SlotKey(slot.getDayOfWeek(), slot.getStartTime()));
+            if (existing == null) {
+                slot.setCreatedAt(now);
+                slot.setUpdatedAt(now);
+                toSave.add(slot);
+                schedule.add(slot);
+                inserted++;
+                continue;
+            }
+            
+            if (!sameTemplate(existing, slot)) {
+                copyTemplate(slot, existing);
+                existing.setUpdatedAt(now);
+                toSave.add(existing);
+            }
+            schedule.add(existing);
+        }
+        List<DoctorAvailability> toDelete = new ArrayList<>(existingByKey.values());
+        schedule.sort(SLOT_ORDER);
+        
+        if (toSave.isEmpty() && toDelete.isEmpty()) {
+            log.info("Weekly schedule of doctor: {} is unchanged", doctorId);
+            return schedule;
+        }
+        
+        doctorAvailabilityRepository.saveAll(toSave);
+        doctorAvailabilityRepository.deleteAllInBatch(toDelete);
+        refreshSlotCalendarAfterCommit(doctorId);
+        
+        int updated = toSave.size() - inserted;
+        auditService.logAction("AVAILABILITY_WEEK_SET", userId, "AVAILABILITY", doctorId,
+                              "Weekly schedule replaced: " + inserted + " added, " + updated + " updated, " +
+                              toDelete.size() + " removed");
+        
+        log.info("Weekly schedule of doctor: {} replaced ({} added, {} updated, {} removed)",
+                doctorId, inserted, updated, toDelete.size());
+        return schedule;
+    }
+    
     /**
      * Get doctor availability by ID
      */
@@ -150,39 +251,56 @@ public class DoctorAvailabilityService {
     }
     
     /**
-     * Get available doctors for a specific date and time
+     * Get the availability windows of doctors on duty at a specific UTC date and time, answered from memory
      */
     @Transactional(readOnly = true)
-    public List<User> getAvailableDoctors(LocalDateTime dateTime) {
-        DayOfWeek dayOfWeek = dateTime.getDayOfWeek();
-        LocalTime time = dateTime.toLocalTime();
-        
-        return doctorAvailabilityRepository.findAvailableDoctors(dayOfWeek, time);
+    public List<DoctorAvailability> getAvailableDoctors(LocalDateTime dateTime) {
+        return doctorOnDutyIndex.onDuty(dateTime).stream()
+                .filter(availability -> !doctorExceptionOverlay.overlaps(
+                        availability.getDoctor().getId(), dateTime, dateTime.plusMinutes(1)))
+                .collect(Collectors.toList());
     }
     
     /**
-     * Check if doctor is available at specific time
+     * Check if doctor is working at a clinic-local day and time, outside of breaks.
+     * Use {@link #evaluateAvailability} to check a UTC date and time.
      */
     @Transactional(readOnly = true)
-    public boolean isDoctorAvailableAtTime(User doctor, DayOfWeek dayOfWeek, LocalTime time) {
-        List<DoctorAvailability> availabilities = doctorAvailabilityRepository
-                .findByDoctorAndDayOfWeekAndIsAvailableTrue(doctor, dayOfWeek);
-        
-        for (DoctorAvailability availability : availabilities) {
-            if (time.isAfter(availability.getStartTime()) && time.isBefore(availability.getEndTime())) {
-                return true;
-            }
-        }
-        
-        return false;
+    public boolean isDoctorAvailableAtLocalTime(User doctor, DayOfWeek localDayOfWeek, LocalTime localTime) {
+        return doctorAvailabilityEvaluator.isWithinLocalWorkingHours(doctor.getId(), localDayOfWeek, localTime);
+    }
+    
+    /**
+     * Evaluate a booking of the given duration against working hours, breaks and absences
+     */
+    @Transactional(readOnly = true)
+    public DoctorAvailabilityEvaluator.Verdict evaluateAvailability(User doctor, LocalDateTime dateTime, int durationMinutes) {
+        return doctorAvailabilityEvaluator.evaluate(doctor.getId(), dateTime, durationMinutes);
     }
     
     /**
-     * Get doctor availability for a date range
+     * Find which of the given booking times the doctor cannot take, using the cached weekly template
      */
     @Transactional(readOnly = true)
-    public List<DoctorAvailability> getDoctorAvailabilityForDateRange(User doctor, LocalDate startDate, LocalDate endDate) {
-        return doctorAvailabilityRepository.findByDoctorAndDateRange(doctor, startDate, endDate);
+    public List<LocalDateTime> findUnavailableTimes(User doctor, List<LocalDateTime> dateTimes, int durationMinutes) {
+        return dateTimes.stream()
+                .filter(dateTime -> doctorAvailabilityEvaluator.evaluate(doctor.getId(), dateTime, durationMinutes)
+                        != DoctorAvailabilityEvaluator.Verdict.AVAILABLE)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get the doctor's bookable slots between two dates (inclusive) from the materialized slot table
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorFreeSlotRepository.FreeSlot> getFreeSlots(User doctor, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = startDate.atStartOfDay().isBefore(now) ? now : startDate.atStartOfDay();
+        return doctorAvailabilityRepository.findFreeSlots(doctor.getId(), from, endDate.plusDays(1).atStartOfDay());
     }
     
     /**
@@ -218,60 +336,125 @@ public class DoctorAvailabilityService {
     }
     
     /**
-     * Set doctor as unavailable for a specific time period
+     * Set doctor as unavailable for a specific time period, stored as a single date-range exception
      */
-    public void setDoctorUnavailable(User doctor, LocalDateTime startDateTime, LocalDateTime endDateTime, String reason) {
+    public AvailabilityException setDoctorUnavailable(User doctor, LocalDateTime startDateTime, LocalDateTime endDateTime, 
+                                                      String reason, Long userId) {
         log.info("Setting doctor {} as unavailable from {} to {}", doctor.getId(), startDateTime, endDateTime);
         
-        // Create temporary unavailability record
-        DoctorAvailability unavailability = new DoctorAvailability();
-        unavailability.setDoctor(doctor);
-        unavailability.setDayOfWeek(startDateTime.getDayOfWeek());
-        unavailability.setStartTime(startDateTime.toLocalTime());
-        unavailability.setEndTime(endDateTime.toLocalTime());
-        unavailability.setIsAvailable(false);
-        unavailability.setNotes("Temporary unavailability: " + reason);
-        unavailability.setCreatedAt(LocalDateTime.now());
-        unavailability.setUpdatedAt(LocalDateTime.now());
+        if (startDateTime == null || endDateTime == null) {
+            throw new IllegalArgumentException("Start and end date time are required");
+        }
+        if (!startDateTime.isBefore(endDateTime)) {
+            throw new IllegalArgumentException("Start date time must be before end date time");
+        }
+        validateDoctorAccess(doctor.getId(), userId);
+        
+        AvailabilityException exception = AvailabilityException.builder()
+                .doctor(doctor)
+                .startDateTime(startDateTime)
+                .endDateTime(endDateTime)
+                .reason(reason)
+                .createdBy(userId)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
         
-        doctorAvailabilityRepository.save(unavailability);
+        AvailabilityException savedException = availabilityExceptionRepository.save(exception);
+        refreshExceptionsAfterCommit(doctor.getId());
         
         // Audit the unavailability setting
-        auditService.logAction("DOCTOR_UNAVAILABLE", doctor.getId(), "AVAILABILITY", unavailability.getId(), 
+        auditService.logAction("DOCTOR_UNAVAILABLE", userId, "AVAILABILITY_EXCEPTION", savedException.getId(), 
                               "Doctor set as unavailable: " + reason);
         
-        log.info("Doctor set as unavailable successfully");
+        log.info("Doctor set as unavailable successfully with exception ID: {}", savedException.getId());
+        return savedException;
     }
     
     /**
-     * Get next available slot for a doctor
+     * Get a doctor's availability exceptions that end after the given time
      */
     @Transactional(readOnly = true)
-    public Optional<LocalDateTime> getNextAvailableSlot(User doctor, LocalDateTime fromDateTime) {
-        List<DoctorAvailability> availabilities = doctorAvailabilityRepository
-                .findByDoctorAndIsAvailableTrueOrderByDayOfWeekAsc(doctor);
+    public List<AvailabilityException> getAvailabilityExceptions(User doctor, LocalDateTime from) {
+        return availabilityExceptionRepository.findByDoctorIdEndingAfter(doctor.getId(), from);
+    }
+    
+    /**
+     * Delete an availability exception
+     */
+    public void deleteAvailabilityException(Long exceptionId, Long userId) {
+        log.info("Deleting availability exception ID: {} by user: {}", exceptionId, userId);
         
-        LocalDateTime currentDateTime = fromDateTime;
+        AvailabilityException exception = availabilityExceptionRepository.findById(exceptionId)
+                .orElseThrow(() -> new IllegalArgumentException("Availability exception not found with ID: " + exceptionId));
         
-        // Check next 30 days
-        for (int day = 0; day < 30; day++) {
-            LocalDate currentDate = currentDateTime.toLocalDate();
-            DayOfWeek currentDayOfWeek = currentDate.getDayOfWeek();
-            
-            for (DoctorAvailability availability : availabilities) {
-                if (availability.getDayOfWeek() == currentDayOfWeek) {
-                    LocalDateTime slotStart = LocalDateTime.of(currentDate, availability.getStartTime());
-                    
-                    if (slotStart.isAfter(currentDateTime)) {
-                        return Optional.of(slotStart);
-                    }
-                }
-            }
-            
-            currentDateTime = currentDateTime.plusDays(1);
-        }
+        Long doctorId = exception.getDoctor().getId();
+        validateDoctorAccess(doctorId, userId);
+        
+        availabilityExceptionRepository.delete(exception);
+        refreshExceptionsAfterCommit(doctorId);
         
-        return Optional.empty();
+        auditService.logAction("AVAILABILITY_EXCEPTION_DELETED", userId, "AVAILABILITY_EXCEPTION", exceptionId, 
+                              "Unavailability removed: " + exception.getStartDateTime() + " - " + exception.getEndDateTime());
+        
+        log.info("Availability exception deleted successfully ID: {}", exceptionId);
+    }
+    
+    /**
+     * Get next unbooked slot for a doctor within the next 30 days
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getNextAvailableSlot(User doctor, LocalDateTime fromDateTime) {
+        return getNextAvailableSlot(doctor, fromDateTime, null);
+    }
+    
+    /**
+     * Get next unbooked slot for a doctor that fits the given duration
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getNextAvailableSlot(User doctor, LocalDateTime fromDateTime, Integer durationMinutes) {
+        Long doctorId = doctor.getId();
+        LocalDate fromDate = fromDateTime.toLocalDate();
+        DoctorDailyCapacity.Snapshot capacity = doctorDailyCapacity.snapshot(List.of(doctorId), fromDate,
+                fromDate.plusDays(DoctorSlotCalendar.SEARCH_HORIZON_DAYS));
+        
+        return doctorSlotCalendar.nextFreeSlot(doctorId, fromDateTime, durationMinutes,
+                slot -> !capacity.isFull(doctorId, slot));
+    }
+    
+    /**
+     * Check if the doctor has unbooked slots covering the given time and duration on a day that is not full
+     */
+    @Transactional(readOnly = true)
+    public boolean isDoctorFreeAt(User doctor, LocalDateTime dateTime, int durationMinutes) {
+        Long doctorId = doctor.getId();
+        LocalDate date = dateTime.toLocalDate();
+        
+        return doctorSlotCalendar.isFree(doctorId, dateTime, durationMinutes)
+                && !doctorDailyCapacity.snapshot(List.of(doctorId), date, date).isFull(doctorId, dateTime);
+    }
+    
+    /**
+     * Reload the doctor's template, calendar and materialized slots once the availability change is committed
+     */
+    private void refreshSlotCalendarAfterCommit(Long doctorId) {
+        TransactionCompensation.afterCommit(() -> {
+            doctorWeeklyTemplates.invalidate(doctorId);
+            doctorOnDutyIndex.invalidate(doctorId);
+            doctorSlotCalendar.invalidate(doctorId);
+            freeSlotMaterializer.rebuildDoctor(doctorId);
+        });
+    }
+    
+    /**
+     * Reload the doctor's exception overlay, calendar and materialized slots once the exception change is committed
+     */
+    private void refreshExceptionsAfterCommit(Long doctorId) {
+        TransactionCompensation.afterCommit(() -> {
+            doctorExceptionOverlay.invalidate(doctorId);
+            doctorSlotCalendar.invalidate(doctorId);
+            freeSlotMaterializer.rebuildDoctor(doctorId);
+        });
     }
     
     /**
@@ -296,6 +479,8 @@ public class DoctorAvailabilityService {
         if (availability.getMaxAppointments() != null && availability.getMaxAppointments() <= 0) {
             throw new IllegalArgumentException("Max appointments must be positive");
         }
+        // Templates without a zone are UTC; invalid zone IDs are rejected here rather than when caches load
+        availability.setTimeZone(DoctorWeeklyTemplates.zoneOf(availability.getTimeZone()).getId());
     }
     
     /**
@@ -325,10 +510,66 @@ public class DoctorAvailabilityService {
         }
     }
     
+    /**
+     * Validate that a set of slots has no overlaps by sorting them and comparing neighbours
+     */
+    private void validateNoOverlappingSlots(List<DoctorAvailability> slots) {
+        List<DoctorAvailability> sorted = new ArrayList<>(slots);
+        sorted.sort(SLOT_ORDER);
+        
+        for (int i = 1; i < sorted.size(); i++) {
+            DoctorAvailability previous = sorted.get(i - 1);
+            DoctorAvailability current = sorted.get(i);
+            if (previous.getDayOfWeek() != current.getDayOfWeek()) {
+                continue;
+            }
+            
+            if (current.getStartTime().isBefore(previous.getEndTime()) ||
+                current.getStartTime().equals(previous.getStartTime())) {
+                throw new IllegalArgumentException("Availability on " + current.getDayOfWeek() + " at " +
+                        current.getStartTime() + " overlaps the slot starting at " + previous.getStartTime());
+            }
+        }
+    }
+    
+    private static boolean sameTemplate(DoctorAvailability a, DoctorAvailability b) {
+        return Objects.equals(a.getEndTime(), b.getEndTime())
+                && Objects.equals(a.getIsAvailable(), b.getIsAvailable())
+                && Objects.equals(a.getAppointmentDurationMinutes(), b.getAppointmentDurationMinutes())
+                && Objects.equals(a.getBreakStartTime(), b.getBreakStartTime())
+                && Objects.equals(a.getBreakEndTime(), b.getBreakEndTime())
+                && Objects.equals(a.getMaxAppointmentsPerDay(), b.getMaxAppointmentsPerDay())
+                && Objects.equals(a.getNotes(), b.getNotes())
+                && Objects.equals(a.getTimeZone(), b.getTimeZone());
+    }
+    
+    private static void copyTemplate(DoctorAvailability source, DoctorAvailability target) {
+        target.setEndTime(source.getEndTime());
+        target.setIsAvailable(source.getIsAvailable());
+        target.setAppointmentDurationMinutes(source.getAppointmentDurationMinutes());
+        target.setBreakStartTime(source.getBreakStartTime());
+        target.setBreakEndTime(source.getBreakEndTime());
+        target.setMaxAppointmentsPerDay(source.getMaxAppointmentsPerDay());
+        target.setNotes(source.getNotes());
+        target.setTimeZone(source.getTimeZone());
+    }
+    
+    /**
+     * Identity of a weekly slot when diffing a new schedule against the stored one
+     */
+    private record SlotKey(DayOfWeek dayOfWeek, LocalTime startTime) {}
+    
     /**
      * Validate availability access permissions
      */
     private void validateAvailabilityAccess(DoctorAvailability availability, Long userId) {
+        validateDoctorAccess(availability.getDoctor().getId(), userId);
+    }
+    
+    /**
+     * Validate that the user may manage the doctor's schedule
+     */
+    private void validateDoctorAccess(Long doctorId, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
@@ -338,7 +579,7 @@ public class DoctorAvailabilityService {
         }
         
         // Doctor can access their own availability
-        if (user.getRole() == User.UserRole.DOCTOR && availability.getDoctor().getId().equals(userId)) {
+        if (user.getRole() == User.UserRole.DOCTOR && doctorId.equals(userId)) {
             return;
         }
         
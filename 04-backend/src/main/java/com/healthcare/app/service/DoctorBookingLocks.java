@@ -0,0 +1,76 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.exception.AppointmentConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-doctor locks that serialize the check-then-book section of a booking.
+ *
+ * Bookings for the same doctor always map to the same stripe, while bookings for
+ * different doctors are spread over a fixed pool of locks, so there is no global
+ * lock and memory does not grow with the number of doctors. Inside a transaction the
+ * lock is held until it commits or rolls back, so the next booking on this instance
+ * sees the previous one. The locks only cover this instance; {@link DoctorSlotReservations}
+ * rejects overlapping bookings made through other instances.
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public DoctorBookingLocks(@Value("${app.booking.lock-stripes:256}") int stripeCount,
+                              @Value("${app.booking.lock-timeout-ms:5000}") long timeoutMillis) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Run the action while holding the doctor's booking lock
+     */
+    public <T> T withLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(doctorId);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppointmentConflictException("Interrupted while waiting for doctor schedule", e);
+        }
+
+        if (!acquired) {
+            throw new AppointmentConflictException("Doctor schedule is busy, please retry", doctorId, null, null);
+        }
+
+        // Release at transaction end rather than when the action returns, or a second booking
+        // could pass the conflict check before the first one is visible
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            TransactionCompensation.afterCompletion(lock::unlock);
+        }
+        try {
+            return action.get();
+        } finally {
+            if (!inTransaction) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(Long doctorId) {
+        int hash = doctorId.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,173 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.exception.AppointmentConflictException;
+import com.healthcare.app.repository.AppointmentCapacityRepository;
+import com.healthcare.app.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Enforces {@code maxAppointmentsPerDay} with per-(doctor, date) counters in
+ * {@code doctor_daily_bookings}. Every non-cancelled booking takes one unit of its day,
+ * so the limit is checked with one conditional UPDATE instead of a COUNT per booking,
+ * and a nightly job recomputes upcoming counters to repair any drift.
+ *
+ * A booking's day is the clinic-local date of the availability window it falls in, so an
+ * evening window that runs past UTC midnight still counts against the day it started on.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorDailyCapacity {
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorWeeklyTemplates doctorWeeklyTemplates;
+
+    /**
+     * Take one unit of the doctor's capacity for the day of the booking start, failing if the day is full
+     */
+    public void reserve(Long doctorId, LocalDateTime start) {
+        LocalDate date = capacityDay(doctorId, start);
+        Integer limit = dailyLimit(doctorId, date);
+        if (!appointmentRepository.tryReserveDailySlot(doctorId, date, limit)) {
+            throw new AppointmentConflictException("Doctor has reached the maximum of " + limit + " appointments on " + date,
+                    doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        }
+    }
+
+    /**
+     * Take one unit per booking start, with one conditional update per day, failing if any day cannot take all
+     * of its bookings
+     */
+    public void reserveAll(Long doctorId, Collection<LocalDateTime> starts) {
+        // Ascending days keep concurrent series from locking the same counters in opposite orders
+        Map<LocalDate, Integer> countsByDay = new TreeMap<>();
+        for (LocalDateTime start : starts) {
+            countsByDay.merge(capacityDay(doctorId, start), 1, Integer::sum);
+        }
+        countsByDay.forEach((date, count) -> {
+            Integer limit = dailyLimit(doctorId, date);
+            if (!appointmentRepository.tryReserveDailySlots(doctorId, date, count, limit)) {
+                throw new AppointmentConflictException("Doctor cannot take " + count + " more appointments on " + date +
+                        " within the maximum of " + limit, doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+            }
+        });
+    }
+
+    /**
+     * Return one unit of the doctor's capacity for the day of the booking start
+     */
+    public void release(Long doctorId, LocalDateTime start) {
+        appointmentRepository.releaseDailySlot(doctorId, capacityDay(doctorId, start));
+    }
+
+    /**
+     * Move a rescheduled booking's unit to the day of its new start, taking the new day before giving back the old one
+     */
+    public void move(Long doctorId, LocalDateTime previousStart, LocalDateTime newStart) {
+        LocalDate previousDay = capacityDay(doctorId, previousStart);
+        if (!previousDay.equals(capacityDay(doctorId, newStart))) {
+            reserve(doctorId, newStart);
+            appointmentRepository.releaseDailySlot(doctorId, previousDay);
+        }
+    }
+
+    /**
+     * Read the remaining capacity of several doctors for bookings on the UTC dates [from, to] with a single query
+     */
+    public Snapshot snapshot(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        // Clinic-local days can start up to a day before or after the UTC date
+        Map<Long, Map<LocalDate, Integer>> booked = new HashMap<>();
+        for (AppointmentCapacityRepository.DailyBookingCount count
+                : appointmentRepository.findDailyBookingCounts(doctorIds, from.minusDays(1), to.plusDays(1))) {
+            booked.computeIfAbsent(count.doctorId(), id -> new HashMap<>()).put(count.date(), count.bookedCount());
+        }
+        return new Snapshot(booked);
+    }
+
+    /**
+     * Recompute the counters of every clinic-local day from yesterday's UTC date onwards, which covers today in
+     * every zone, from the appointments table
+     */
+    @Scheduled(cron = "${app.availability.capacity-reconcile-cron:0 15 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate from = now.toLocalDate().minusDays(1);
+
+        // Zeroing first keeps the existing counters locked while the bookings are read
+        int reset = appointmentRepository.resetDailyBookingCounts(from, now);
+
+        // A clinic-local day starts at most a day before the same UTC date
+        List<AppointmentCapacityRepository.BookingStart> bookings =
+                appointmentRepository.findBookingStartsFrom(from.minusDays(1).atStartOfDay());
+        Map<Long, Map<LocalDate, Integer>> booked = new HashMap<>();
+        for (AppointmentCapacityRepository.BookingStart booking : bookings) {
+            LocalDate day = capacityDay(booking.doctorId(), booking.start());
+            if (!day.isBefore(from)) {
+                booked.computeIfAbsent(booking.doctorId(), id -> new HashMap<>()).merge(day, 1, Integer::sum);
+            }
+        }
+
+        List<AppointmentCapacityRepository.DailyBookingCount> counts = new ArrayList<>();
+        booked.forEach((doctorId, days) -> days.forEach((day, count) ->
+                counts.add(new AppointmentCapacityRepository.DailyBookingCount(doctorId, day, count))));
+        appointmentRepository.saveDailyBookingCounts(counts, now);
+
+        log.info("Reconciled daily booking counters: {} reset, {} counted", reset, counts.size());
+    }
+
+    /**
+     * The clinic-local day whose counter a booking starting at the given UTC time counts against
+     */
+    private LocalDate capacityDay(Long doctorId, LocalDateTime start) {
+        return doctorWeeklyTemplates.get(doctorId).localDateAt(start);
+    }
+
+    private Integer dailyLimit(Long doctorId, LocalDate date) {
+        return doctorWeeklyTemplates.get(doctorId).dailyLimit(date);
+    }
+
+    /**
+     * Booked counts read at one point in time, combined with the cached daily limits
+     */
+    public final class Snapshot {
+
+        private final Map<Long, Map<LocalDate, Integer>> booked;
+
+        private Snapshot(Map<Long, Map<LocalDate, Integer>> booked) {
+            this.booked = booked;
+        }
+
+        /**
+         * Remaining appointments the doctor can take on the day of a booking starting at the UTC time, or null
+         * when the day has no limit
+         */
+        public Integer remaining(Long doctorId, LocalDateTime start) {
+            LocalDate date = capacityDay(doctorId, start);
+            Integer limit = dailyLimit(doctorId, date);
+            if (limit == null) {
+                return null;
+            }
+            int count = booked.getOrDefault(doctorId, Map.of()).getOrDefault(date, 0);
+            return Math.max(limit - count, 0);
+        }
+
+        public boolean isFull(Long doctorId, LocalDateTime start) {
+            Integer remaining = remaining(doctorId, start);
+            return remaining != null && remaining == 0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.repository.AvailabilityExceptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-doctor overlay of availability exceptions, kept as sorted, merged [start, end) intervals
+ * so an overlap check is one binary search however long or numerous the absences are.
+ * Loaded lazily and dropped whenever the doctor's exceptions change.
+ */
+@Component
+@RequiredArgsConstructor
+class DoctorExceptionOverlay {
+
+    /**
+     * How far back exceptions are loaded; older ones cannot affect a booking check
+     */
+    private static final long RETENTION_DAYS = 1;
+
+    private final AvailabilityExceptionRepository availabilityExceptionRepository;
+
+    private final ConcurrentMap<Long, Intervals> overlays = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether [start, end) intersects any exception of the doctor
+     */
+    boolean overlaps(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        return overlay(doctorId).overlaps(start, end);
+    }
+
+    void invalidate(Long doctorId) {
+        overlays.remove(doctorId);
+    }
+
+    private Intervals overlay(Long doctorId) {
+        return overlays.computeIfAbsent(doctorId, id -> Intervals.of(availabilityExceptionRepository
+                .findIntervalsByDoctorIdEndingAfter(id, LocalDateTime.now().minusDays(RETENTION_DAYS))));
+    }
+
+    /**
+     * Non-overlapping intervals sorted by start; because they are merged, ends are sorted too
+     */
+    private static final class Intervals {
+
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+
+        private Intervals(LocalDateTime[] starts, LocalDateTime[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        static Intervals of(List<AvailabilityExceptionRepository.ExceptionInterval> sortedByStart) {
+            List<LocalDateTime> starts = new ArrayList<>();
+            List<LocalDateTime> ends = new ArrayList<>();
+
+            for (AvailabilityExceptionRepository.ExceptionInterval interval : sortedByStart) {
+                int last = ends.size() - 1;
+                if (last >= 0 && !interval.getStartDateTime().isAfter(ends.get(last))) {
+                    if (interval.getEndDateTime().isAfter(ends.get(last))) {
+                        ends.set(last, interval.getEndDateTime());
+                    }
+                } else {
+                    starts.add(interval.getStartDateTime());
+                    ends.add(interval.getEndDateTime());
+                }
+            }
+
+            return new Intervals(starts.toArray(LocalDateTime[]::new), ends.toArray(LocalDateTime[]::new));
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            // The last interval starting before the end of the range is the only one that can reach into it
+            int index = Arrays.binarySearch(starts, end);
+            int candidate = index >= 0 ? index - 1 : -index - 2;
+            return candidate >= 0 && ends[candidate].isAfter(start);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.DoctorAvailability;
+import com.healthcare.app.repository.DoctorAvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.healthcare.app.service.DoctorWeeklyTemplates.minuteOfDay;
+
+/**
+ * In-memory answer to "which doctors are on duty at this time of the week".
+ *
+ * Windows are grouped by clinic zone, and a UTC time is looked up in each zone's local
+ * time. Each day's working windows of active, available doctors are cut at every window
+ * boundary into elementary segments, and each segment stores the windows covering it,
+ * so a lookup is one binary search over the day's boundaries. Breaks split a window in
+ * two. Changed doctors are reloaded on the next lookup and the whole index is reloaded
+ * periodically to pick up changes made outside the application.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class DoctorOnDutyIndex {
+
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+    private final Set<Long> staleDoctors = ConcurrentHashMap.newKeySet();
+    private final Object rebuildLock = new Object();
+
+    /**
+     * Source rows by doctor, guarded by rebuildLock; null until the first full load
+     */
+    private Map<Long, List<DoctorAvailability>> windowsByDoctor;
+
+    /**
+     * Day indexes of each clinic zone, keyed by the zone's local day of the week
+     */
+    private volatile Map<ZoneId, Map<DayOfWeek, DayIndex>> days;
+
+    /**
+     * Availability windows covering the UTC time, one per doctor on duty
+     */
+    List<DoctorAvailability> onDuty(LocalDateTime utcTime) {
+        Map<ZoneId, Map<DayOfWeek, DayIndex>> current = days;
+        if (current == null || !staleDoctors.isEmpty()) {
+            current = rebuild();
+        }
+
+        List<DoctorAvailability> result = new ArrayList<>();
+        current.forEach((zone, zoneDays) -> {
+            LocalDateTime local = utcTime.atZone(ZoneOffset.UTC).withZoneSameInstant(zone).toLocalDateTime();
+            DayIndex day = zoneDays.get(local.getDayOfWeek());
+            if (day != null) {
+                result.addAll(day.at(minuteOfDay(local.toLocalTime())));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reload the doctor's windows and status on the next lookup
+     */
+    void invalidate(Long doctorId) {
+        staleDoctors.add(doctorId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.on-duty-reload-ms:600000}")
+    void reloadAll() {
+        synchronized (rebuildLock) {
+            windowsByDoctor = null;
+            days = null;
+        }
+    }
+
+    private Map<ZoneId, Map<DayOfWeek, DayIndex>> rebuild() {
+        synchronized (rebuildLock) {
+            if (windowsByDoctor == null) {
+                staleDoctors.clear();
+                windowsByDoctor = doctorAvailabilityRepository.findOnDutyCandidates().stream()
+                        .collect(Collectors.groupingBy(availability -> availability.getDoctor().getId(),
+                                HashMap::new, Collectors.toList()));
+                log.info("Loaded on-duty index for {} doctors", windowsByDoctor.size());
+            } else if (!staleDoctors.isEmpty()) {
+                for (Long doctorId : List.copyOf(staleDoctors)) {
+                    // Removed before reading, so a change committed during the reload marks the doctor stale again
+                    staleDoctors.remove(doctorId);
+                    List<DoctorAvailability> windows = doctorAvailabilityRepository.findOnDutyCandidatesByDoctorId(doctorId);
+                    if (windows.isEmpty()) {
+                        windowsByDoctor.remove(doctorId);
+                    } else {
+                        windowsByDoctor.put(doctorId, windows);
+                    }
+                }
+            } else if (days != null) {
+                return days;
+            }
+
+            Map<ZoneId, Map<DayOfWeek, List<Interval>>> intervals = new HashMap<>();
+            for (List<DoctorAvailability> windows : windowsByDoctor.values()) {
+                for (DoctorAvailability window : windows) {
+                    addIntervals(intervals
+                            .computeIfAbsent(DoctorWeeklyTemplates.zoneOf(window.getTimeZone()), zone -> new EnumMap<>(DayOfWeek.class))
+                            .computeIfAbsent(window.getDayOfWeek(), day -> new ArrayList<>()), window);
+                }
+            }
+
+            Map<ZoneId, Map<DayOfWeek, DayIndex>> rebuilt = new HashMap<>();
+            intervals.forEach((zone, zoneIntervals) -> {
+                Map<DayOfWeek, DayIndex> zoneDays = new EnumMap<>(DayOfWeek.class);
+                zoneIntervals.forEach((day, dayIntervals) -> zoneDays.put(day, DayIndex.of(dayIntervals)));
+                rebuilt.put(zone, zoneDays);
+            });
+
+            days = rebuilt;
+            return rebuilt;
+        }
+    }
+
+    private static void addIntervals(List<Interval> intervals, DoctorAvailability availability) {
+        DoctorWeeklyTemplates.Window window = DoctorWeeklyTemplates.Window.of(availability);
+        if (window.breakStartMinute() < 0) {
+            intervals.add(new Interval(window.startMinute(), window.endMinute(), availability));
+            return;
+        }
+        intervals.add(new Interval(window.startMinute(), Math.min(window.breakStartMinute(), window.endMinute()), availability));
+        intervals.add(new Interval(Math.max(window.breakEndMinute(), window.startMinute()), window.endMinute(), availability));
+    }
+
+    /**
+     * Half-open [startMinute, endMinute) during which the availability row is on duty
+     */
+    private record Interval(int startMinute, int endMinute, DoctorAvailability availability) {}
+
+    /**
+     * One day cut into elementary segments; covering[i] lists the windows over [boundaries[i], boundaries[i + 1])
+     */
+    private static final class DayIndex {
+
+        private final int[] boundaries;
+        private final List<List<DoctorAvailability>> covering;
+
+        private DayIndex(int[] boundaries, List<List<DoctorAvailability>> covering) {
+            this.boundaries = boundaries;
+            this.covering = covering;
+        }
+
+        static DayIndex of(List<Interval> intervals) {
+            TreeSet<Integer> points = new TreeSet<>();
+            for (Interval interval : intervals) {
+                if (interval.startMinute() < interval.endMinute()) {
+                    points.add(interval.startMinute());
+                    points.add(interval.endMinute());
+                }
+            }
+            int[] boundaries = points.stream().mapToInt(Integer::intValue).toArray();
+
+            List<List<DoctorAvailability>> covering = new ArrayList<>(Math.max(boundaries.length - 1, 0));
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                covering.add(new ArrayList<>());
+            }
+
+            intervals.sort(Comparator.comparing((Interval interval) -> interval.availability().getDoctor().getId())
+                    .thenComparingInt(Interval::startMinute));
+            for (Interval interval : intervals) {
+                if (interval.startMinute() >= interval.endMinute()) {
+                    continue;
+                }
+                int from = Arrays.binarySearch(boundaries, interval.startMinute());
+                int to = Arrays.binarySearch(boundaries, interval.endMinute());
+                for (int segment = from; segment < to; segment++) {
+                    covering.get(segment).add(interval.availability());
+                }
+            }
+
+            covering.replaceAll(List::copyOf);
+            return new DayIndex(boundaries, covering);
+        }
+
+        List<DoctorAvailability> at(int minute) {
+            int index = Arrays.binarySearch(boundaries, minute);
+            // Not a boundary: step back to the segment that starts before the minute
+            int segment = index >= 0 ? index : -index - 2;
+            if (segment < 0 || segment >= covering.size()) {
+                return List.of();
+            }
+            return covering.get(segment);
+        }
+    }
+}
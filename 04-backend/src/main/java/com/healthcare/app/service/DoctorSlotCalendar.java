@@ -0,0 +1,486 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.repository.DoctorFreeSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.healthcare.app.service.DoctorWeeklyTemplates.MINUTES_PER_DAY;
+import static com.healthcare.app.service.DoctorWeeklyTemplates.minuteOfDay;
+
+/**
+ * In-memory per-doctor slot calendar with one bit per appointment slot per day.
+ *
+ * A doctor's cached weekly template is expanded per UTC date into sorted slot start times, cut
+ * at {@code appointmentDurationMinutes} and with break overlaps removed. Days are materialized
+ * lazily as bitsets where a set bit means the slot is neither booked nor inside an
+ * availability exception, and {@link AppointmentConflictIndex.BookingChanged} events flip
+ * only the bits of the affected slots. Availability and exception changes drop the
+ * doctor's calendar after commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSlotCalendar {
+
+    /**
+     * How many days ahead the next free slot is searched for
+     */
+    static final int SEARCH_HORIZON_DAYS = 30;
+
+    private final DoctorWeeklyTemplates doctorWeeklyTemplates;
+    private final DoctorExceptionOverlay doctorExceptionOverlay;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+
+    private final ConcurrentMap<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether [start, start + durationMinutes) lies within contiguous free slots of the doctor
+     */
+    public boolean isFree(Long doctorId, LocalDateTime start, int durationMinutes) {
+        int startMinute = minuteOfDay(start.toLocalTime());
+        int endMinute = startMinute + Math.max(durationMinutes, 1);
+
+        return calendar(doctorId).read(start.toLocalDate(), day -> day.covers(startMinute, endMinute));
+    }
+
+    /**
+     * Find the earliest free slot start at or after {@code from} that fits the duration, searching
+     * {@value #SEARCH_HORIZON_DAYS} days ahead for starts accepted by the filter; a null duration means a single slot
+     */
+    public Optional<LocalDateTime> nextFreeSlot(Long doctorId, LocalDateTime from, Integer durationMinutes,
+                                                Predicate<LocalDateTime> bookableStart) {
+        Iterator<LocalDateTime> slots = freeSlots(doctorId, from, from.plusDays(SEARCH_HORIZON_DAYS), durationMinutes, bookableStart);
+        return slots.hasNext() ? Optional.of(slots.next()) : Optional.empty();
+    }
+
+    /**
+     * Lazily iterate the doctor's free slot starts in [from, to) in ascending order, materializing
+     * one day at a time and skipping starts rejected by the filter; a null duration means a single slot
+     */
+    public Iterator<LocalDateTime> freeSlots(Long doctorId, LocalDateTime from, LocalDateTime to, Integer durationMinutes,
+                                             Predicate<LocalDateTime> bookableStart) {
+        return new FreeSlotIterator(calendar(doctorId), from, to, durationMinutes, bookableStart);
+    }
+
+    /**
+     * All free slots of the doctor on the date, in order
+     */
+    public List<DoctorFreeSlotRepository.FreeSlot> freeSlotsOn(Long doctorId, LocalDate date) {
+        DoctorCalendar calendar = calendar(doctorId);
+        if (calendar.template.forDate(date).isEmpty()) {
+            return List.of();
+        }
+        return calendar.read(date, day -> day.freeSlots(date));
+    }
+
+    /**
+     * Slots of the template on the dates [from, to] that the filter accepts, cut the same way as the calendar's
+     * but without any of this instance's cached bookings or exceptions
+     */
+    static List<DoctorFreeSlotRepository.FreeSlot> slotsBetween(DoctorWeeklyTemplates.WeeklyTemplate template,
+                                                                LocalDate from, LocalDate to,
+                                                                BiPredicate<LocalDateTime, LocalDateTime> bookable) {
+        SlotGrid grid = SlotGrid.of(template);
+        List<DoctorFreeSlotRepository.FreeSlot> slots = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayTemplate day = grid.forDate(date);
+            for (int slot = 0; slot < day.size(); slot++) {
+                LocalDateTime start = date.atStartOfDay().plusMinutes(day.starts[slot]);
+                LocalDateTime end = start.plusMinutes(day.lengths[slot]);
+                if (bookable.test(start, end)) {
+                    slots.add(new DoctorFreeSlotRepository.FreeSlot(start, end));
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Drop the doctor's calendar so the next query rebuilds it from the current weekly template
+     */
+    public void invalidate(Long doctorId) {
+        calendars.remove(doctorId);
+    }
+
+    /**
+     * Recompute the bits of materialized slots that overlap a booked or freed interval
+     */
+    @EventListener
+    public void onBookingChanged(AppointmentConflictIndex.BookingChanged change) {
+        DoctorCalendar calendar = calendars.get(change.doctorId());
+        if (calendar == null) {
+            return;
+        }
+
+        calendar.refresh(change.start(), change.end());
+    }
+
+    /**
+     * Release the bitsets of days that have already passed
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        int evicted = calendars.values().stream()
+                .mapToInt(calendar -> calendar.removeDaysBefore(today))
+                .sum();
+
+        log.debug("Evicted {} past days from doctor slot calendar", evicted);
+    }
+
+    private DoctorCalendar calendar(Long doctorId) {
+        return calendars.computeIfAbsent(doctorId, id -> new DoctorCalendar(id,
+                SlotGrid.of(doctorWeeklyTemplates.get(id))));
+    }
+
+    /**
+     * Walks free slots day by day, resuming the bitset scan just after the last slot returned
+     */
+    private static final class FreeSlotIterator implements Iterator<LocalDateTime> {
+
+        private final DoctorCalendar calendar;
+        private final LocalDateTime to;
+        private final Integer durationMinutes;
+        private final Predicate<LocalDateTime> bookableStart;
+
+        private LocalDate date;
+        private int minMinute;
+        private LocalDateTime next;
+
+        FreeSlotIterator(DoctorCalendar calendar, LocalDateTime from, LocalDateTime to, Integer durationMinutes,
+                         Predicate<LocalDateTime> bookableStart) {
+            this.calendar = calendar;
+            this.to = to;
+            this.durationMinutes = durationMinutes;
+            this.bookableStart = bookableStart;
+            this.date = from.toLocalDate();
+            this.minMinute = minuteOfDay(from.toLocalTime()) + (from.toLocalTime().getSecond() > 0 ? 1 : 0);
+            this.next = calendar.template.isEmpty() ? null : advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LocalDateTime next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            LocalDateTime current = next;
+            next = advance();
+            return current;
+        }
+
+        private LocalDateTime advance() {
+            while (!date.isAfter(to.toLocalDate())) {
+                if (!calendar.template.forDate(date).isEmpty()) {
+                    while (true) {
+                        int scanFrom = minMinute;
+                        Integer slotStart = calendar.read(date, slots -> slots.firstFit(scanFrom, durationMinutes));
+                        if (slotStart == null) {
+                            break;
+                        }
+                        LocalDateTime candidate = date.atStartOfDay().plusMinutes(slotStart);
+                        if (!candidate.isBefore(to)) {
+                            return null;
+                        }
+                        minMinute = slotStart + 1;
+                        // A UTC date can hold slots of two clinic days, so the filter is asked per start
+                        if (bookableStart.test(candidate)) {
+                            return candidate;
+                        }
+                    }
+                }
+                date = date.plusDays(1);
+                minMinute = 0;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Slot start minutes and lengths for each UTC date, cut from the windows starting on that
+     * date and the overnight part of the previous date's windows
+     */
+    private static final class SlotGrid {
+
+        private final DoctorWeeklyTemplates.WeeklyTemplate template;
+        private final ConcurrentMap<LocalDate, DayTemplate> days = new ConcurrentHashMap<>();
+
+        private SlotGrid(DoctorWeeklyTemplates.WeeklyTemplate template) {
+            this.template = template;
+        }
+
+        static SlotGrid of(DoctorWeeklyTemplates.WeeklyTemplate template) {
+            return new SlotGrid(template);
+        }
+
+        boolean isEmpty() {
+            return template.isEmpty();
+        }
+
+        DayTemplate forDate(LocalDate date) {
+            return days.computeIfAbsent(date, this::build);
+        }
+
+        void removeDaysBefore(LocalDate cutoff) {
+            days.keySet().removeIf(date -> date.isBefore(cutoff));
+        }
+
+        private DayTemplate build(LocalDate date) {
+            List<int[]> slots = new ArrayList<>();
+            addSlots(slots, template.startingOn(date), 0);
+            addSlots(slots, template.startingOn(date.minusDays(1)), -MINUTES_PER_DAY);
+            return slots.isEmpty() ? DayTemplate.EMPTY : DayTemplate.of(slots);
+        }
+
+        /**
+         * Add the window slots that start on this date, after moving them by the given offset
+         */
+        private static void addSlots(List<int[]> slots, List<DoctorWeeklyTemplates.Window> windows, int offset) {
+            for (DoctorWeeklyTemplates.Window window : windows) {
+                int step = window.slotMinutes();
+                for (int slotStart = window.startMinute(); slotStart + step <= window.endMinute(); slotStart += step) {
+                    int start = slotStart + offset;
+                    if (start >= 0 && start < MINUTES_PER_DAY && !window.overlapsBreak(slotStart, slotStart + step)) {
+                        slots.add(new int[] {start, step});
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorted, non-overlapping slots of one date as parallel start and length arrays
+     */
+    private static final class DayTemplate {
+
+        static final DayTemplate EMPTY = new DayTemplate(new int[0], new int[0]);
+
+        final int[] starts;
+        final int[] lengths;
+
+        private DayTemplate(int[] starts, int[] lengths) {
+            this.starts = starts;
+            this.lengths = lengths;
+        }
+
+        static DayTemplate of(List<int[]> slots) {
+            slots.sort(Comparator.comparingInt(slot -> slot[0]));
+
+            // Overlapping availability rows should not exist, but keep the first slot if they do
+            int[] starts = new int[slots.size()];
+            int[] lengths = new int[slots.size()];
+            int count = 0;
+            for (int[] slot : slots) {
+                if (count == 0 || slot[0] >= starts[count - 1] + lengths[count - 1]) {
+                    starts[count] = slot[0];
+                    lengths[count] = slot[1];
+                    count++;
+                }
+            }
+            return new DayTemplate(Arrays.copyOf(starts, count), Arrays.copyOf(lengths, count));
+        }
+
+        boolean isEmpty() {
+            return starts.length == 0;
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        int end(int slot) {
+            return starts[slot] + lengths[slot];
+        }
+
+        /**
+         * Index of the slot containing the minute, or -1
+         */
+        int slotAt(int minute) {
+            int index = Arrays.binarySearch(starts, minute);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 && minute < end(index) ? index : -1;
+        }
+
+        /**
+         * Index of the first slot starting at or after the minute
+         */
+        int firstStartingAt(int minute) {
+            int index = Arrays.binarySearch(starts, minute);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * Free-slot bits of one concrete date
+     */
+    private static final class DaySlots {
+
+        final DayTemplate template;
+        final BitSet free;
+
+        DaySlots(DayTemplate template) {
+            this.template = template;
+            this.free = new BitSet(template.size());
+        }
+
+        /**
+         * Whether [startMinute, endMinute) is covered by a run of free, back-to-back slots
+         */
+        boolean covers(int startMinute, int endMinute) {
+            int slot = template.slotAt(startMinute);
+            if (slot < 0) {
+                return false;
+            }
+
+            while (free.get(slot)) {
+                if (template.end(slot) >= endMinute) {
+                    return true;
+                }
+                if (slot + 1 >= template.size() || template.starts[slot + 1] != template.end(slot)) {
+                    return false;
+                }
+                slot++;
+            }
+            return false;
+        }
+
+        List<DoctorFreeSlotRepository.FreeSlot> freeSlots(LocalDate date) {
+            List<DoctorFreeSlotRepository.FreeSlot> slots = new ArrayList<>(free.cardinality());
+            for (int slot = free.nextSetBit(0); slot >= 0; slot = free.nextSetBit(slot + 1)) {
+                LocalDateTime start = date.atStartOfDay().plusMinutes(template.starts[slot]);
+                slots.add(new DoctorFreeSlotRepository.FreeSlot(start, start.plusMinutes(template.lengths[slot])));
+            }
+            return slots;
+        }
+
+        /**
+         * Start minute of the first free slot at or after minMinute that fits the duration, or null
+         */
+        Integer firstFit(int minMinute, Integer durationMinutes) {
+            for (int slot = free.nextSetBit(template.firstStartingAt(minMinute)); slot >= 0; slot = free.nextSetBit(slot + 1)) {
+                int duration = durationMinutes != null ? durationMinutes : template.lengths[slot];
+                if (covers(template.starts[slot], template.starts[slot] + duration)) {
+                    return template.starts[slot];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Slot grid and materialized days of a single doctor
+     */
+    private final class DoctorCalendar {
+
+        private final Long doctorId;
+        private final SlotGrid template;
+        private final Map<LocalDate, DaySlots> days = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        DoctorCalendar(Long doctorId, SlotGrid template) {
+            this.doctorId = doctorId;
+            this.template = template;
+        }
+
+        <T> T read(LocalDate date, Function<DaySlots, T> query) {
+            lock.readLock().lock();
+            try {
+                DaySlots day = days.get(date);
+                if (day != null) {
+                    return query.apply(day);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // Materializing under the write lock orders it against concurrent booking refreshes
+            lock.writeLock().lock();
+            try {
+                return query.apply(days.computeIfAbsent(date, this::materialize));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void refresh(LocalDateTime start, LocalDateTime end) {
+            lock.writeLock().lock();
+            try {
+                // Overnight slots belong to the previous date, so that date is refreshed too
+                for (LocalDate date = start.toLocalDate().minusDays(1); !date.isAfter(end.toLocalDate()); date = date.plusDays(1)) {
+                    DaySlots day = days.get(date);
+                    if (day == null) {
+                        continue;
+                    }
+
+                    // Offsets from this date's midnight, which may run past the end of the day
+                    int fromMinute = (int) Math.max(Duration.between(date.atStartOfDay(), start).toMinutes(), 0);
+                    int toMinute = (int) Duration.between(date.atStartOfDay(), end).toMinutes();
+                    int containing = day.template.slotAt(fromMinute);
+                    int slot = containing >= 0 ? containing : day.template.firstStartingAt(fromMinute);
+                    for (; slot < day.template.size() && day.template.starts[slot] < toMinute; slot++) {
+                        day.free.set(slot, isBookable(date, day.template, slot));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int removeDaysBefore(LocalDate cutoff) {
+            lock.writeLock().lock();
+            try {
+                int before = days.size();
+                days.keySet().removeIf(date -> date.isBefore(cutoff));
+                template.removeDaysBefore(cutoff);
+                return before - days.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private DaySlots materialize(LocalDate date) {
+            DaySlots day = new DaySlots(template.forDate(date));
+            for (int slot = 0; slot < day.template.size(); slot++) {
+                day.free.set(slot, isBookable(date, day.template, slot));
+            }
+            return day;
+        }
+
+        private boolean isBookable(LocalDate date, DayTemplate dayTemplate, int slot) {
+            LocalDateTime slotStart = date.atStartOfDay().plusMinutes(dayTemplate.starts[slot]);
+            LocalDateTime slotEnd = slotStart.plusMinutes(dayTemplate.lengths[slot]);
+            return !doctorExceptionOverlay.overlaps(doctorId, slotStart, slotEnd)
+                    && !appointmentConflictIndex.hasConflict(doctorId, slotStart, slotEnd, null);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.exception.AppointmentConflictException;
+import com.healthcare.app.repository.AppointmentRepository;
+import com.healthcare.app.repository.AppointmentReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Database guard against double booking, independent of which instance takes the booking.
+ *
+ * Every booked appointment reserves each 5-minute unit it touches in {@code doctor_slot_reservations},
+ * whose (doctor_id, slot_start) primary key rejects a second reservation of the same unit. The
+ * in-memory conflict index and booking locks stay the fast path; this catches what they cannot
+ * see, such as a booking committed by another instance. Times off the 5-minute grid reserve the
+ * whole units they touch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSlotReservations {
+
+    static final int UNIT_MINUTES = 5;
+
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Reserve the appointment's interval, failing if another booking holds part of it
+     */
+    public void reserve(Appointment appointment) {
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime start = appointment.getAppointmentDate();
+        LocalDateTime end = start.plusMinutes(appointment.getDurationMinutes());
+        try {
+            appointmentRepository.reserveSlots(doctorId, appointment.getId(), units(start, end));
+        } catch (DuplicateKeyException e) {
+            throw new AppointmentConflictException("Appointment conflicts with existing appointment", doctorId, start, end);
+        }
+    }
+
+    /**
+     * Reserve the intervals of several appointments of one doctor in a single batch, failing if another booking
+     * holds part of any of them
+     */
+    public void reserveAll(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+
+        Long doctorId = appointments.get(0).getDoctor().getId();
+        List<AppointmentReservationRepository.SlotReservation> reservations = new ArrayList<>();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (Appointment appointment : appointments) {
+            LocalDateTime start = appointment.getAppointmentDate();
+            LocalDateTime end = start.plusMinutes(appointment.getDurationMinutes());
+            for (LocalDateTime unit : units(start, end)) {
+                reservations.add(new AppointmentReservationRepository.SlotReservation(unit, appointment.getId()));
+            }
+            first = first == null || start.isBefore(first) ? start : first;
+            last = last == null || end.isAfter(last) ? end : last;
+        }
+        try {
+            appointmentRepository.reserveSlots(doctorId, reservations);
+        } catch (DuplicateKeyException e) {
+            throw new AppointmentConflictException("Appointment conflicts with existing appointment", doctorId, first, last);
+        }
+    }
+
+    /**
+     * Move the appointment's reservation to its current interval
+     */
+    public void move(Appointment appointment) {
+        release(appointment.getId());
+        reserve(appointment);
+    }
+
+    /**
+     * Release the reservation of an appointment that no longer occupies its slot
+     */
+    public void release(Long appointmentId) {
+        release(List.of(appointmentId));
+    }
+
+    public void release(Collection<Long> appointmentIds) {
+        appointmentRepository.releaseSlots(appointmentIds);
+    }
+
+    /**
+     * Drop reservations of past slots, which no new booking can conflict with
+     */
+    @Scheduled(cron = "${app.booking.reservation-purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgePast() {
+        int deleted = appointmentRepository.deleteSlotReservationsBefore(LocalDateTime.now().minusDays(1));
+        log.info("Purged {} past slot reservations", deleted);
+    }
+
+    /**
+     * Start of every unit that [start, end) touches
+     */
+    static List<LocalDateTime> units(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime unit = start.truncatedTo(ChronoUnit.MINUTES).minusMinutes(start.getMinute() % UNIT_MINUTES);
+        List<LocalDateTime> units = new ArrayList<>();
+        for (; unit.isBefore(end); unit = unit.plusMinutes(UNIT_MINUTES)) {
+            units.add(unit);
+        }
+        return units;
+    }
+}
@@ -0,0 +1,178 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.dto.AvailableSlotResponse;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the earliest free slots across all available doctors of a specialization.
+ *
+ * Each doctor's first {@code limit} free slots are pulled from the slot calendar in
+ * parallel on a bounded pool, and the sorted per-doctor runs are combined with a
+ * k-way merge, so no doctor contributes more slots than can make the top {@code limit}.
+ */
+@Service
+@Slf4j
+public class DoctorSlotSearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Longest search window, matching the horizon of the next-available-slot lookup
+     */
+    private static final long MAX_RANGE_DAYS = 31;
+
+    private final UserRepository userRepository;
+    private final DoctorSlotCalendar doctorSlotCalendar;
+    private final DoctorDailyCapacity doctorDailyCapacity;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public DoctorSlotSearchService(UserRepository userRepository,
+                                   DoctorSlotCalendar doctorSlotCalendar,
+                                   DoctorDailyCapacity doctorDailyCapacity,
+                                   @Value("${app.availability.search-threads:8}") int threads,
+                                   @Value("${app.availability.search-queue-capacity:500}") int queueCapacity,
+                                   @Value("${app.availability.search-timeout-ms:5000}") long timeoutMillis) {
+        this.userRepository = userRepository;
+        this.doctorSlotCalendar = doctorSlotCalendar;
+        this.doctorDailyCapacity = doctorDailyCapacity;
+        this.timeoutMillis = timeoutMillis;
+
+        // Callers run overflow work themselves, which keeps both threads and queued work bounded
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slot-search-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Return up to {@code limit} of the earliest free slots in [from, to) across doctors of the specialization
+     */
+    @Transactional(readOnly = true)
+    public List<AvailableSlotResponse> findEarliestSlots(String specialization, LocalDateTime from, LocalDateTime to,
+                                                         Integer durationMinutes, Integer limit) {
+        if (specialization == null || specialization.isBlank()) {
+            throw new IllegalArgumentException("Specialization is required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("From must be before to");
+        }
+        if (Duration.between(from, to).toDays() > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Search range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (durationMinutes != null && durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+
+        int k = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        List<User> doctors = userRepository.findAvailableDoctorsBySpecialization(specialization);
+        if (doctors.isEmpty()) {
+            return List.of();
+        }
+
+        // One counter read for all doctors; slots on days that are already full are skipped
+        DoctorDailyCapacity.Snapshot capacity = doctorDailyCapacity.snapshot(
+                doctors.stream().map(User::getId).toList(), from.toLocalDate(), to.toLocalDate());
+
+        List<CompletableFuture<List<LocalDateTime>>> futures = new ArrayList<>(doctors.size());
+        for (User doctor : doctors) {
+            Long doctorId = doctor.getId();
+            futures.add(CompletableFuture.supplyAsync(() -> firstSlots(doctorSlotCalendar.freeSlots(
+                    doctorId, from, to, durationMinutes, slot -> !capacity.isFull(doctorId, slot)), k), executor));
+        }
+
+        List<List<LocalDateTime>> slotsByDoctor = awaitAll(futures);
+        return merge(doctors, slotsByDoctor, k, capacity);
+    }
+
+    private List<List<LocalDateTime>> awaitAll(List<CompletableFuture<List<LocalDateTime>>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Slot search timed out after " + timeoutMillis + " ms");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Slot search failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Slot search interrupted", e);
+        }
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * K-way merge of the per-doctor ascending runs; ties go to the lower doctor ID
+     */
+    private static List<AvailableSlotResponse> merge(List<User> doctors, List<List<LocalDateTime>> slotsByDoctor, int k,
+                                                     DoctorDailyCapacity.Snapshot capacity) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::slot)
+                .thenComparing(head -> doctors.get(head.doctor()).getId()));
+        for (int i = 0; i < doctors.size(); i++) {
+            if (!slotsByDoctor.get(i).isEmpty()) {
+                heads.add(new Head(i, 0, slotsByDoctor.get(i).get(0)));
+            }
+        }
+
+        List<AvailableSlotResponse> result = new ArrayList<>(k);
+        while (result.size() < k && !heads.isEmpty()) {
+            Head head = heads.poll();
+            User doctor = doctors.get(head.doctor());
+            result.add(new AvailableSlotResponse(doctor.getId(), doctor.getFirstName() + " " + doctor.getLastName(),
+                    doctor.getSpecialization(), head.slot(), capacity.remaining(doctor.getId(), head.slot())));
+
+            List<LocalDateTime> slots = slotsByDoctor.get(head.doctor());
+            int nextIndex = head.index() + 1;
+            if (nextIndex < slots.size()) {
+                heads.add(new Head(head.doctor(), nextIndex, slots.get(nextIndex)));
+            }
+        }
+        return result;
+    }
+
+    private static List<LocalDateTime> firstSlots(Iterator<LocalDateTime> slots, int k) {
+        List<LocalDateTime> result = new ArrayList<>(k);
+        while (result.size() < k && slots.hasNext()) {
+            result.add(slots.next());
+        }
+        return result;
+    }
+
+    /**
+     * Current position in one doctor's run
+     */
+    private record Head(int doctor, int index, LocalDateTime slot) {}
+}
@@ -0,0 +1,285 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.DoctorAvailability;
+import com.healthcare.app.repository.DoctorAvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of each doctor's weekly availability windows, loaded with one query per doctor
+ * and dropped whenever the doctor's availability changes.
+ *
+ * Windows are written in the clinic's local time. Appointment times are UTC, so for
+ * templates outside UTC each UTC date's windows are converted once, DST included, and
+ * cached as plain minute offsets from that date's midnight.
+ */
+@Component
+@RequiredArgsConstructor
+class DoctorWeeklyTemplates {
+
+    static final int DEFAULT_SLOT_MINUTES = 30;
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final ZoneId DEFAULT_ZONE = ZoneId.of("UTC");
+
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+    private final ConcurrentMap<Long, WeeklyTemplate> templates = new ConcurrentHashMap<>();
+
+    WeeklyTemplate get(Long doctorId) {
+        return templates.computeIfAbsent(doctorId, this::load);
+    }
+
+    /**
+     * Read the doctor's template from the database without consulting or filling the cache
+     */
+    WeeklyTemplate load(Long doctorId) {
+        return WeeklyTemplate.of(doctorAvailabilityRepository.findByDoctorIdAndIsAvailableTrue(doctorId));
+    }
+
+    void invalidate(Long doctorId) {
+        templates.remove(doctorId);
+    }
+
+    /**
+     * Drop converted dates that have already passed
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    void evictPastDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        templates.values().forEach(template -> template.removeDaysBefore(yesterday));
+    }
+
+    static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Parse an availability time zone; null means UTC
+     */
+    static ZoneId zoneOf(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return DEFAULT_ZONE;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + timeZone);
+        }
+    }
+
+    /**
+     * Working window of one availability row in minutes of the day; break bounds are -1 when there is no break.
+     * Windows of a weekly template are in the zone's local time, windows of a UTC date are UTC minute offsets
+     * that may run past midnight and keep the zone they were converted from.
+     */
+    record Window(int startMinute, int endMinute, int breakStartMinute, int breakEndMinute,
+                  int slotMinutes, Integer maxAppointmentsPerDay, ZoneId zone) {
+
+        static Window of(DoctorAvailability availability) {
+            Integer duration = availability.getAppointmentDurationMinutes();
+            boolean hasBreak = availability.getBreakStartTime() != null && availability.getBreakEndTime() != null
+                    && availability.getBreakStartTime().isBefore(availability.getBreakEndTime());
+
+            return new Window(minuteOfDay(availability.getStartTime()), minuteOfDay(availability.getEndTime()),
+                    hasBreak ? minuteOfDay(availability.getBreakStartTime()) : -1,
+                    hasBreak ? minuteOfDay(availability.getBreakEndTime()) : -1,
+                    duration != null && duration > 0 ? duration : DEFAULT_SLOT_MINUTES,
+                    availability.getMaxAppointmentsPerDay(), zoneOf(availability.getTimeZone()));
+        }
+
+        boolean hasBreak() {
+            return breakStartMinute >= 0;
+        }
+
+        /**
+         * The same window with every bound moved by the given number of minutes
+         */
+        Window shift(int minutes) {
+            return new Window(startMinute + minutes, endMinute + minutes,
+                    hasBreak() ? breakStartMinute + minutes : -1, hasBreak() ? breakEndMinute + minutes : -1,
+                    slotMinutes, maxAppointmentsPerDay, zone);
+        }
+
+        /**
+         * This local window on the local date, as UTC minute offsets from the given UTC midnight
+         */
+        Window toUtc(LocalDate localDate, LocalDateTime utcMidnight) {
+            return new Window(utcOffset(localDate, startMinute, utcMidnight), utcOffset(localDate, endMinute, utcMidnight),
+                    hasBreak() ? utcOffset(localDate, breakStartMinute, utcMidnight) : -1,
+                    hasBreak() ? utcOffset(localDate, breakEndMinute, utcMidnight) : -1,
+                    slotMinutes, maxAppointmentsPerDay, zone);
+        }
+
+        private int utcOffset(LocalDate localDate, int minute, LocalDateTime utcMidnight) {
+            // Local times in a DST gap move forward and ambiguous ones take the earlier offset
+            LocalDateTime utc = ZonedDateTime.of(localDate.atStartOfDay().plusMinutes(minute), zone)
+                    .withZoneSameInstant(ZoneOffset.UTC)
+                    .toLocalDateTime();
+            return (int) Duration.between(utcMidnight, utc).toMinutes();
+        }
+
+        /**
+         * Whether the minute lies in [start, end); the start is inclusive so the first slot of the day counts
+         */
+        boolean contains(int minute) {
+            return minute >= startMinute && minute < endMinute;
+        }
+
+        /**
+         * Whether [fromMinute, toMinute) intersects the break
+         */
+        boolean overlapsBreak(int fromMinute, int toMinute) {
+            return hasBreak() && fromMinute < breakEndMinute && toMinute > breakStartMinute;
+        }
+    }
+
+    /**
+     * Local windows for each day of the week sorted by start, and their UTC form per date
+     */
+    static final class WeeklyTemplate {
+
+        private final Map<DayOfWeek, List<Window>> days;
+        private final ZoneId zone;
+        private final boolean utcOnly;
+        private final ConcurrentMap<LocalDate, List<Window>> utcDays = new ConcurrentHashMap<>();
+
+        private WeeklyTemplate(Map<DayOfWeek, List<Window>> days) {
+            this.days = days;
+            this.zone = days.values().stream()
+                    .flatMap(List::stream)
+                    .map(Window::zone)
+                    .findFirst()
+                    .orElse(DEFAULT_ZONE);
+            this.utcOnly = days.values().stream()
+                    .flatMap(List::stream)
+                    .allMatch(window -> ZoneOffset.UTC.equals(window.zone().normalized()));
+        }
+
+        static WeeklyTemplate of(List<DoctorAvailability> availabilities) {
+            Map<DayOfWeek, List<Window>> days = new EnumMap<>(DayOfWeek.class);
+            for (DoctorAvailability availability : availabilities) {
+                days.computeIfAbsent(availability.getDayOfWeek(), day -> new ArrayList<>()).add(Window.of(availability));
+            }
+            days.replaceAll((day, windows) -> {
+                windows.sort(Comparator.comparingInt(Window::startMinute));
+                return List.copyOf(windows);
+            });
+            return new WeeklyTemplate(days);
+        }
+
+        boolean isEmpty() {
+            return days.isEmpty();
+        }
+
+        /**
+         * Local windows of the day of the week
+         */
+        List<Window> forDay(DayOfWeek dayOfWeek) {
+            return days.getOrDefault(dayOfWeek, List.of());
+        }
+
+        /**
+         * Windows starting on the UTC date, as minute offsets from its midnight sorted by start
+         */
+        List<Window> startingOn(LocalDate utcDate) {
+            if (utcOnly) {
+                return forDay(utcDate.getDayOfWeek());
+            }
+            return utcDays.computeIfAbsent(utcDate, this::convert);
+        }
+
+        /**
+         * The window containing the UTC time, as minute offsets from that time's date, or null
+         */
+        Window windowAt(LocalDateTime utcTime) {
+            LocalDate date = utcTime.toLocalDate();
+            int minute = minuteOfDay(utcTime.toLocalTime());
+            for (Window window : startingOn(date)) {
+                if (window.contains(minute)) {
+                    return window;
+                }
+            }
+            // A window that started the day before may run past midnight
+            for (Window window : startingOn(date.minusDays(1))) {
+                if (window.contains(minute + MINUTES_PER_DAY)) {
+                    return window.shift(-MINUTES_PER_DAY);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The clinic-local date of the window containing the UTC time. Local windows end by midnight, so this is
+         * the time's date in the window's zone; a time outside every window takes the template's zone.
+         */
+        LocalDate localDateAt(LocalDateTime utcTime) {
+            if (utcOnly) {
+                return utcTime.toLocalDate();
+            }
+            Window window = windowAt(utcTime);
+            ZoneId localZone = window != null ? window.zone() : zone;
+            return utcTime.atOffset(ZoneOffset.UTC).atZoneSameInstant(localZone).toLocalDate();
+        }
+
+        void removeDaysBefore(LocalDate cutoff) {
+            utcDays.keySet().removeIf(date -> date.isBefore(cutoff));
+        }
+
+        private List<Window> convert(LocalDate utcDate) {
+            LocalDateTime utcMidnight = utcDate.atStartOfDay();
+            List<Window> windows = new ArrayList<>();
+            // Zone offsets stay within a day, so only the neighbouring local dates can start on this UTC date
+            for (LocalDate localDate = utcDate.minusDays(1); !localDate.isAfter(utcDate.plusDays(1)); localDate = localDate.plusDays(1)) {
+                for (Window window : forDay(localDate.getDayOfWeek())) {
+                    Window utc = window.toUtc(localDate, utcMidnight);
+                    if (utc.startMinute() >= 0 && utc.startMinute() < MINUTES_PER_DAY) {
+                        windows.add(utc);
+                    }
+                }
+            }
+            windows.sort(Comparator.comparingInt(Window::startMinute));
+            return List.copyOf(windows);
+        }
+
+        /**
+         * The local window containing the minute of the local day, or null
+         */
+        Window windowAt(DayOfWeek dayOfWeek, int minute) {
+            for (Window window : forDay(dayOfWeek)) {
+                if (window.contains(minute)) {
+                    return window;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The most restrictive daily appointment limit of the clinic-local date's windows, or null when unlimited
+         */
+        Integer dailyLimit(LocalDate localDate) {
+            return forDay(localDate.getDayOfWeek()).stream()
+                    .map(Window::maxAppointmentsPerDay)
+                    .filter(limit -> limit != null && limit > 0)
+                    .min(Integer::compare)
+                    .orElse(null);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.healthcare.app.service;
 
+import com.healthcare.app.dto.CursorPage;
+import com.healthcare.app.dto.PageCursor;
 import com.healthcare.app.entity.EMR;
 import com.healthcare.app.entity.User;
 import com.healthcare.app.repository.EMRRepository;
@@ -7,6 +9,7 @@ import com.healthcare.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -229,6 +232,23 @@ public class EMRService {
         }
     }
     
+    /**
+     * Get EMRs by doctor, newest visit first, using keyset pagination on (visitDate, id)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EMR> getEMRsByDoctor(User doctor, String cursor, Integer limit) {
+        PageCursor before = PageCursor.decode(cursor);
+        int pageSize = CursorPage.clampLimit(limit);
+        
+        List<EMR> rows = emrRepository.findDoctorEMRBefore(
+            doctor,
+            before != null ? before.getPosition() : null,
+            before != null ? before.getId() : null,
+            PageRequest.of(0, pageSize + 1));
+        
+        return CursorPage.of(rows, pageSize, e -> new PageCursor(e.getVisitDate(), e.getId()));
+    }
+    
     /**
      * Get EMRs by date
      */
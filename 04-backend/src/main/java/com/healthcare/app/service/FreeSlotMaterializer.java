@@ -0,0 +1,200 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.repository.AppointmentRepository;
+import com.healthcare.app.repository.AvailabilityExceptionRepository;
+import com.healthcare.app.repository.DoctorAvailabilityRepository;
+import com.healthcare.app.repository.DoctorFreeSlotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maintains {@code doctor_free_slots}, the concrete bookable slots of the next weeks.
+ *
+ * Rows are cut from the doctor's template like the slot calendar's, minus breaks,
+ * exceptions and bookings, and days that reached their daily limit are left empty. The
+ * template, bookings and exceptions are read from the database for every rewrite rather
+ * than taken from this instance's caches, which miss changes made on other instances.
+ * Bookings and cancellations rewrite only the days they touch once they commit, template
+ * and exception edits rewrite the doctor's whole horizon, and a nightly rebuild rolls
+ * the horizon forward and repairs anything missed. Writes run in their own transaction
+ * because they are triggered from after-commit callbacks.
+ */
+@Component
+@Slf4j
+public class FreeSlotMaterializer {
+
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AvailabilityExceptionRepository availabilityExceptionRepository;
+    private final DoctorWeeklyTemplates doctorWeeklyTemplates;
+    private final DoctorDailyCapacity doctorDailyCapacity;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+
+    public FreeSlotMaterializer(DoctorAvailabilityRepository doctorAvailabilityRepository,
+                                AppointmentRepository appointmentRepository,
+                                AvailabilityExceptionRepository availabilityExceptionRepository,
+                                DoctorWeeklyTemplates doctorWeeklyTemplates,
+                                DoctorDailyCapacity doctorDailyCapacity,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.availability.free-slot-weeks:4}") int horizonWeeks) {
+        this.doctorAvailabilityRepository = doctorAvailabilityRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.availabilityExceptionRepository = availabilityExceptionRepository;
+        this.doctorWeeklyTemplates = doctorWeeklyTemplates;
+        this.doctorDailyCapacity = doctorDailyCapacity;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.horizonDays = horizonWeeks * 7;
+    }
+
+    /**
+     * Fill the table on first start; afterwards the nightly rebuild keeps it current
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!doctorAvailabilityRepository.hasFreeSlots()) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Drop past slots and rewrite every doctor's horizon
+     */
+    @Scheduled(cron = "${app.availability.free-slot-rebuild-cron:0 45 2 * * *}")
+    public void rebuildAll() {
+        int purged = transactionTemplate.execute(status ->
+                doctorAvailabilityRepository.deleteFreeSlotsBefore(LocalDate.now().atStartOfDay()));
+
+        List<Long> doctorIds = doctorAvailabilityRepository.findDoctorIdsWithAvailability();
+        int failed = 0;
+        for (Long doctorId : doctorIds) {
+            try {
+                rebuildDoctor(doctorId);
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("Failed to materialize free slots for doctor: {}", doctorId, e);
+            }
+        }
+
+        log.info("Materialized free slots for {} doctors ({} failed), purged {} past slots",
+                doctorIds.size() - failed, failed, purged);
+    }
+
+    /**
+     * Rewrite all of the doctor's slots within the horizon
+     */
+    public void rebuildDoctor(Long doctorId) {
+        LocalDate today = LocalDate.now();
+        rewriteDays(doctorId, today, today.plusDays(horizonDays - 1L));
+    }
+
+    /**
+     * Rewrite the days a booking or cancellation touched, once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(AppointmentConflictIndex.BookingChanged change) {
+        LocalDate today = LocalDate.now();
+        // Slots that run past midnight belong to the day before the change, and the clinic day whose
+        // capacity changed can reach into the next date
+        LocalDate from = max(change.start().toLocalDate().minusDays(1), today);
+        LocalDate to = min(change.end().toLocalDate().plusDays(1), today.plusDays(horizonDays - 1L));
+        if (from.isAfter(to)) {
+            return;
+        }
+
+        rewriteDays(change.doctorId(), from, to);
+    }
+
+    private void rewriteDays(Long doctorId, LocalDate from, LocalDate to) {
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            DoctorWeeklyTemplates.WeeklyTemplate template = doctorWeeklyTemplates.load(doctorId);
+            // Bookings are short, so one day back covers any that run into the range
+            BlockedIntervals blocked = BlockedIntervals.of(
+                    appointmentRepository.findBookedSlotsByDoctorFrom(doctorId, rangeStart.minusDays(1)),
+                    availabilityExceptionRepository.findIntervalsByDoctorIdEndingAfter(doctorId, rangeStart));
+            DoctorDailyCapacity.Snapshot capacity = doctorDailyCapacity.snapshot(List.of(doctorId), from, to);
+
+            List<DoctorFreeSlotRepository.FreeSlot> slots = DoctorSlotCalendar.slotsBetween(template, from, to,
+                    (start, end) -> !blocked.overlaps(start, end) && !capacity.isFull(doctorId, start));
+            doctorAvailabilityRepository.replaceFreeSlots(doctorId, rangeStart, rangeEnd, slots);
+        });
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Booked and absent intervals of one doctor, merged so an overlap check is a single lookup
+     */
+    private static final class BlockedIntervals {
+
+        private final NavigableMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+
+        static BlockedIntervals of(List<AppointmentRepository.BookedSlot> bookings,
+                                   List<AvailabilityExceptionRepository.ExceptionInterval> exceptions) {
+            List<LocalDateTime[]> all = new ArrayList<>(bookings.size() + exceptions.size());
+            for (AppointmentRepository.BookedSlot booking : bookings) {
+                all.add(new LocalDateTime[] {booking.getAppointmentDate(),
+                        booking.getAppointmentDate().plusMinutes(booking.getDurationMinutes())});
+            }
+            for (AvailabilityExceptionRepository.ExceptionInterval exception : exceptions) {
+                all.add(new LocalDateTime[] {exception.getStartDateTime(), exception.getEndDateTime()});
+            }
+            all.sort(Comparator.comparing(interval -> interval[0]));
+
+            BlockedIntervals blocked = new BlockedIntervals();
+            LocalDateTime start = null;
+            LocalDateTime end = null;
+            for (LocalDateTime[] interval : all) {
+                if (end != null && !interval[0].isAfter(end)) {
+                    end = interval[1].isAfter(end) ? interval[1] : end;
+                    continue;
+                }
+                if (start != null) {
+                    blocked.intervals.put(start, end);
+                }
+                start = interval[0];
+                end = interval[1];
+            }
+            if (start != null) {
+                blocked.intervals.put(start, end);
+            }
+            return blocked;
+        }
+
+        /**
+         * Whether [start, end) intersects any interval; merged intervals end in start order, so only the
+         * last one starting before the end can reach the start
+         */
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> last = intervals.lowerEntry(end);
+            return last != null && last.getValue().isAfter(start);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.healthcare.app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-app delivery. The committed row is already what the notification list reads, so this
+ * channel pushes it to the user's open notification streams.
+ */
+@Component
+@RequiredArgsConstructor
+public class InAppNotificationChannel implements NotificationChannel {
+
+    private final NotificationStreamHub notificationStreamHub;
+
+    @Override
+    public String name() {
+        return "in-app";
+    }
+
+    @Override
+    public void deliver(Delivery delivery) {
+        notificationStreamHub.publish(delivery);
+    }
+}
@@ -0,0 +1,65 @@
+package com.healthcare.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-node counter store in a size-bounded Caffeine cache; users idle past the TTL are dropped
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.counter-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryNotificationCounterStore implements NotificationCounterStore {
+
+    private final Cache<Long, Counts> counts;
+
+    public InMemoryNotificationCounterStore(@Value("${app.notifications.counter-max-users:100000}") long maxUsers,
+                                            @Value("${app.notifications.counter-ttl-seconds:3600}") long ttlSeconds) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public Optional<Counts> get(Long userId) {
+        return Optional.ofNullable(counts.getIfPresent(userId));
+    }
+
+    @Override
+    public void putIfAbsent(Long userId, Counts loaded) {
+        counts.asMap().putIfAbsent(userId, loaded);
+    }
+
+    @Override
+    public void put(Long userId, Counts loaded) {
+        counts.put(userId, loaded);
+    }
+
+    @Override
+    public void add(Long userId, long total, long unread, long highPriority) {
+        counts.asMap().computeIfPresent(userId, (id, current) -> current.plus(total, unread, highPriority));
+    }
+
+    @Override
+    public void resetUnread(Long userId) {
+        counts.asMap().computeIfPresent(userId, (id, current) -> new Counts(current.total(), 0, current.highPriority()));
+    }
+
+    @Override
+    public Collection<Long> cachedUserIds() {
+        return List.copyOf(counts.asMap().keySet());
+    }
+
+    @Override
+    public void clear() {
+        counts.invalidateAll();
+    }
+}
@@ -0,0 +1,148 @@
+package com.healthcare.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single-node hold store that expires holds with a timing wheel.
+ *
+ * Holds are kept per doctor as small immutable lists replaced atomically, so lookups never
+ * lock. Each hold is also dropped into the wheel bucket of its expiry second, and a
+ * once-a-second tick drains only the buckets that came due, so expiry costs O(1) per
+ * hold and never scans live holds. The wheel spans more than the hold TTL, so every
+ * bucket is due exactly once per hold. Released holds stay in their bucket and are
+ * skipped when it drains.
+ */
+@Component
+@ConditionalOnProperty(name = "app.availability.hold-store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemorySlotHoldStore implements SlotHoldStore {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final ConcurrentMap<Long, List<SlotHold>> holdsByDoctor = new ConcurrentHashMap<>();
+    private final Queue<SlotHold>[] wheel;
+    private final Clock clock;
+    private long lastTick;
+
+    @Autowired
+    public InMemorySlotHoldStore(@Value("${app.availability.hold-ttl-seconds:300}") long ttlSeconds) {
+        this(ttlSeconds, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    InMemorySlotHoldStore(long ttlSeconds, Clock clock) {
+        this.clock = clock;
+        int buckets = (int) (ttlSeconds * 1000 / TICK_MILLIS) + 2;
+        this.wheel = new Queue[buckets];
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = clock.millis() / TICK_MILLIS;
+    }
+
+    @Override
+    public boolean tryHold(SlotHold hold) {
+        Instant now = clock.instant();
+        boolean[] stored = {false};
+        holdsByDoctor.compute(hold.doctorId(), (doctorId, holds) -> {
+            List<SlotHold> live = new ArrayList<>();
+            if (holds != null) {
+                for (SlotHold existing : holds) {
+                    if (existing.isExpired(now)) {
+                        continue;
+                    }
+                    if (!existing.patientId().equals(hold.patientId()) && existing.overlaps(hold.start(), hold.end())) {
+                        return holds;
+                    }
+                    live.add(existing);
+                }
+            }
+            live.add(hold);
+            stored[0] = true;
+            return List.copyOf(live);
+        });
+
+        if (stored[0]) {
+            // Rounded up, so the bucket never drains before the hold has expired
+            long expiryTick = (hold.expiresAt().toEpochMilli() + TICK_MILLIS - 1) / TICK_MILLIS;
+            wheel[bucketOf(expiryTick)].add(hold);
+        }
+        return stored[0];
+    }
+
+    @Override
+    public boolean isHeldByOthers(Long doctorId, LocalDateTime start, LocalDateTime end, Long patientId) {
+        Instant now = clock.instant();
+        return holdsByDoctor.getOrDefault(doctorId, List.of()).stream()
+                .anyMatch(hold -> !hold.isExpired(now) && !hold.patientId().equals(patientId) && hold.overlaps(start, end));
+    }
+
+    @Override
+    public Optional<SlotHold> find(Long doctorId, String token) {
+        Instant now = clock.instant();
+        return holdsByDoctor.getOrDefault(doctorId, List.of()).stream()
+                .filter(hold -> hold.token().equals(token) && !hold.isExpired(now))
+                .findFirst();
+    }
+
+    @Override
+    public void release(Long doctorId, String token) {
+        remove(doctorId, token);
+    }
+
+    /**
+     * Drain the buckets whose second has passed since the last tick
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public synchronized void advance() {
+        long now = clock.millis() / TICK_MILLIS;
+        // After a long pause every bucket is due, but each needs draining only once
+        long from = Math.max(lastTick + 1, now - wheel.length + 1);
+        int expired = 0;
+        for (long tick = from; tick <= now; tick++) {
+            Queue<SlotHold> bucket = wheel[bucketOf(tick)];
+            for (SlotHold hold = bucket.poll(); hold != null; hold = bucket.poll()) {
+                if (remove(hold.doctorId(), hold.token())) {
+                    expired++;
+                }
+            }
+        }
+        lastTick = now;
+
+        if (expired > 0) {
+            log.debug("Expired {} slot holds", expired);
+        }
+    }
+
+    private boolean remove(Long doctorId, String token) {
+        boolean[] removed = {false};
+        holdsByDoctor.computeIfPresent(doctorId, (id, holds) -> {
+            List<SlotHold> remaining = holds.stream()
+                    .filter(hold -> !hold.token().equals(token))
+                    .toList();
+            removed[0] = remaining.size() < holds.size();
+            return remaining.isEmpty() ? null : remaining;
+        });
+        return removed[0];
+    }
+
+    private int bucketOf(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+}
@@ -0,0 +1,38 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Notification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for the email channel that logs instead of sending, for development
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.email-channel", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingEmailNotificationChannel implements NotificationChannel {
+
+    private final Notification.NotificationPriority minPriority;
+
+    public LoggingEmailNotificationChannel(
+            @Value("${app.notifications.email-min-priority:MEDIUM}") Notification.NotificationPriority minPriority) {
+        this.minPriority = minPriority;
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public boolean accepts(Delivery delivery) {
+        return delivery.email() != null && delivery.priority().compareTo(minPriority) >= 0;
+    }
+
+    @Override
+    public void deliver(Delivery delivery) {
+        log.info("Email to {}: {}", delivery.email(), delivery.title());
+    }
+}
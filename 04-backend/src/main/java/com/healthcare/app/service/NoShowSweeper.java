@@ -0,0 +1,127 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.AppointmentEvent;
+import com.healthcare.app.repository.AppointmentBatchRepository.OverdueAppointment;
+import com.healthcare.app.repository.AppointmentEventRepository;
+import com.healthcare.app.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Marks CONFIRMED appointments as NO_SHOW once they ended more than a grace period ago.
+ *
+ * Each chunk locks a bounded set of overdue rows with SKIP LOCKED, flips them with one
+ * set-based UPDATE and appends their outbox events in one batch, all in its own transaction,
+ * so concurrent instances split the work instead of blocking each other. Audit rows are
+ * written by the outbox consumers like for any other transition.
+ */
+@Component
+@Slf4j
+public class NoShowSweeper {
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentConflictIndex appointmentConflictIndex;
+    private final DoctorSlotReservations doctorSlotReservations;
+    private final AppointmentEventRepository appointmentEventRepository;
+    private final AppointmentEventRelay appointmentEventRelay;
+    private final TransactionTemplate transactionTemplate;
+    private final long graceMinutes;
+    private final int batchSize;
+
+    private final Counter sweptCounter;
+    private final Timer sweepTimer;
+    private final AtomicLong lastRunSwept = new AtomicLong();
+
+    public NoShowSweeper(AppointmentRepository appointmentRepository,
+                         AppointmentConflictIndex appointmentConflictIndex,
+                         DoctorSlotReservations doctorSlotReservations,
+                         AppointmentEventRepository appointmentEventRepository,
+                         AppointmentEventRelay appointmentEventRelay,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.appointments.no-show-grace-minutes:15}") long graceMinutes,
+                         @Value("${app.appointments.no-show-sweep-batch-size:500}") int batchSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentConflictIndex = appointmentConflictIndex;
+        this.doctorSlotReservations = doctorSlotReservations;
+        this.appointmentEventRepository = appointmentEventRepository;
+        this.appointmentEventRelay = appointmentEventRelay;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.graceMinutes = graceMinutes;
+        this.batchSize = batchSize;
+
+        this.sweptCounter = Counter.builder("appointments.no_show.swept")
+                .description("Appointments marked as no-show by the sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("appointments.no_show.sweep")
+                .description("Duration of a no-show sweep run")
+                .register(meterRegistry);
+        meterRegistry.gauge("appointments.no_show.last_run_swept", lastRunSwept);
+    }
+
+    /**
+     * Sweep all overdue CONFIRMED appointments in bounded chunks
+     */
+    @Scheduled(fixedDelayString = "${app.appointments.no-show-sweep-interval-ms:300000}")
+    public void sweep() {
+        long swept = sweepTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime endedBefore = now.minusMinutes(graceMinutes);
+
+            long total = 0;
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> sweepChunk(endedBefore, now));
+                total += chunk;
+            } while (chunk == batchSize);
+            return total;
+        });
+
+        lastRunSwept.set(swept);
+        sweptCounter.increment(swept);
+        if (swept > 0) {
+            log.info("Marked {} overdue appointments as no-show", swept);
+        }
+    }
+
+    private int sweepChunk(LocalDateTime endedBefore, LocalDateTime now) {
+        List<OverdueAppointment> overdue = appointmentRepository.lockOverdueConfirmed(endedBefore, batchSize);
+        if (overdue.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = overdue.stream().map(OverdueAppointment::id).collect(Collectors.toList());
+        appointmentRepository.markNoShow(ids, now);
+        doctorSlotReservations.release(ids);
+        overdue.forEach(appointment -> appointmentConflictIndex.remove(appointment.doctorId(), appointment.id()));
+
+        appointmentEventRepository.batchInsert(overdue.stream()
+                .map(appointment -> AppointmentEvent.builder()
+                        .appointmentId(appointment.id())
+                        .doctorId(appointment.doctorId())
+                        .patientId(appointment.patientId())
+                        .fromStatus(Appointment.AppointmentStatus.CONFIRMED)
+                        .toStatus(Appointment.AppointmentStatus.NO_SHOW)
+                        .details("Marked by sweeper after " + graceMinutes + " minute grace period")
+                        .occurredAt(now)
+                        .build())
+                .collect(Collectors.toList()));
+        appointmentEventRelay.relayAfterCommit();
+
+        // Rows are locked, so every one of them was updated; the locked count drives the loop
+        return overdue.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Set-based notification writes that touch many rows.
+ *
+ * Both paths run UPDATE/DELETE ... LIMIT in a loop until a chunk comes back short, so memory
+ * stays constant and each statement locks a bounded number of rows. Retention chunks commit
+ * on their own, so a long purge never holds one huge transaction, and the counters advance
+ * after every chunk so a running purge shows its progress.
+ */
+@Component
+@Slf4j
+class NotificationBulkOperations {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounters notificationCounters;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int retentionDays;
+
+    private final Counter markedReadCounter;
+    private final Counter purgedCounter;
+    private final Timer purgeTimer;
+    private final AtomicLong lastRunPurged = new AtomicLong();
+
+    public NotificationBulkOperations(NotificationRepository notificationRepository,
+                                      NotificationCounters notificationCounters,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.notifications.bulk-chunk-size:5000}") int chunkSize,
+                                      @Value("${app.notifications.retention-days:90}") int retentionDays) {
+        this.notificationRepository = notificationRepository;
+        this.notificationCounters = notificationCounters;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.retentionDays = retentionDays;
+
+        this.markedReadCounter = Counter.builder("notifications.bulk_read.marked")
+                .description("Notifications marked as read by mark-all-as-read")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("notifications.retention.purged")
+                .description("Notifications deleted by the retention cleanup")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("notifications.retention.purge")
+                .description("Duration of a notification retention run")
+                .register(meterRegistry);
+        meterRegistry.gauge("notifications.retention.last_run_purged", lastRunPurged);
+    }
+
+    /**
+     * Mark every unread notification of the user as read, in the caller's transaction
+     */
+    long markAllAsRead(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        int chunk;
+        do {
+            chunk = notificationRepository.markUnreadAsRead(userId, now, chunkSize);
+            total += chunk;
+            markedReadCounter.increment(chunk);
+        } while (chunk == chunkSize);
+
+        notificationCounters.allReadAfterCommit(userId);
+        return total;
+    }
+
+    @Scheduled(cron = "${app.notifications.retention-cron:0 0 4 * * *}")
+    void purgeExpired() {
+        purgeCreatedBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Delete notifications created before the cutoff, one committed chunk at a time
+     */
+    long purgeCreatedBefore(LocalDateTime cutoff) {
+        long purged = purgeTimer.record(() -> {
+            long total = 0;
+            int chunk;
+            do {
+                chunk = chunkTransaction.execute(status -> notificationRepository.deleteCreatedBefore(cutoff, chunkSize));
+                total += chunk;
+                purgedCounter.increment(chunk);
+                if (chunk > 0) {
+                    log.debug("Purged {} notifications created before {} so far", total, cutoff);
+                }
+            } while (chunk == chunkSize);
+            return total;
+        });
+
+        lastRunPurged.set(purged);
+        if (purged > 0) {
+            notificationCounters.clearAfterCommit();
+            log.info("Purged {} notifications created before {}", purged, cutoff);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,40 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * A way of delivering a persisted notification to its user, run on the channel's own workers.
+ * Throwing from {@link #deliver} makes the dispatcher retry the delivery later.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Short name used for worker threads and dead letters
+     */
+    String name();
+
+    /**
+     * Whether this channel should deliver the notification at all
+     */
+    default boolean accepts(Delivery delivery) {
+        return true;
+    }
+
+    void deliver(Delivery delivery) throws Exception;
+
+    /**
+     * Snapshot of a committed notification, so workers never touch the caller's entities
+     */
+    record Delivery(Long notificationId, Long userId, String email, Notification.NotificationType type,
+                    Notification.NotificationPriority priority, String title, String message, LocalDateTime createdAt) {
+
+        static Delivery of(Notification notification, User user) {
+            return new Delivery(notification.getId(), user.getId(), user.getEmail(), notification.getType(),
+                    notification.getPriority(), notification.getTitle(), notification.getMessage(),
+                    notification.getCreatedAt());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.healthcare.app.service;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Cached per-user notification counts behind the header badge.
+ * Deltas only touch users already cached; a missing user is loaded from the database on the next read.
+ */
+public interface NotificationCounterStore {
+
+    Optional<Counts> get(Long userId);
+
+    /**
+     * Cache counts loaded from the database unless a concurrent load got there first
+     */
+    void putIfAbsent(Long userId, Counts counts);
+
+    /**
+     * Overwrite with counts recomputed from the database
+     */
+    void put(Long userId, Counts counts);
+
+    /**
+     * Atomically add the deltas when the user is cached; counts never drop below zero
+     */
+    void add(Long userId, long total, long unread, long highPriority);
+
+    void resetUnread(Long userId);
+
+    Collection<Long> cachedUserIds();
+
+    void clear();
+
+    record Counts(long total, long unread, long highPriority) {
+
+        static final Counts ZERO = new Counts(0, 0, 0);
+
+        Counts plus(long totalDelta, long unreadDelta, long highPriorityDelta) {
+            return new Counts(Math.max(0, total + totalDelta), Math.max(0, unread + unreadDelta),
+                    Math.max(0, highPriority + highPriorityDelta));
+        }
+    }
+}
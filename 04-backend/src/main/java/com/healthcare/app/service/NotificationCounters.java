@@ -0,0 +1,92 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user notification counts served from the {@link NotificationCounterStore}.
+ *
+ * A miss loads all three counts with one grouped query. Changes are applied as deltas once
+ * their transaction commits, so rolled-back writes never show up in the badge. A delta that
+ * races with a miss-load can be counted twice; the periodic reconciliation recomputes every
+ * cached user from the database and corrects such drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class NotificationCounters {
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationCounterStore notificationCounterStore;
+    private final NotificationRepository notificationRepository;
+
+    NotificationCounterStore.Counts get(Long userId) {
+        return notificationCounterStore.get(userId).orElseGet(() -> {
+            NotificationCounterStore.Counts loaded = load(List.of(userId)).getOrDefault(userId, NotificationCounterStore.Counts.ZERO);
+            notificationCounterStore.putIfAbsent(userId, loaded);
+            return loaded;
+        });
+    }
+
+    void createdAfterCommit(Notification notification) {
+        Long userId = notification.getUser().getId();
+        long highPriority = isHighPriority(notification) ? 1 : 0;
+        TransactionCompensation.afterCommit(() -> notificationCounterStore.add(userId, 1, 1, highPriority));
+    }
+
+    void readAfterCommit(Long userId) {
+        TransactionCompensation.afterCommit(() -> notificationCounterStore.add(userId, 0, -1, 0));
+    }
+
+    void allReadAfterCommit(Long userId) {
+        TransactionCompensation.afterCommit(() -> notificationCounterStore.resetUnread(userId));
+    }
+
+    void deletedAfterCommit(Notification notification) {
+        Long userId = notification.getUser().getId();
+        long unread = Boolean.TRUE.equals(notification.getIsRead()) ? 0 : -1;
+        long highPriority = isHighPriority(notification) ? -1 : 0;
+        TransactionCompensation.afterCommit(() -> notificationCounterStore.add(userId, -1, unread, highPriority));
+    }
+
+    /**
+     * Drop every cached count once a bulk change commits; users reload on their next read
+     */
+    void clearAfterCommit() {
+        TransactionCompensation.afterCommit(notificationCounterStore::clear);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.counter-reconcile-ms:300000}")
+    void reconcile() {
+        List<Long> userIds = new ArrayList<>(notificationCounterStore.cachedUserIds());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            Map<Long, NotificationCounterStore.Counts> counts = load(batch);
+            for (Long userId : batch) {
+                notificationCounterStore.put(userId, counts.getOrDefault(userId, NotificationCounterStore.Counts.ZERO));
+            }
+        }
+        log.debug("Reconciled notification counters of {} users", userIds.size());
+    }
+
+    private Map<Long, NotificationCounterStore.Counts> load(List<Long> userIds) {
+        return notificationRepository.countByUserIds(userIds).stream()
+                .collect(Collectors.toMap(NotificationRepository.UserCounts::getUserId,
+                        counts -> new NotificationCounterStore.Counts(counts.getTotal(), counts.getUnread(), counts.getHighPriority()),
+                        (first, second) -> first));
+    }
+
+    private static boolean isHighPriority(Notification notification) {
+        return notification.getPriority() == Notification.NotificationPriority.HIGH;
+    }
+}
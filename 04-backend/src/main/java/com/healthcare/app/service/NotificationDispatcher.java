@@ -0,0 +1,194 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.entity.NotificationDeadLetter;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.NotificationDeadLetterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers committed notifications through every {@link NotificationChannel} off the request thread.
+ *
+ * Each channel has its own small worker pool behind a bounded queue, so a slow SMTP server
+ * only backs up the email queue. Handing off never blocks the caller: a full queue counts
+ * as a failed attempt, and failed attempts are re-offered after an exponential backoff with
+ * jitter. A delivery that runs out of attempts, or finds the retry backlog full, is written
+ * to the dead-letter table. Deliveries still queued at shutdown are lost; the persisted
+ * notification itself is not.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final List<ChannelWorkers> channels;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final ScheduledThreadPoolExecutor retryScheduler;
+    private final int maxAttempts;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final int maxPendingRetries;
+
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+
+    public NotificationDispatcher(List<NotificationChannel> channels,
+                                  NotificationDeadLetterRepository deadLetterRepository,
+                                  @Value("${app.notifications.workers-per-channel:2}") int workersPerChannel,
+                                  @Value("${app.notifications.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${app.notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${app.notifications.retry-base-ms:1000}") long retryBaseMillis,
+                                  @Value("${app.notifications.retry-max-ms:300000}") long retryMaxMillis) {
+        this.channels = channels.stream()
+                .map(channel -> new ChannelWorkers(channel, workersPerChannel, queueCapacity))
+                .toList();
+        this.deadLetterRepository = deadLetterRepository;
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, threadFactory("notification-retry"));
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.maxPendingRetries = queueCapacity;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        for (ChannelWorkers workers : channels) {
+            workers.executor.shutdown();
+        }
+        for (ChannelWorkers workers : channels) {
+            workers.executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Hand the notification to every accepting channel once the current transaction commits
+     */
+    public void dispatchAfterCommit(Notification notification, User user) {
+        NotificationChannel.Delivery delivery = NotificationChannel.Delivery.of(notification, user);
+        TransactionCompensation.afterCommit(() -> dispatch(delivery));
+    }
+
+    private void dispatch(NotificationChannel.Delivery delivery) {
+        for (ChannelWorkers workers : channels) {
+            if (workers.channel.accepts(delivery)) {
+                offer(workers, delivery, 1);
+            }
+        }
+    }
+
+    private void offer(ChannelWorkers workers, NotificationChannel.Delivery delivery, int attempt) {
+        try {
+            workers.executor.execute(() -> deliver(workers, delivery, attempt));
+        } catch (RejectedExecutionException e) {
+            if (!workers.executor.isShutdown()) {
+                retryLater(workers, delivery, attempt, "Channel queue full");
+            }
+        }
+    }
+
+    private void deliver(ChannelWorkers workers, NotificationChannel.Delivery delivery, int attempt) {
+        try {
+            workers.channel.deliver(delivery);
+        } catch (Exception e) {
+            log.warn("Delivery of notification {} over {} failed on attempt {}: {}",
+                    delivery.notificationId(), workers.channel.name(), attempt, e.getMessage());
+            retryLater(workers, delivery, attempt, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void retryLater(ChannelWorkers workers, NotificationChannel.Delivery delivery, int attempt, String error) {
+        if (attempt >= maxAttempts) {
+            deadLetterLater(workers, delivery, attempt, error);
+            return;
+        }
+        if (pendingRetries.incrementAndGet() > maxPendingRetries) {
+            pendingRetries.decrementAndGet();
+            deadLetterLater(workers, delivery, attempt, "Retry backlog full after: " + error);
+            return;
+        }
+
+        try {
+            retryScheduler.schedule(() -> {
+                pendingRetries.decrementAndGet();
+                offer(workers, delivery, attempt + 1);
+            }, backoffMillis(attempt), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pendingRetries.decrementAndGet();
+        }
+    }
+
+    /**
+     * Full jitter over an exponentially growing window, so retries after an outage spread out
+     */
+    private long backoffMillis(int attempt) {
+        long window = Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(window + 1);
+    }
+
+    /**
+     * Dead letters are written on the retry thread, never on the thread that committed the notification
+     */
+    private void deadLetterLater(ChannelWorkers workers, NotificationChannel.Delivery delivery, int attempts, String error) {
+        try {
+            retryScheduler.execute(() -> deadLetter(workers, delivery, attempts, error));
+        } catch (RejectedExecutionException e) {
+            log.error("Dropped notification {} over {} at shutdown: {}", delivery.notificationId(), workers.channel.name(), error);
+        }
+    }
+
+    private void deadLetter(ChannelWorkers workers, NotificationChannel.Delivery delivery, int attempts, String error) {
+        log.error("Giving up on notification {} over {} after {} attempts: {}",
+                delivery.notificationId(), workers.channel.name(), attempts, error);
+        try {
+            deadLetterRepository.save(NotificationDeadLetter.builder()
+                    .notificationId(delivery.notificationId())
+                    .userId(delivery.userId())
+                    .channel(workers.channel.name())
+                    .attempts(attempts)
+                    .lastError(error)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to record dead letter for notification {}: {}", delivery.notificationId(), e.getMessage(), e);
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A channel with its worker pool and bounded queue
+     */
+    private static final class ChannelWorkers {
+
+        private final NotificationChannel channel;
+        private final ThreadPoolExecutor executor;
+
+        private ChannelWorkers(NotificationChannel channel, int workers, int queueCapacity) {
+            this.channel = channel;
+            this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory("notify-" + channel.name()),
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.healthcare.app.service;
 
+import com.healthcare.app.entity.AuditLog;
 import com.healthcare.app.entity.Notification;
 import com.healthcare.app.entity.User;
 import com.healthcare.app.repository.NotificationRepository;
@@ -12,8 +13,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +29,12 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationCounters notificationCounters;
+    private final NotificationBulkOperations notificationBulkOperations;
     
     /**
-     * Create a new notification
+     * Create a new notification; channel delivery starts after the caller's transaction commits
      */
     public Notification createNotification(Notification notification) {
         log.info("Creating notification for user: {} with type: {}", 
@@ -44,6 +52,7 @@ public class NotificationService {
         }
         
         // Set default values
+        notification.setUser(user);
         notification.setIsRead(false);
         notification.setCreatedAt(LocalDateTime.now());
         notification.setUpdatedAt(LocalDateTime.now());
@@ -54,22 +63,81 @@ public class NotificationService {
         auditService.logAction("NOTIFICATION_CREATED", user.getId(), "NOTIFICATION", savedNotification.getId(), 
                               "Notification created: " + notification.getType());
         
+        notificationCounters.createdAfterCommit(savedNotification);
+        notificationDispatcher.dispatchAfterCommit(savedNotification, user);
+        
         log.info("Notification created successfully with ID: {}", savedNotification.getId());
         return savedNotification;
     }
     
+    /**
+     * Create many notifications with one batched insert, e.g. the reminders due in one tick.
+     * Notifications for missing or inactive users are skipped rather than failing the batch.
+     */
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        notifications.forEach(this::validateNotificationData);
+        
+        Map<Long, User> activeUsers = userRepository.findAllById(notifications.stream()
+                        .map(notification -> notification.getUser().getId())
+                        .collect(Collectors.toSet())).stream()
+                .filter(User::getIsActive)
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> accepted = new ArrayList<>();
+        for (Notification notification : notifications) {
+            User user = activeUsers.get(notification.getUser().getId());
+            if (user == null) {
+                log.warn("Skipping notification for missing or inactive user: {}", notification.getUser().getId());
+                continue;
+            }
+            notification.setUser(user);
+            notification.setIsRead(false);
+            notification.setCreatedAt(now);
+            notification.setUpdatedAt(now);
+            accepted.add(notification);
+        }
+        
+        notificationRepository.batchInsert(accepted);
+        
+        auditService.logActions(accepted.stream()
+                .map(notification -> AuditLog.builder()
+                        .user(notification.getUser())
+                        .action("NOTIFICATION_CREATED")
+                        .resourceType("NOTIFICATION")
+                        .resourceId(notification.getId())
+                        .details("Notification created: " + notification.getType())
+                        .createdAt(now)
+                        .build())
+                .collect(Collectors.toList()));
+        
+        for (Notification notification : accepted) {
+            notificationCounters.createdAfterCommit(notification);
+            notificationDispatcher.dispatchAfterCommit(notification, notification.getUser());
+        }
+        
+        log.info("Created {} notifications in one batch", accepted.size());
+        return accepted;
+    }
+    
     /**
      * Create appointment reminder notification
      */
     public Notification createAppointmentReminder(User user, String appointmentDetails, LocalDateTime appointmentTime) {
+        return createNotification(appointmentReminder(user, appointmentDetails, appointmentTime));
+    }
+    
+    /**
+     * Build an unsaved appointment reminder
+     */
+    static Notification appointmentReminder(User user, String appointmentDetails, LocalDateTime appointmentTime) {
         Notification notification = new Notification();
         notification.setUser(user);
         notification.setType(Notification.NotificationType.APPOINTMENT_REMINDER);
         notification.setTitle("Appointment Reminder");
         notification.setMessage("You have an upcoming appointment: " + appointmentDetails + " at " + appointmentTime);
         notification.setPriority(Notification.NotificationPriority.MEDIUM);
-        
-        return createNotification(notification);
+        return notification;
     }
     
     /**
@@ -86,6 +154,20 @@ public class NotificationService {
         return createNotification(notification);
     }
     
+    /**
+     * Create notification for an appointment booked from the patient's waitlist entry
+     */
+    public Notification createWaitlistBooking(User user, String appointmentDetails, LocalDateTime appointmentTime) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setType(Notification.NotificationType.APPOINTMENT_CONFIRMED);
+        notification.setTitle("Appointment Booked From Waitlist");
+        notification.setMessage("A slot opened up and has been booked for you: " + appointmentDetails + " at " + appointmentTime);
+        notification.setPriority(Notification.NotificationPriority.HIGH);
+        
+        return createNotification(notification);
+    }
+    
     /**
      * Create appointment cancellation notification
      */
@@ -140,6 +222,10 @@ public class NotificationService {
         // Check if user has permission to mark this notification as read
         validateNotificationAccess(notification, userId);
         
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notificationCounters.readAfterCommit(notification.getUser().getId());
+        }
+        
         notification.setIsRead(true);
         notification.setReadAt(LocalDateTime.now());
         notification.setUpdatedAt(LocalDateTime.now());
@@ -155,26 +241,18 @@ public class NotificationService {
     }
     
     /**
-     * Mark all notifications as read for a user
+     * Mark all notifications as read for a user with chunked set-based updates
      */
     public void markAllAsRead(Long userId) {
         log.info("Marking all notifications as read for user: {}", userId);
         
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndIsReadFalse(userId);
-        
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
-            notification.setReadAt(LocalDateTime.now());
-            notification.setUpdatedAt(LocalDateTime.now());
-        }
-        
-        notificationRepository.saveAll(unreadNotifications);
+        long marked = notificationBulkOperations.markAllAsRead(userId);
         
         // Audit the bulk read action
         auditService.logAction("NOTIFICATIONS_BULK_READ", userId, "NOTIFICATION", null, 
-                              "All notifications marked as read");
+                              "All notifications marked as read: " + marked);
         
-        log.info("All notifications marked as read for user: {}", userId);
+        log.info("Marked {} notifications as read for user: {}", marked, userId);
     }
     
     /**
@@ -190,6 +268,7 @@ public class NotificationService {
         validateNotificationAccess(notification, userId);
         
         notificationRepository.delete(notification);
+        notificationCounters.deletedAfterCommit(notification);
         
         // Audit the notification deletion
         auditService.logAction("NOTIFICATION_DELETED", userId, "NOTIFICATION", notificationId, 
@@ -255,27 +334,27 @@ public class NotificationService {
     }
     
     /**
-     * Get notification count for user
+     * Get notification count for user, served from the counter cache
      */
     @Transactional(readOnly = true)
     public long getNotificationCount(User user) {
-        return notificationRepository.countByUser(user);
+        return notificationCounters.get(user.getId()).total();
     }
     
     /**
-     * Get unread notification count for user
+     * Get unread notification count for user, served from the counter cache
      */
     @Transactional(readOnly = true)
     public long getUnreadNotificationCount(User user) {
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        return notificationCounters.get(user.getId()).unread();
     }
     
     /**
-     * Get high priority notification count for user
+     * Get high priority notification count for user, served from the counter cache
      */
     @Transactional(readOnly = true)
     public long getHighPriorityNotificationCount(User user) {
-        return notificationRepository.countByUserAndPriority(user, Notification.NotificationPriority.HIGH);
+        return notificationCounters.get(user.getId()).highPriority();
     }
     
     /**
@@ -314,17 +393,15 @@ public class NotificationService {
     }
     
     /**
-     * Clean up old notifications
+     * Clean up old notifications in chunks that each commit on their own
      */
     public void cleanupOldNotifications(int daysToKeep) {
         log.info("Cleaning up notifications older than {} days", daysToKeep);
         
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
-        List<Notification> oldNotifications = notificationRepository.findByCreatedAtBefore(cutoffDate);
-        
-        notificationRepository.deleteAll(oldNotifications);
+        long deleted = notificationBulkOperations.purgeCreatedBefore(cutoffDate);
         
-        log.info("Cleaned up {} old notifications", oldNotifications.size());
+        log.info("Cleaned up {} old notifications", deleted);
     }
     
     /**
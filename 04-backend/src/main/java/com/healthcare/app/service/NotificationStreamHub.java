@@ -0,0 +1,290 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.dto.NotificationResponse;
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes new notifications to users' open Server-Sent Event streams.
+ *
+ * Subscribers are kept per user as small immutable lists replaced atomically, so publishing
+ * never locks. Publishing only appends to each subscriber's outbox and schedules a drain on
+ * the hub's pool; at most one drain per subscriber is pending, so one slow client never
+ * holds up another or the publisher. A client whose outbox overflows is disconnected and
+ * catches up on reconnect: the event ID is the notification ID, and a reconnect carrying
+ * Last-Event-ID first replays the newer rows from the database, skipping queued live events
+ * the replay already covered.
+ */
+@Component
+@Slf4j
+public class NotificationStreamHub {
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final NotificationRepository notificationRepository;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int maxStreamsPerUser;
+    private final int outboxCapacity;
+    private final int replayLimit;
+
+    private final ConcurrentMap<Long, List<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+
+    public NotificationStreamHub(NotificationRepository notificationRepository,
+                                 @Value("${app.notifications.stream-threads:4}") int threads,
+                                 @Value("${app.notifications.stream-timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${app.notifications.stream-max-per-user:5}") int maxStreamsPerUser,
+                                 @Value("${app.notifications.stream-outbox-capacity:100}") int outboxCapacity,
+                                 @Value("${app.notifications.stream-replay-limit:100}") int replayLimit) {
+        this.notificationRepository = notificationRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.outboxCapacity = outboxCapacity;
+        this.replayLimit = replayLimit;
+
+        // Each subscriber has at most one pending drain, so the queue is bounded by the number of streams
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        executor.shutdownNow();
+    }
+
+    /**
+     * Open a stream for the user, replaying notifications after lastEventId when the client is reconnecting
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMillis), lastEventId);
+        subscriber.emitter.onCompletion(() -> unregister(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribersByUser.compute(userId, (id, subscribers) -> {
+            List<Subscriber> updated = new ArrayList<>(subscribers == null ? List.of() : subscribers);
+            // Streams left open by closed tabs would otherwise pile up until they time out
+            while (updated.size() >= maxStreamsPerUser) {
+                evicted.add(updated.remove(0));
+            }
+            updated.add(subscriber);
+            return List.copyOf(updated);
+        });
+        evicted.forEach(Subscriber::close);
+
+        subscriber.scheduleDrain();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Push a committed notification to the user's open streams
+     */
+    public void publish(NotificationChannel.Delivery delivery) {
+        List<Subscriber> subscribers = subscribersByUser.get(delivery.userId());
+        if (subscribers == null) {
+            return;
+        }
+
+        NotificationResponse response = toResponse(delivery);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(response);
+        }
+    }
+
+    /**
+     * Keep idle streams open through proxies and detect clients that went away
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream-heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT)));
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            List<Subscriber> remaining = subscribers.stream()
+                    .filter(existing -> existing != subscriber)
+                    .toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static NotificationResponse toResponse(NotificationChannel.Delivery delivery) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(delivery.notificationId());
+        response.setUserId(delivery.userId());
+        response.setType(delivery.type());
+        response.setPriority(delivery.priority());
+        response.setTitle(delivery.title());
+        response.setMessage(delivery.message());
+        response.setIsRead(false);
+        response.setCreatedAt(delivery.createdAt());
+        response.setUpdatedAt(delivery.createdAt());
+        return response;
+    }
+
+    private static NotificationResponse toResponse(Notification notification, Long userId) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(notification.getId());
+        response.setUserId(userId);
+        response.setType(notification.getType());
+        response.setPriority(notification.getPriority());
+        response.setTitle(notification.getTitle());
+        response.setMessage(notification.getMessage());
+        response.setIsRead(notification.getIsRead());
+        response.setCreatedAt(notification.getCreatedAt());
+        response.setUpdatedAt(notification.getUpdatedAt());
+        return response;
+    }
+
+    /**
+     * One open stream; only the drain running on the hub's pool writes to the emitter
+     */
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Object> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger outboxSize = new AtomicInteger();
+        private final AtomicBoolean drainPending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * Last notification ID the client had on reconnect; replay runs on the first drain when set
+         */
+        private final Long lastEventId;
+        private boolean replayPending;
+
+        /**
+         * IDs sent by the replay, so the same notifications arriving live are not sent twice.
+         * IDs are assigned at insert, not at commit, so live events are never filtered by ID order.
+         */
+        private Set<Long> replayedIds = Set.of();
+
+        private Subscriber(Long userId, SseEmitter emitter, Long lastEventId) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.lastEventId = lastEventId;
+            this.replayPending = lastEventId != null;
+        }
+
+        void enqueue(Object event) {
+            if (closed.get()) {
+                return;
+            }
+            if (outboxSize.incrementAndGet() > outboxCapacity) {
+                log.debug("Notification stream of user: {} fell behind, disconnecting", userId);
+                close();
+                return;
+            }
+            outbox.add(event);
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (drainPending.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (replayPending) {
+                    replayPending = false;
+                    replay();
+                }
+                for (Object event = outbox.poll(); event != null && !closed.get(); event = outbox.poll()) {
+                    outboxSize.decrementAndGet();
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } catch (Exception e) {
+                log.warn("Notification stream of user: {} failed: {}", userId, e.getMessage());
+                close();
+            } finally {
+                // Cleared only after the loop, so two drains never write to the emitter at once
+                drainPending.set(false);
+                if (!outbox.isEmpty() && !closed.get()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void replay() throws IOException {
+            List<Notification> missed = notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                    userId, lastEventId, PageRequest.of(0, replayLimit + 1));
+            if (missed.size() > replayLimit) {
+                // Too far behind to replay; the client reloads its list instead
+                emitter.send(SseEmitter.event().name("resync").data(""));
+                return;
+            }
+            for (Notification notification : missed) {
+                send(toResponse(notification, userId));
+            }
+            replayedIds = missed.stream().map(Notification::getId).collect(Collectors.toSet());
+        }
+
+        private void send(Object event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment(HEARTBEAT));
+                return;
+            }
+
+            NotificationResponse response = (NotificationResponse) event;
+            if (replayedIds.contains(response.getId())) {
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(response.getId()))
+                    .name("notification")
+                    .data(response, MediaType.APPLICATION_JSON));
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                try {
+                    emitter.complete();
+                } catch (Exception e) {
+                    // Already completed by the container
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.healthcare.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Counter store shared by all nodes through Redis.
+ *
+ * Each user has a hash of total, unread and high-priority counts. Deltas run as scripts that
+ * only touch existing hashes, so a user whose counts expired is never half-initialized by an
+ * increment. Every write pushes the key's expiry out by the TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.counter-store", havingValue = "redis")
+public class RedisNotificationCounterStore implements NotificationCounterStore {
+
+    private static final String KEY_PREFIX = "notification-counters:";
+
+    /**
+     * KEYS: hash; ARGV: total, unread, high, ttlMillis, onlyIfAbsent
+     */
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            if ARGV[5] == '1' and redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'total', ARGV[1], 'unread', ARGV[2], 'high', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: hash; ARGV: total delta, unread delta, high delta, ttlMillis
+     */
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local fields = {'total', 'unread', 'high'}
+            for i = 1, 3 do
+                if redis.call('HINCRBY', KEYS[1], fields[i], ARGV[i]) < 0 then
+                    redis.call('HSET', KEYS[1], fields[i], 0)
+                end
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: hash; ARGV: ttlMillis
+     */
+    private static final RedisScript<Long> RESET_UNREAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'unread', 0)
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlMillis;
+
+    public RedisNotificationCounterStore(StringRedisTemplate redisTemplate,
+                                         @Value("${app.notifications.counter-ttl-seconds:3600}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public Optional<Counts> get(Long userId) {
+        List<Object> values = redisTemplate.opsForHash().multiGet(key(userId), List.of("total", "unread", "high"));
+        if (values == null || values.contains(null)) {
+            return Optional.empty();
+        }
+        return Optional.of(new Counts(Long.parseLong(values.get(0).toString()), Long.parseLong(values.get(1).toString()),
+                Long.parseLong(values.get(2).toString())));
+    }
+
+    @Override
+    public void putIfAbsent(Long userId, Counts counts) {
+        write(userId, counts, true);
+    }
+
+    @Override
+    public void put(Long userId, Counts counts) {
+        write(userId, counts, false);
+    }
+
+    @Override
+    public void add(Long userId, long total, long unread, long highPriority) {
+        redisTemplate.execute(ADD_SCRIPT, List.of(key(userId)), String.valueOf(total), String.valueOf(unread),
+                String.valueOf(highPriority), String.valueOf(ttlMillis));
+    }
+
+    @Override
+    public void resetUnread(Long userId) {
+        redisTemplate.execute(RESET_UNREAD_SCRIPT, List.of(key(userId)), String.valueOf(ttlMillis));
+    }
+
+    @Override
+    public Collection<Long> cachedUserIds() {
+        List<Long> userIds = new ArrayList<>();
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+            keys.forEachRemaining(key -> userIds.add(Long.valueOf(key.substring(KEY_PREFIX.length()))));
+        }
+        return userIds;
+    }
+
+    @Override
+    public void clear() {
+        Collection<Long> userIds = cachedUserIds();
+        if (!userIds.isEmpty()) {
+            redisTemplate.delete(userIds.stream().map(RedisNotificationCounterStore::key).toList());
+        }
+    }
+
+    private void write(Long userId, Counts counts, boolean onlyIfAbsent) {
+        redisTemplate.execute(PUT_SCRIPT, List.of(key(userId)), String.valueOf(counts.total()),
+                String.valueOf(counts.unread()), String.valueOf(counts.highPriority()), String.valueOf(ttlMillis),
+                onlyIfAbsent ? "1" : "0");
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
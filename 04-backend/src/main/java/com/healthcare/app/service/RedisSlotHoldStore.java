@@ -0,0 +1,141 @@
+package com.healthcare.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hold store shared by all nodes through Redis.
+ *
+ * Each doctor has a hash of token to "startMinute|endMinute|patientId|expiresAtMillis" and a
+ * sorted set of tokens scored by expiry. Scripts first pop the holds whose expiry has
+ * passed off the sorted set, which touches only expired entries, then check overlaps
+ * against the doctor's few live holds atomically. Both keys share a hash tag so they stay
+ * on one cluster slot, and they expire on their own once the doctor's last hold has.
+ */
+@Component
+@ConditionalOnProperty(name = "app.availability.hold-store", havingValue = "redis")
+public class RedisSlotHoldStore implements SlotHoldStore {
+
+    private static final String PURGE_EXPIRED = """
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1])
+            if #expired > 0 then
+                redis.call('HDEL', KEYS[1], unpack(expired))
+                redis.call('ZREM', KEYS[2], unpack(expired))
+            end
+            """;
+
+    private static final String FIND_CONFLICT = """
+            local function conflicting(startMinute, endMinute, patientId)
+                local holds = redis.call('HGETALL', KEYS[1])
+                for i = 1, #holds, 2 do
+                    local s, e, p = string.match(holds[i + 1], '^(%d+)|(%d+)|(%d+)|')
+                    if tonumber(s) < endMinute and tonumber(e) > startMinute and p ~= patientId then
+                        return true
+                    end
+                end
+                return false
+            end
+            """;
+
+    /**
+     * KEYS: hash, expiry set; ARGV: now, token, start, end, patient, expiresAt, value, keyTtlMillis
+     */
+    private static final RedisScript<Long> HOLD_SCRIPT = new DefaultRedisScript<>(PURGE_EXPIRED + FIND_CONFLICT + """
+            if conflicting(tonumber(ARGV[3]), tonumber(ARGV[4]), ARGV[5]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[7])
+            redis.call('ZADD', KEYS[2], ARGV[6], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[8])
+            redis.call('PEXPIRE', KEYS[2], ARGV[8])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: hash, expiry set; ARGV: now, start, end, patient
+     */
+    private static final RedisScript<Long> CONFLICT_SCRIPT = new DefaultRedisScript<>(PURGE_EXPIRED + FIND_CONFLICT + """
+            if conflicting(tonumber(ARGV[2]), tonumber(ARGV[3]), ARGV[4]) then
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long ttlMillis;
+
+    public RedisSlotHoldStore(StringRedisTemplate redisTemplate,
+                              @Value("${app.availability.hold-ttl-seconds:300}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public boolean tryHold(SlotHold hold) {
+        String value = epochMinute(hold.start()) + "|" + epochMinute(hold.end()) + "|" + hold.patientId() + "|"
+                + hold.expiresAt().toEpochMilli();
+        Long stored = redisTemplate.execute(HOLD_SCRIPT, keys(hold.doctorId()),
+                String.valueOf(System.currentTimeMillis()), hold.token(),
+                String.valueOf(epochMinute(hold.start())), String.valueOf(epochMinute(hold.end())),
+                String.valueOf(hold.patientId()), String.valueOf(hold.expiresAt().toEpochMilli()), value,
+                String.valueOf(ttlMillis));
+        return stored != null && stored == 1L;
+    }
+
+    @Override
+    public boolean isHeldByOthers(Long doctorId, LocalDateTime start, LocalDateTime end, Long patientId) {
+        Long conflict = redisTemplate.execute(CONFLICT_SCRIPT, keys(doctorId),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(epochMinute(start)),
+                String.valueOf(epochMinute(end)), String.valueOf(patientId));
+        return conflict != null && conflict == 1L;
+    }
+
+    @Override
+    public Optional<SlotHold> find(Long doctorId, String token) {
+        Object value = redisTemplate.opsForHash().get(holdsKey(doctorId), token);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        String[] parts = value.toString().split("\\|");
+        SlotHold hold = new SlotHold(token, doctorId, Long.valueOf(parts[2]), fromEpochMinute(Long.parseLong(parts[0])),
+                fromEpochMinute(Long.parseLong(parts[1])), Instant.ofEpochMilli(Long.parseLong(parts[3])));
+        return hold.isExpired(Instant.now()) ? Optional.empty() : Optional.of(hold);
+    }
+
+    @Override
+    public void release(Long doctorId, String token) {
+        redisTemplate.opsForHash().delete(holdsKey(doctorId), token);
+        redisTemplate.opsForZSet().remove(expiryKey(doctorId), token);
+    }
+
+    private static List<String> keys(Long doctorId) {
+        return List.of(holdsKey(doctorId), expiryKey(doctorId));
+    }
+
+    private static String holdsKey(Long doctorId) {
+        return "slot-holds:{" + doctorId + "}";
+    }
+
+    private static String expiryKey(Long doctorId) {
+        return "slot-holds:{" + doctorId + "}:expiry";
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime fromEpochMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,104 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.User;
+import com.healthcare.app.exception.AppointmentConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Places and checks short-lived slot holds for the booking flow.
+ *
+ * A patient who picks a slot gets a hold token; until the hold expires no other patient
+ * can hold or book an overlapping interval with that doctor, while the holder still can.
+ */
+@Service
+@Slf4j
+public class SlotHoldService {
+
+    private final SlotHoldStore slotHoldStore;
+    private final DoctorAvailabilityService doctorAvailabilityService;
+    private final long ttlSeconds;
+
+    public SlotHoldService(SlotHoldStore slotHoldStore,
+                           DoctorAvailabilityService doctorAvailabilityService,
+                           @Value("${app.availability.hold-ttl-seconds:300}") long ttlSeconds) {
+        this.slotHoldStore = slotHoldStore;
+        this.doctorAvailabilityService = doctorAvailabilityService;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Hold [start, start + durationMinutes) of the doctor for the patient if the slot is free
+     */
+    public SlotHoldStore.SlotHold hold(User doctor, Long patientId, LocalDateTime start, int durationMinutes) {
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (!start.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot hold a slot in the past");
+        }
+
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+        if (!doctorAvailabilityService.isDoctorFreeAt(doctor, start, durationMinutes)) {
+            throw new AppointmentConflictException("Slot is no longer available", doctor.getId(), start, end);
+        }
+
+        SlotHoldStore.SlotHold hold = new SlotHoldStore.SlotHold(UUID.randomUUID().toString(), doctor.getId(),
+                patientId, start, end, Instant.now().plusSeconds(ttlSeconds));
+        if (!slotHoldStore.tryHold(hold)) {
+            throw new AppointmentConflictException("Slot is held by another patient", doctor.getId(), start, end);
+        }
+
+        log.info("Slot of doctor: {} at {} held for patient: {} until {}", doctor.getId(), start, patientId, hold.expiresAt());
+        return hold;
+    }
+
+    /**
+     * Release the hold; only the patient holding it or an admin may do so
+     */
+    public void release(Long doctorId, String token, User user) {
+        slotHoldStore.find(doctorId, token).ifPresent(hold -> {
+            if (user.getRole() != User.UserRole.ADMIN && !hold.patientId().equals(user.getId())) {
+                throw new IllegalArgumentException("Hold belongs to another patient");
+            }
+            slotHoldStore.release(doctorId, token);
+        });
+    }
+
+    /**
+     * Fail when another patient holds part of the interval
+     */
+    public void validateNotHeldByOthers(Long doctorId, LocalDateTime start, LocalDateTime end, Long patientId) {
+        if (slotHoldStore.isHeldByOthers(doctorId, start, end, patientId)) {
+            throw new AppointmentConflictException("Slot is held by another patient", doctorId, start, end);
+        }
+    }
+
+    /**
+     * Release the hold once the booking that consumed it has committed. The hold is only
+     * released if it belongs to the booking patient and covers the booked interval, so a
+     * leaked token cannot be used to drop another patient's hold.
+     */
+    public void releaseAfterCommit(Long doctorId, String token, Long patientId, LocalDateTime start, LocalDateTime end) {
+        if (token == null) {
+            return;
+        }
+
+        Optional<SlotHoldStore.SlotHold> hold = slotHoldStore.find(doctorId, token);
+        if (hold.isEmpty()) {
+            return;
+        }
+        if (!hold.get().patientId().equals(patientId) || !hold.get().covers(start, end)) {
+            log.warn("Ignoring hold token of doctor: {} that does not cover the booking of patient: {} at {}",
+                    doctorId, patientId, start);
+            return;
+        }
+        TransactionCompensation.afterCommit(() -> slotHoldStore.release(doctorId, token));
+    }
+}
@@ -0,0 +1,42 @@
+package com.healthcare.app.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Short-lived holds that keep a doctor's slot for one patient while they finish booking.
+ * Expired holds are ignored by every method, whether or not they have been purged yet.
+ */
+public interface SlotHoldStore {
+
+    /**
+     * Store the hold unless another patient holds an overlapping interval of the same doctor
+     */
+    boolean tryHold(SlotHold hold);
+
+    /**
+     * Whether a patient other than the given one holds part of [start, end) with the doctor
+     */
+    boolean isHeldByOthers(Long doctorId, LocalDateTime start, LocalDateTime end, Long patientId);
+
+    Optional<SlotHold> find(Long doctorId, String token);
+
+    void release(Long doctorId, String token);
+
+    record SlotHold(String token, Long doctorId, Long patientId, LocalDateTime start, LocalDateTime end,
+                    Instant expiresAt) {
+
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+
+        boolean covers(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return !start.isAfter(otherStart) && !end.isBefore(otherEnd);
+        }
+
+        boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+}
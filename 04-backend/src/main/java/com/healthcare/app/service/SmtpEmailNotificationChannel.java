@@ -0,0 +1,48 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Notification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Email delivery through the configured SMTP server
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.email-channel", havingValue = "smtp")
+public class SmtpEmailNotificationChannel implements NotificationChannel {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final Notification.NotificationPriority minPriority;
+
+    public SmtpEmailNotificationChannel(JavaMailSender mailSender,
+                                        @Value("${app.notifications.email-from:no-reply@healthcare.local}") String from,
+                                        @Value("${app.notifications.email-min-priority:MEDIUM}") Notification.NotificationPriority minPriority) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.minPriority = minPriority;
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public boolean accepts(Delivery delivery) {
+        return delivery.email() != null && delivery.priority().compareTo(minPriority) >= 0;
+    }
+
+    @Override
+    public void deliver(Delivery delivery) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(delivery.email());
+        mail.setSubject(delivery.title());
+        mail.setText(delivery.message());
+        mailSender.send(mail);
+    }
+}
@@ -23,6 +23,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuditService auditService;
+    private final DoctorOnDutyIndex doctorOnDutyIndex;
     
     /**
      * Register a new user in the healthcare system
@@ -140,6 +141,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(existingUser);
+        refreshOnDutyIndexAfterCommit(savedUser);
         
         // Audit the update
         auditService.logAction("USER_PROFILE_UPDATED", userId, "USER", userId, 
@@ -244,6 +246,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        refreshOnDutyIndexAfterCommit(savedUser);
         
         // Audit the status change
         auditService.logAction("USER_STATUS_CHANGED", userId, "USER", userId, 
@@ -341,6 +344,16 @@ public class UserService {
         }
     }
     
+    /**
+     * Reload the doctor in the on-duty index once the profile or status change is committed
+     */
+    private void refreshOnDutyIndexAfterCommit(User user) {
+        if (user.getRole() == User.UserRole.DOCTOR) {
+            Long doctorId = user.getId();
+            TransactionCompensation.afterCommit(() -> doctorOnDutyIndex.invalidate(doctorId));
+        }
+    }
+    
     /**
      * User statistics DTO
      */
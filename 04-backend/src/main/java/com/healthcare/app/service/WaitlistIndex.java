@@ -0,0 +1,185 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.WaitlistEntry;
+import com.healthcare.app.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory per-doctor priority waitlist.
+ *
+ * Each waiting entry is filed under every day its acceptable window touches, and each
+ * day keeps its entries in priority order (urgent first, then oldest request). Matching
+ * a freed slot therefore only looks at one doctor's entries for one day and stops at
+ * the first ones that fit. Doctors are loaded lazily from the waitlist table, and
+ * updates made inside a transaction are undone if that transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistIndex {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final ConcurrentMap<Long, DoctorWaitlist> waitlists = new ConcurrentHashMap<>();
+
+    /**
+     * Find up to {@code limit} waiting entries, best first, that accept a slot starting at
+     * {@code slotStart} and fit in {@code slotMinutes}, ignoring the given patient
+     */
+    public List<Waiter> candidates(Long doctorId, LocalDateTime slotStart, int slotMinutes,
+                                   Long excludePatientId, int limit) {
+        return waitlist(doctorId).candidates(slotStart, slotMinutes, excludePatientId, limit);
+    }
+
+    /**
+     * Add a waiting entry
+     */
+    public void add(WaitlistEntry entry) {
+        Waiter waiter = Waiter.of(entry);
+        DoctorWaitlist waitlist = waitlist(entry.getDoctor().getId());
+
+        waitlist.add(waiter);
+        TransactionCompensation.onRollback(() -> waitlist.remove(waiter.id()));
+    }
+
+    /**
+     * Remove an entry that is no longer waiting
+     */
+    public void remove(Long doctorId, Long entryId) {
+        DoctorWaitlist waitlist = waitlists.get(doctorId);
+        if (waitlist == null) {
+            return;
+        }
+
+        Waiter removed = waitlist.remove(entryId);
+        if (removed != null) {
+            TransactionCompensation.onRollback(() -> waitlist.add(removed));
+        }
+    }
+
+    /**
+     * Drop entries whose window closed before the given time
+     */
+    public int evictExpired(LocalDateTime now) {
+        return waitlists.values().stream()
+                .mapToInt(waitlist -> waitlist.removeExpired(now))
+                .sum();
+    }
+
+    private DoctorWaitlist waitlist(Long doctorId) {
+        return waitlists.computeIfAbsent(doctorId, id ->
+                DoctorWaitlist.of(waitlistEntryRepository.findWaitingSlotsByDoctorFrom(id, LocalDateTime.now())));
+    }
+
+    /**
+     * A waiting patient and the window of start times they accept
+     */
+    public record Waiter(Long id, Long patientId, LocalDateTime earliestStart, LocalDateTime latestStart,
+                         int durationMinutes, boolean urgent, LocalDateTime requestedAt) {
+
+        static final Comparator<Waiter> BY_PRIORITY = Comparator.comparing(Waiter::urgent).reversed()
+                .thenComparing(Waiter::requestedAt)
+                .thenComparing(Waiter::id);
+
+        static Waiter of(WaitlistEntry entry) {
+            return new Waiter(entry.getId(), entry.getPatient().getId(), entry.getEarliestStart(),
+                    entry.getLatestStart(), entry.getDurationMinutes(), Boolean.TRUE.equals(entry.getIsUrgent()),
+                    entry.getCreatedAt());
+        }
+
+        static Waiter of(WaitlistEntryRepository.WaitingSlot slot) {
+            return new Waiter(slot.getId(), slot.getPatientId(), slot.getEarliestStart(), slot.getLatestStart(),
+                    slot.getDurationMinutes(), Boolean.TRUE.equals(slot.getIsUrgent()), slot.getCreatedAt());
+        }
+
+        boolean accepts(LocalDateTime slotStart, int slotMinutes) {
+            return !slotStart.isBefore(earliestStart) && !slotStart.isAfter(latestStart) && durationMinutes <= slotMinutes;
+        }
+    }
+
+    /**
+     * Waiting entries of a single doctor bucketed by day
+     */
+    private static final class DoctorWaitlist {
+
+        private final Map<LocalDate, NavigableSet<Waiter>> byDay = new HashMap<>();
+        private final Map<Long, Waiter> byId = new HashMap<>();
+
+        static DoctorWaitlist of(List<WaitlistEntryRepository.WaitingSlot> slots) {
+            DoctorWaitlist waitlist = new DoctorWaitlist();
+            slots.forEach(slot -> waitlist.add(Waiter.of(slot)));
+            return waitlist;
+        }
+
+        synchronized List<Waiter> candidates(LocalDateTime slotStart, int slotMinutes, Long excludePatientId, int limit) {
+            NavigableSet<Waiter> day = byDay.get(slotStart.toLocalDate());
+            List<Waiter> matches = new ArrayList<>(Math.min(limit, 8));
+            if (day == null) {
+                return matches;
+            }
+
+            for (Waiter waiter : day) {
+                if (waiter.accepts(slotStart, slotMinutes) && !waiter.patientId().equals(excludePatientId)) {
+                    matches.add(waiter);
+                    if (matches.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return matches;
+        }
+
+        synchronized void add(Waiter waiter) {
+            Waiter previous = byId.put(waiter.id(), waiter);
+            if (previous != null) {
+                unfile(previous);
+            }
+            for (LocalDate day = waiter.earliestStart().toLocalDate(); !day.isAfter(waiter.latestStart().toLocalDate()); day = day.plusDays(1)) {
+                byDay.computeIfAbsent(day, d -> new TreeSet<>(Waiter.BY_PRIORITY)).add(waiter);
+            }
+        }
+
+        synchronized Waiter remove(Long entryId) {
+            Waiter removed = byId.remove(entryId);
+            if (removed != null) {
+                unfile(removed);
+            }
+            return removed;
+        }
+
+        synchronized int removeExpired(LocalDateTime now) {
+            List<Waiter> expired = byId.values().stream()
+                    .filter(waiter -> waiter.latestStart().isBefore(now))
+                    .toList();
+            expired.forEach(waiter -> {
+                byId.remove(waiter.id());
+                unfile(waiter);
+            });
+            return expired.size();
+        }
+
+        private void unfile(Waiter waiter) {
+            for (LocalDate day = waiter.earliestStart().toLocalDate(); !day.isAfter(waiter.latestStart().toLocalDate()); day = day.plusDays(1)) {
+                NavigableSet<Waiter> entries = byDay.get(day);
+                if (entries != null) {
+                    entries.remove(waiter);
+                    if (entries.isEmpty()) {
+                        byDay.remove(day);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.entity.WaitlistEntry;
+import com.healthcare.app.repository.UserRepository;
+import com.healthcare.app.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistService {
+    
+    /**
+     * Longest window a patient may wait for; bounds how many days an entry is filed under
+     */
+    private static final long MAX_WINDOW_DAYS = 60;
+    
+    /**
+     * How many candidates are tried for one freed slot before giving up
+     */
+    static final int MAX_CANDIDATES = 5;
+    
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final UserRepository userRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final AuditService auditService;
+    
+    /**
+     * Add a patient to a doctor's waitlist
+     */
+    public WaitlistEntry joinWaitlist(Long doctorId, Long patientId, LocalDateTime earliestStart, LocalDateTime latestStart,
+                                      Integer durationMinutes, Appointment.AppointmentType type, String reason,
+                                      Boolean isUrgent, Long userId) {
+        log.info("Adding patient: {} to waitlist of doctor: {} between {} and {}", patientId, doctorId, earliestStart, latestStart);
+        
+        User doctor = userRepository.findById(doctorId)
+                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
+        if (doctor.getRole() != User.UserRole.DOCTOR) {
+            throw new IllegalArgumentException("User is not a doctor");
+        }
+        
+        User patient = userRepository.findById(patientId)
+                .orElseThrow(() -> new IllegalArgumentException("Patient not found with ID: " + patientId));
+        if (patient.getRole() != User.UserRole.PATIENT) {
+            throw new IllegalArgumentException("User is not a patient");
+        }
+        
+        validateWindow(earliestStart, latestStart);
+        if (durationMinutes == null || durationMinutes <= 0) {
+            throw new IllegalArgumentException("Valid appointment duration is required");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .doctor(doctor)
+                .patient(patient)
+                .earliestStart(earliestStart.isBefore(now) ? now : earliestStart)
+                .latestStart(latestStart)
+                .durationMinutes(durationMinutes)
+                .type(type != null ? type : Appointment.AppointmentType.CONSULTATION)
+                .reason(reason)
+                .isUrgent(Boolean.TRUE.equals(isUrgent))
+                .status(WaitlistEntry.WaitlistStatus.WAITING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        waitlistIndex.add(savedEntry);
+        
+        auditService.logAction("WAITLIST_JOINED", userId, "WAITLIST_ENTRY", savedEntry.getId(),
+                              "Patient " + patientId + " joined waitlist of doctor " + doctorId);
+        
+        log.info("Waitlist entry created successfully with ID: {}", savedEntry.getId());
+        return savedEntry;
+    }
+    
+    /**
+     * Remove a patient from a waitlist
+     */
+    public WaitlistEntry leaveWaitlist(Long entryId, Long userId) {
+        log.info("Cancelling waitlist entry ID: {} by user: {}", entryId, userId);
+        
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry not found with ID: " + entryId));
+        
+        if (entry.getStatus() != WaitlistEntry.WaitlistStatus.WAITING) {
+            throw new IllegalArgumentException("Waitlist entry cannot be cancelled in current status: " + entry.getStatus());
+        }
+        
+        validateEntryAccess(entry, userId);
+        
+        entry.setStatus(WaitlistEntry.WaitlistStatus.CANCELLED);
+        entry.setUpdatedAt(LocalDateTime.now());
+        
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        waitlistIndex.remove(entry.getDoctor().getId(), entryId);
+        
+        auditService.logAction("WAITLIST_CANCELLED", userId, "WAITLIST_ENTRY", entryId, "Waitlist entry cancelled");
+        
+        return savedEntry;
+    }
+    
+    /**
+     * Find the best waiting entries for a freed slot, highest priority first
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistIndex.Waiter> findCandidates(Long doctorId, LocalDateTime slotStart, int slotMinutes, Long excludePatientId) {
+        return waitlistIndex.candidates(doctorId, slotStart, slotMinutes, excludePatientId, MAX_CANDIDATES);
+    }
+    
+    /**
+     * Load an entry that is still waiting; entries booked or cancelled since the candidates were read are skipped
+     */
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntry> findWaitingEntry(Long entryId) {
+        return waitlistEntryRepository.findById(entryId)
+                .filter(entry -> entry.getStatus() == WaitlistEntry.WaitlistStatus.WAITING);
+    }
+    
+    /**
+     * Record that a waiting entry was booked into an appointment
+     */
+    public WaitlistEntry markBooked(Long entryId, Long appointmentId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry not found with ID: " + entryId));
+        
+        entry.setStatus(WaitlistEntry.WaitlistStatus.BOOKED);
+        entry.setAppointmentId(appointmentId);
+        entry.setUpdatedAt(LocalDateTime.now());
+        
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        waitlistIndex.remove(entry.getDoctor().getId(), entryId);
+        return savedEntry;
+    }
+    
+    /**
+     * Get waiting entries of a doctor in priority order
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getWaitlistForDoctor(Long doctorId) {
+        return waitlistEntryRepository.findWaitingByDoctorId(doctorId);
+    }
+    
+    /**
+     * Get waiting entries of a patient
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getWaitlistForPatient(Long patientId) {
+        return waitlistEntryRepository.findWaitingByPatientId(patientId);
+    }
+    
+    /**
+     * Expire entries whose window has closed
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void expireEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = waitlistEntryRepository.expireWaitingBefore(now);
+        int evicted = waitlistIndex.evictExpired(now);
+        
+        log.debug("Expired {} waitlist entries, evicted {} from memory", expired, evicted);
+    }
+    
+    private void validateWindow(LocalDateTime earliestStart, LocalDateTime latestStart) {
+        if (earliestStart == null || latestStart == null) {
+            throw new IllegalArgumentException("Waitlist window is required");
+        }
+        if (latestStart.isBefore(earliestStart)) {
+            throw new IllegalArgumentException("Waitlist window end must not be before its start");
+        }
+        if (!latestStart.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Waitlist window must end in the future");
+        }
+        if (Duration.between(earliestStart, latestStart).toDays() > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Waitlist window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+    }
+    
+    private void validateEntryAccess(WaitlistEntry entry, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        
+        if (user.getRole() == User.UserRole.ADMIN
+                || entry.getDoctor().getId().equals(userId)
+                || entry.getPatient().getId().equals(userId)) {
+            return;
+        }
+        
+        throw new IllegalArgumentException("User does not have permission to access this waitlist entry");
+    }
+}
@@ -0,0 +1,3 @@
+-- Appointment type a waiting patient asked for, used when a freed slot is booked for them
+ALTER TABLE waitlist_entries
+    ADD COLUMN appointment_type VARCHAR(20) NOT NULL DEFAULT 'CONSULTATION' AFTER duration_minutes;
@@ -0,0 +1,30 @@
+-- One row per 5-minute unit of time a booked appointment occupies. The primary key makes
+-- two overlapping bookings of the same doctor fail on insert, whichever instance takes them.
+CREATE TABLE doctor_slot_reservations (
+    doctor_id BIGINT NOT NULL,
+    slot_start DATETIME NOT NULL,
+    appointment_id BIGINT NOT NULL,
+
+    PRIMARY KEY (doctor_id, slot_start),
+    FOREIGN KEY (doctor_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE CASCADE,
+
+    -- Indexes
+    INDEX idx_doctor_slot_reservations_appointment_id (appointment_id),
+    INDEX idx_doctor_slot_reservations_slot_start (slot_start)
+);
+
+-- Seed the reservations of upcoming bookings; overlapping legacy rows keep the first reservation
+INSERT IGNORE INTO doctor_slot_reservations (doctor_id, slot_start, appointment_id)
+WITH RECURSIVE units (appointment_id, doctor_id, slot_start, slot_end) AS (
+    SELECT id, doctor_id,
+           appointment_date - INTERVAL (MINUTE(appointment_date) % 5) MINUTE - INTERVAL SECOND(appointment_date) SECOND,
+           appointment_date + INTERVAL duration_minutes MINUTE
+    FROM appointments
+    WHERE status IN ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS') AND appointment_date >= CURRENT_DATE
+    UNION ALL
+    SELECT appointment_id, doctor_id, slot_start + INTERVAL 5 MINUTE, slot_end
+    FROM units
+    WHERE slot_start + INTERVAL 5 MINUTE < slot_end
+)
+SELECT doctor_id, slot_start, appointment_id FROM units;
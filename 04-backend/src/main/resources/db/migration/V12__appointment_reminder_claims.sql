@@ -0,0 +1,16 @@
+-- One row per appointment reminder an instance has claimed for sending. Every instance drains
+-- the same reminders from its own wheel; the primary key lets only the first claim through.
+CREATE TABLE appointment_reminder_claims (
+    appointment_id BIGINT NOT NULL,
+    appointment_start DATETIME NOT NULL,
+    offset_minutes INT NOT NULL,
+    claim_token CHAR(36) NOT NULL,
+    claimed_at DATETIME NOT NULL,
+
+    PRIMARY KEY (appointment_id, appointment_start, offset_minutes),
+    FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE CASCADE,
+
+    -- Indexes
+    INDEX idx_appointment_reminder_claims_claim_token (claim_token),
+    INDEX idx_appointment_reminder_claims_appointment_start (appointment_start)
+);
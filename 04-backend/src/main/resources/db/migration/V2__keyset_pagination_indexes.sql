@@ -0,0 +1,12 @@
+-- Indexes backing keyset (cursor) pagination.
+-- InnoDB appends the primary key to every secondary index, so these also
+-- cover the id tie-breaker of each (timestamp, id) seek.
+
+-- Appointments by status and date range, ordered by (appointment_date, id)
+CREATE INDEX idx_appointments_status_date ON appointments (status, appointment_date);
+
+-- EMRs by doctor, ordered by (visit_date, id) descending
+CREATE INDEX idx_emr_doctor_visit_date ON emr (doctor_id, visit_date);
+
+-- Audit logs are ordered by (created_at, id) descending and are already
+-- covered by idx_audit_logs_created_at
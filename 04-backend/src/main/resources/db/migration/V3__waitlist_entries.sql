@@ -0,0 +1,23 @@
+-- Patients waiting for a slot with a doctor to free up
+CREATE TABLE waitlist_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    earliest_start DATETIME NOT NULL,
+    latest_start DATETIME NOT NULL,
+    duration_minutes INT NOT NULL DEFAULT 30,
+    reason TEXT,
+    is_urgent BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING',
+    appointment_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (doctor_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (patient_id) REFERENCES users(id) ON DELETE CASCADE,
+
+    -- Indexes
+    INDEX idx_waitlist_entries_doctor_status (doctor_id, status, latest_start),
+    INDEX idx_waitlist_entries_patient_status (patient_id, status),
+    INDEX idx_waitlist_entries_status_latest_start (status, latest_start)
+);
@@ -0,0 +1,20 @@
+-- Outbox of appointment status changes, relayed asynchronously to audit,
+-- notification and statistics consumers
+CREATE TABLE appointment_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    appointment_id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    from_status VARCHAR(20) NOT NULL,
+    to_status VARCHAR(20) NOT NULL,
+    actor_user_id BIGINT,
+    details TEXT,
+    occurred_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+
+    -- Indexes
+    INDEX idx_appointment_events_unpublished (published_at, attempts, id),
+    INDEX idx_appointment_events_appointment_id (appointment_id)
+);
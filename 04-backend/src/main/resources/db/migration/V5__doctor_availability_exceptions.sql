@@ -0,0 +1,22 @@
+-- Date-range absences (holidays, leave) that override the weekly availability template
+CREATE TABLE doctor_availability_exceptions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    doctor_id BIGINT NOT NULL,
+    start_date_time DATETIME NOT NULL,
+    end_date_time DATETIME NOT NULL,
+    reason TEXT,
+    created_by BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (doctor_id) REFERENCES users(id) ON DELETE CASCADE,
+
+    -- Indexes
+    INDEX idx_availability_exceptions_doctor_end (doctor_id, end_date_time),
+    INDEX idx_availability_exceptions_end (end_date_time)
+);
+
+-- Absences used to be stored as weekly rows with is_available = FALSE; they kept no dates
+-- and only blocked new template rows on that weekday, so they are dropped
+DELETE FROM doctor_availability
+WHERE is_available = FALSE AND notes LIKE 'Temporary unavailability:%';
@@ -0,0 +1,20 @@
+-- Per-day booking counters used to enforce doctor_availability.max_appointments_per_day
+CREATE TABLE doctor_daily_bookings (
+    doctor_id BIGINT NOT NULL,
+    booking_date DATE NOT NULL,
+    booked_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (doctor_id, booking_date),
+    FOREIGN KEY (doctor_id) REFERENCES users(id) ON DELETE CASCADE,
+
+    -- Indexes
+    INDEX idx_doctor_daily_bookings_date (booking_date)
+);
+
+-- Seed the counters from existing bookings
+INSERT INTO doctor_daily_bookings (doctor_id, booking_date, booked_count, updated_at)
+SELECT doctor_id, DATE(appointment_date), COUNT(*), CURRENT_TIMESTAMP
+FROM appointments
+WHERE status <> 'CANCELLED'
+GROUP BY doctor_id, DATE(appointment_date);
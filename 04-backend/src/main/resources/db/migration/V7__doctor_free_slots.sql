@@ -0,0 +1,13 @@
+-- Concrete bookable slots for the next weeks, derived from templates, exceptions, bookings and daily limits.
+-- Rows are maintained by the application; the primary key serves the per-doctor range scan of booking pages.
+CREATE TABLE doctor_free_slots (
+    doctor_id BIGINT NOT NULL,
+    slot_start DATETIME NOT NULL,
+    slot_end DATETIME NOT NULL,
+
+    PRIMARY KEY (doctor_id, slot_start),
+    FOREIGN KEY (doctor_id) REFERENCES users(id) ON DELETE CASCADE,
+
+    -- Indexes
+    INDEX idx_doctor_free_slots_start (slot_start)
+);
@@ -0,0 +1,4 @@
+-- Clinic time zone of each weekly availability row. Start, end and break times are local to
+-- this zone, while appointment times stay in UTC; existing rows were written in UTC.
+ALTER TABLE doctor_availability
+    ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC' AFTER notes;
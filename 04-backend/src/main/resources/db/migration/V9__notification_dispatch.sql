@@ -0,0 +1,37 @@
+-- In-app notifications; databases created before migrations tracked this table already have it
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    priority VARCHAR(10) NOT NULL DEFAULT 'MEDIUM',
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    read_at TIMESTAMP NULL,
+    created_by BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE SET NULL,
+
+    -- Indexes
+    INDEX idx_notifications_user_created_at (user_id, created_at),
+    INDEX idx_notifications_user_is_read (user_id, is_read),
+    INDEX idx_notifications_created_at (created_at)
+);
+
+-- Channel deliveries that failed their last retry; kept for inspection and manual redrive
+CREATE TABLE notification_dead_letters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    notification_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    channel VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Indexes
+    INDEX idx_notification_dead_letters_created_at (created_at),
+    INDEX idx_notification_dead_letters_notification_id (notification_id)
+);
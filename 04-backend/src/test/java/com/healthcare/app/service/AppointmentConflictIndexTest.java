@@ -0,0 +1,144 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppointmentConflictIndexTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDateTime NINE = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    private AppointmentConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedSlotsByDoctorFrom(anyLong(), any())).thenReturn(List.of());
+        index = new AppointmentConflictIndex(appointmentRepository, mock(ApplicationEventPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void detectsOverlapsButNotAdjacentBookings() {
+        index.put(appointment(1L, NINE, 30));
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.plusMinutes(15), NINE.plusMinutes(45), null)).isTrue();
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.minusMinutes(15), NINE.plusMinutes(1), null)).isTrue();
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.plusMinutes(30), NINE.plusMinutes(60), null)).isFalse();
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.minusMinutes(30), NINE, null)).isFalse();
+        assertThat(index.hasConflict(8L, NINE, NINE.plusMinutes(30), null)).isFalse();
+    }
+
+    @Test
+    void findsLongBookingStartingWellBeforeTheQuery() {
+        index.put(appointment(1L, NINE, 240));
+        index.put(appointment(2L, NINE.plusHours(5), 15));
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.plusHours(3), NINE.plusHours(3).plusMinutes(15), null)).isTrue();
+    }
+
+    @Test
+    void ignoresExcludedAppointment() {
+        index.put(appointment(1L, NINE, 30));
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), 1L)).isFalse();
+    }
+
+    @Test
+    void putReplacesPreviousIntervalOfAppointment() {
+        index.put(appointment(1L, NINE, 30));
+        index.put(appointment(1L, NINE.plusHours(2), 30));
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isFalse();
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.plusHours(2), NINE.plusHours(2).plusMinutes(30), null)).isTrue();
+    }
+
+    @Test
+    void removeFreesInterval() {
+        index.put(appointment(1L, NINE, 30));
+        index.remove(DOCTOR_ID, 1L);
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isFalse();
+    }
+
+    @Test
+    void rollbackUndoesNewBooking() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(appointment(1L, NINE, 30));
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isTrue();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isFalse();
+    }
+
+    @Test
+    void rollbackRestoresRescheduledBookingToItsPreviousInterval() {
+        index.put(appointment(1L, NINE, 30));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(appointment(1L, NINE.plusHours(2), 30));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isTrue();
+        assertThat(index.hasConflict(DOCTOR_ID, NINE.plusHours(2), NINE.plusHours(2).plusMinutes(30), null)).isFalse();
+    }
+
+    @Test
+    void rollbackRestoresRemovedBooking() {
+        index.put(appointment(1L, NINE, 30));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.remove(DOCTOR_ID, 1L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isTrue();
+    }
+
+    @Test
+    void commitKeepsChanges() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(appointment(1L, NINE, 30));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(index.hasConflict(DOCTOR_ID, NINE, NINE.plusMinutes(30), null)).isTrue();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Appointment appointment(Long id, LocalDateTime start, int durationMinutes) {
+        return Appointment.builder()
+                .id(id)
+                .doctor(User.builder().id(DOCTOR_ID).build())
+                .appointmentDate(start)
+                .durationMinutes(durationMinutes)
+                .status(Appointment.AppointmentStatus.SCHEDULED)
+                .build();
+    }
+}
@@ -0,0 +1,301 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.Notification;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.AppointmentReminderClaimRepository;
+import com.healthcare.app.repository.AppointmentRepository;
+import com.healthcare.app.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentReminderSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2027, 1, 4, 8, 0);
+    private static final int HORIZON_DAYS = 7;
+
+    /**
+     * Start times of the appointments that are still booked, standing in for the database
+     */
+    private final Map<Long, LocalDateTime> booked = new HashMap<>();
+
+    /**
+     * Reminder claims of every instance, standing in for the claims table
+     */
+    private final Set<AppointmentReminderClaimRepository.ReminderClaim> claims = new HashSet<>();
+
+    private MutableClock clock;
+    private AppointmentRepository appointmentRepository;
+    private NotificationService notificationService;
+    private UserRepository userRepository;
+    private AppointmentReminderScheduler scheduler;
+    private final List<AppointmentReminderScheduler> instances = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        appointmentRepository = mock(AppointmentRepository.class);
+        notificationService = mock(NotificationService.class);
+        userRepository = mock(UserRepository.class);
+
+        when(appointmentRepository.findReminderCandidates(any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            return booked.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isBefore(from) && entry.getValue().isBefore(to))
+                    .map(entry -> candidate(entry.getKey(), entry.getValue()))
+                    .toList();
+        });
+        when(appointmentRepository.findReminderCandidatesByIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .filter(booked::containsKey)
+                        .map(id -> candidate(id, booked.get(id)))
+                        .toList());
+        when(appointmentRepository.claimReminders(anyList(), any())).thenAnswer(invocation ->
+                ((List<AppointmentReminderClaimRepository.ReminderClaim>) invocation.getArgument(0)).stream()
+                        .filter(claims::add)
+                        .toList());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(invocation ->
+                User.builder().id(invocation.getArgument(0)).build());
+
+        scheduler = newInstance();
+    }
+
+    @Test
+    void sendsReminderAtEachOffsetAfterCascadingDown() {
+        LocalDateTime start = START.plusDays(2);
+        booked.put(1L, start);
+        scheduler.initialize();
+
+        advanceTo(start.minusDays(1).minusMinutes(1));
+        verify(notificationService, never()).createNotifications(anyList());
+
+        advanceTo(start.minusDays(1));
+        verify(notificationService, times(1)).createNotifications(anyList());
+
+        advanceTo(start.minusMinutes(61));
+        verify(notificationService, times(1)).createNotifications(anyList());
+
+        advanceTo(start.minusMinutes(60));
+        verify(notificationService, times(2)).createNotifications(anyList());
+
+        advanceTo(start.plusDays(1));
+        verify(notificationService, times(2)).createNotifications(anyList());
+    }
+
+    @Test
+    void rescheduleAwayAndBackSendsEachReminderOnce() {
+        scheduler.initialize();
+        LocalDateTime first = START.plusDays(2);
+        LocalDateTime second = START.plusDays(3);
+
+        book(1L, first);
+        book(1L, second);
+        book(1L, first);
+
+        advanceTo(first.minusDays(1));
+
+        ArgumentCaptor<List<Notification>> sent = captor();
+        verify(notificationService).createNotifications(sent.capture());
+        assertThat(sent.getValue()).hasSize(1);
+    }
+
+    @Test
+    void rescheduleDropsRemindersOfPreviousStart() {
+        scheduler.initialize();
+        LocalDateTime first = START.plusDays(2);
+        LocalDateTime second = first.plusHours(3);
+
+        book(1L, first);
+        book(1L, second);
+
+        advanceTo(second.minusDays(1).minusMinutes(1));
+        verify(appointmentRepository, never()).findReminderCandidatesByIds(anyCollection());
+
+        advanceTo(second.minusDays(1));
+        verify(notificationService).createNotifications(anyList());
+    }
+
+    @Test
+    void cancellationStopsPendingReminders() {
+        scheduler.initialize();
+        LocalDateTime start = START.plusDays(2);
+        book(1L, start);
+
+        scheduler.cancelAfterCommit(1L);
+        booked.remove(1L);
+
+        advanceTo(start);
+        verify(appointmentRepository, never()).findReminderCandidatesByIds(anyCollection());
+    }
+
+    @Test
+    void remindersWhoseTimeHasPassedAreNotSent() {
+        scheduler.initialize();
+        LocalDateTime start = START.plusMinutes(90);
+        book(1L, start);
+
+        advanceTo(start.plusHours(1));
+
+        verify(notificationService, times(1)).createNotifications(anyList());
+    }
+
+    @Test
+    void loadsAppointmentsBeyondHorizonAsWindowMoves() {
+        LocalDateTime start = START.plusDays(HORIZON_DAYS + 1).plusHours(2);
+        booked.put(1L, start);
+        scheduler.initialize();
+
+        advanceTo(start.minusDays(1).minusMinutes(1));
+        verify(notificationService, never()).createNotifications(anyList());
+
+        advanceTo(start.minusDays(1));
+        verify(notificationService, times(1)).createNotifications(anyList());
+
+        advanceTo(start);
+        verify(notificationService, times(2)).createNotifications(anyList());
+    }
+
+    @Test
+    void appointmentChangedOutsideServiceIsSkipped() {
+        LocalDateTime start = START.plusDays(2);
+        booked.put(1L, start);
+        scheduler.initialize();
+
+        booked.put(1L, start.plusHours(1));
+        advanceTo(start.minusDays(1));
+
+        verify(appointmentRepository).findReminderCandidatesByIds(anyCollection());
+        verify(notificationService, never()).createNotifications(anyList());
+    }
+
+    @Test
+    void eachReminderIsSentByOneInstance() {
+        LocalDateTime start = START.plusDays(2);
+        booked.put(1L, start);
+        AppointmentReminderScheduler other = newInstance();
+        scheduler.initialize();
+        other.initialize();
+
+        advanceTo(start.minusDays(1));
+        verify(notificationService, times(1)).createNotifications(anyList());
+
+        advanceTo(start.minusMinutes(60));
+        verify(notificationService, times(2)).createNotifications(anyList());
+        verify(appointmentRepository, times(4)).findReminderCandidatesByIds(anyCollection());
+    }
+
+    private AppointmentReminderScheduler newInstance() {
+        AppointmentReminderScheduler instance = new AppointmentReminderScheduler(appointmentRepository, userRepository,
+                notificationService, mock(PlatformTransactionManager.class), List.of(1440L, 60L), HORIZON_DAYS, clock);
+        instances.add(instance);
+        return instance;
+    }
+
+    private void book(Long appointmentId, LocalDateTime start) {
+        booked.put(appointmentId, start);
+        scheduler.scheduleAfterCommit(Appointment.builder().id(appointmentId).appointmentDate(start).build());
+    }
+
+    /**
+     * Move the clock an hour at a time, ticking every instance's wheel after each step as the scheduler would
+     */
+    private void advanceTo(LocalDateTime time) {
+        Instant target = time.toInstant(ZoneOffset.UTC);
+        while (clock.instant().isBefore(target)) {
+            Instant next = clock.instant().plus(Duration.ofHours(1));
+            clock.set(next.isBefore(target) ? next : target);
+            instances.forEach(AppointmentReminderScheduler::advance);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Notification>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static AppointmentRepository.ReminderCandidate candidate(Long id, LocalDateTime appointmentDate) {
+        return new AppointmentRepository.ReminderCandidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getPatientId() {
+                return 100 + id;
+            }
+
+            @Override
+            public String getDoctorFirstName() {
+                return "Jane";
+            }
+
+            @Override
+            public String getDoctorLastName() {
+                return "Doe";
+            }
+
+            @Override
+            public LocalDateTime getAppointmentDate() {
+                return appointmentDate;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
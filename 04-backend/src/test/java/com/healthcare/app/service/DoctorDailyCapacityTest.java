@@ -0,0 +1,150 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.DoctorAvailability;
+import com.healthcare.app.exception.AppointmentConflictException;
+import com.healthcare.app.repository.AppointmentCapacityRepository;
+import com.healthcare.app.repository.AppointmentRepository;
+import com.healthcare.app.repository.DoctorAvailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DoctorDailyCapacityTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final ZoneId LOS_ANGELES = ZoneId.of("America/Los_Angeles");
+
+    // Friday 09:00-19:00 in Los Angeles ends at 02:00 or 03:00 UTC on Saturday, depending on DST
+    private static final LocalDate FRIDAY = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+    private static final LocalDate SATURDAY = FRIDAY.plusDays(1);
+
+    private AppointmentRepository appointmentRepository;
+    private DoctorDailyCapacity capacity;
+
+    @BeforeEach
+    void setUp() {
+        DoctorAvailabilityRepository doctorAvailabilityRepository = mock(DoctorAvailabilityRepository.class);
+        when(doctorAvailabilityRepository.findByDoctorIdAndIsAvailableTrue(DOCTOR_ID)).thenReturn(List.of(
+                DoctorAvailability.builder()
+                        .dayOfWeek(DayOfWeek.FRIDAY)
+                        .startTime(LocalTime.parse("09:00"))
+                        .endTime(LocalTime.parse("19:00"))
+                        .isAvailable(true)
+                        .appointmentDurationMinutes(30)
+                        .maxAppointmentsPerDay(2)
+                        .timeZone(LOS_ANGELES.getId())
+                        .build()));
+
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.tryReserveDailySlot(anyLong(), any(), any())).thenReturn(true);
+
+        capacity = new DoctorDailyCapacity(appointmentRepository, new DoctorWeeklyTemplates(doctorAvailabilityRepository));
+    }
+
+    @Test
+    void clinicDaySpanningTwoUtcDatesUsesOneCounter() {
+        LocalDateTime morning = utc(FRIDAY, "10:00");
+        LocalDateTime evening = utc(FRIDAY, "18:00");
+        assertThat(morning.toLocalDate()).isEqualTo(FRIDAY);
+        assertThat(evening.toLocalDate()).isEqualTo(SATURDAY);
+
+        capacity.reserve(DOCTOR_ID, morning);
+        capacity.reserve(DOCTOR_ID, evening);
+        capacity.release(DOCTOR_ID, evening);
+
+        verify(appointmentRepository, times(2)).tryReserveDailySlot(DOCTOR_ID, FRIDAY, 2);
+        verify(appointmentRepository, never()).tryReserveDailySlot(eq(DOCTOR_ID), eq(SATURDAY), any());
+        verify(appointmentRepository).releaseDailySlot(DOCTOR_ID, FRIDAY);
+    }
+
+    @Test
+    void fullClinicDayRejectsBookingAfterUtcMidnight() {
+        when(appointmentRepository.tryReserveDailySlot(DOCTOR_ID, FRIDAY, 2)).thenReturn(false);
+
+        assertThatThrownBy(() -> capacity.reserve(DOCTOR_ID, utc(FRIDAY, "17:30")))
+                .isInstanceOf(AppointmentConflictException.class);
+    }
+
+    @Test
+    void seriesReservesEachClinicDayOnce() {
+        LocalDate nextFriday = FRIDAY.plusWeeks(1);
+        when(appointmentRepository.tryReserveDailySlots(anyLong(), any(), anyInt(), any())).thenReturn(true);
+
+        capacity.reserveAll(DOCTOR_ID, List.of(
+                utc(FRIDAY, "10:00"), utc(FRIDAY, "18:00"), utc(nextFriday, "10:00")));
+
+        verify(appointmentRepository).tryReserveDailySlots(DOCTOR_ID, FRIDAY, 2, 2);
+        verify(appointmentRepository).tryReserveDailySlots(DOCTOR_ID, nextFriday, 1, 2);
+        verify(appointmentRepository, never()).tryReserveDailySlot(anyLong(), any(), any());
+    }
+
+    @Test
+    void seriesOverTheDailyLimitIsRejected() {
+        when(appointmentRepository.tryReserveDailySlots(DOCTOR_ID, FRIDAY, 3, 2)).thenReturn(false);
+
+        assertThatThrownBy(() -> capacity.reserveAll(DOCTOR_ID, List.of(
+                utc(FRIDAY, "09:00"), utc(FRIDAY, "10:00"), utc(FRIDAY, "11:00"))))
+                .isInstanceOf(AppointmentConflictException.class);
+    }
+
+    @Test
+    void movingWithinTheClinicDayKeepsTheCounter() {
+        capacity.move(DOCTOR_ID, utc(FRIDAY, "10:00"), utc(FRIDAY, "18:00"));
+
+        verify(appointmentRepository, never()).tryReserveDailySlot(anyLong(), any(), any());
+        verify(appointmentRepository, never()).releaseDailySlot(anyLong(), any());
+    }
+
+    @Test
+    void snapshotReadsTheClinicDayOfEachStart() {
+        when(appointmentRepository.findDailyBookingCounts(anyCollection(), eq(FRIDAY), eq(SATURDAY.plusDays(1))))
+                .thenReturn(List.of(new AppointmentCapacityRepository.DailyBookingCount(DOCTOR_ID, FRIDAY, 2)));
+
+        DoctorDailyCapacity.Snapshot snapshot = capacity.snapshot(List.of(DOCTOR_ID), SATURDAY, SATURDAY);
+
+        assertThat(snapshot.isFull(DOCTOR_ID, utc(FRIDAY, "18:00"))).isTrue();
+        assertThat(snapshot.remaining(DOCTOR_ID, utc(SATURDAY, "12:00"))).isNull();
+    }
+
+    @Test
+    void reconcileCountsBookingsByClinicDay() {
+        when(appointmentRepository.findBookingStartsFrom(any())).thenReturn(List.of(
+                new AppointmentCapacityRepository.BookingStart(DOCTOR_ID, utc(FRIDAY, "10:00")),
+                new AppointmentCapacityRepository.BookingStart(DOCTOR_ID, utc(FRIDAY, "18:00"))));
+
+        capacity.reconcile();
+
+        verify(appointmentRepository).saveDailyBookingCounts(
+                eq(List.of(new AppointmentCapacityRepository.DailyBookingCount(DOCTOR_ID, FRIDAY, 2))), any());
+    }
+
+    /**
+     * The UTC time of a Los Angeles local time
+     */
+    private static LocalDateTime utc(LocalDate localDate, String localTime) {
+        return localDate.atTime(LocalTime.parse(localTime)).atZone(LOS_ANGELES)
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime();
+    }
+}
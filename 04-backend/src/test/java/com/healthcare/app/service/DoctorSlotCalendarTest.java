@@ -0,0 +1,193 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.Appointment;
+import com.healthcare.app.entity.DoctorAvailability;
+import com.healthcare.app.entity.User;
+import com.healthcare.app.repository.AppointmentRepository;
+import com.healthcare.app.repository.DoctorAvailabilityRepository;
+import com.healthcare.app.repository.DoctorFreeSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DoctorSlotCalendarTest {
+
+    private static final Long DOCTOR_ID = 7L;
+
+    // 2027-01-04 is a Monday in winter time, 2027-03-14 is the Sunday US clocks spring forward
+    private static final LocalDate MONDAY = LocalDate.of(2027, 1, 4);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private DoctorExceptionOverlay doctorExceptionOverlay;
+    private AppointmentConflictIndex appointmentConflictIndex;
+    private DoctorSlotCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        doctorAvailabilityRepository = mock(DoctorAvailabilityRepository.class);
+        doctorExceptionOverlay = mock(DoctorExceptionOverlay.class);
+
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedSlotsByDoctorFrom(anyLong(), any())).thenReturn(List.of());
+        // Route booking changes to the calendar the way the application context would
+        appointmentConflictIndex = new AppointmentConflictIndex(appointmentRepository,
+                event -> calendar.onBookingChanged((AppointmentConflictIndex.BookingChanged) event));
+
+        calendar = new DoctorSlotCalendar(new DoctorWeeklyTemplates(doctorAvailabilityRepository),
+                doctorExceptionOverlay, appointmentConflictIndex);
+    }
+
+    @Test
+    void cutsWindowIntoSlotsAndSkipsBreak() {
+        availability(availability(DayOfWeek.MONDAY, "09:00", "12:00", null)
+                .breakStartTime(LocalTime.parse("10:30"))
+                .breakEndTime(LocalTime.parse("11:00"))
+                .build());
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)))
+                .containsExactly(at(MONDAY, "09:00"), at(MONDAY, "09:30"), at(MONDAY, "10:00"),
+                        at(MONDAY, "11:00"), at(MONDAY, "11:30"));
+        assertThat(calendar.freeSlotsOn(DOCTOR_ID, TUESDAY)).isEmpty();
+    }
+
+    @Test
+    void longerDurationNeedsBackToBackFreeSlots() {
+        availability(availability(DayOfWeek.MONDAY, "09:00", "12:00", null)
+                .breakStartTime(LocalTime.parse("10:30"))
+                .breakEndTime(LocalTime.parse("11:00"))
+                .build());
+
+        assertThat(calendar.isFree(DOCTOR_ID, at(MONDAY, "09:00"), 60)).isTrue();
+        assertThat(calendar.isFree(DOCTOR_ID, at(MONDAY, "10:00"), 60)).isFalse();
+        assertThat(calendar.isFree(DOCTOR_ID, at(MONDAY, "11:30"), 60)).isFalse();
+        assertThat(calendar.isFree(DOCTOR_ID, at(MONDAY, "08:30"), 30)).isFalse();
+    }
+
+    @Test
+    void bookingChangesFlipOnlyAffectedSlots() {
+        availability(availability(DayOfWeek.MONDAY, "09:00", "11:00", null).build());
+        assertThat(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)).hasSize(4);
+
+        Appointment booked = appointment(1L, at(MONDAY, "09:30"), 30);
+        appointmentConflictIndex.put(booked);
+
+        assertThat(calendar.isFree(DOCTOR_ID, at(MONDAY, "09:30"), 30)).isFalse();
+        assertThat(calendar.isFree(DOCTOR_ID, at(MONDAY, "09:00"), 60)).isFalse();
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)))
+                .containsExactly(at(MONDAY, "09:00"), at(MONDAY, "10:00"), at(MONDAY, "10:30"));
+
+        appointmentConflictIndex.put(appointment(1L, at(MONDAY, "10:30"), 30));
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)))
+                .containsExactly(at(MONDAY, "09:00"), at(MONDAY, "09:30"), at(MONDAY, "10:00"));
+
+        appointmentConflictIndex.remove(DOCTOR_ID, 1L);
+
+        assertThat(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)).hasSize(4);
+    }
+
+    @Test
+    void availabilityExceptionsBlockSlots() {
+        availability(availability(DayOfWeek.MONDAY, "09:00", "10:00", null).build());
+        when(doctorExceptionOverlay.overlaps(DOCTOR_ID, at(MONDAY, "09:00"), at(MONDAY, "09:30"))).thenReturn(true);
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, MONDAY))).containsExactly(at(MONDAY, "09:30"));
+    }
+
+    @Test
+    void eveningWindowRunsPastUtcMidnightIntoNextDate() {
+        // 18:00-22:00 in New York winter time is 23:00-03:00 UTC
+        availability(availability(DayOfWeek.MONDAY, "18:00", "22:00", "America/New_York").build());
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)))
+                .containsExactly(at(MONDAY, "23:00"), at(MONDAY, "23:30"));
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, TUESDAY)))
+                .containsExactly(at(TUESDAY, "00:00"), at(TUESDAY, "00:30"), at(TUESDAY, "01:00"),
+                        at(TUESDAY, "01:30"), at(TUESDAY, "02:00"), at(TUESDAY, "02:30"));
+        assertThat(calendar.nextFreeSlot(DOCTOR_ID, at(MONDAY, "23:45"), null, date -> true))
+                .contains(at(TUESDAY, "00:00"));
+    }
+
+    @Test
+    void bookingAfterUtcMidnightFlipsOvernightSlot() {
+        availability(availability(DayOfWeek.MONDAY, "18:00", "22:00", "America/New_York").build());
+        assertThat(calendar.freeSlotsOn(DOCTOR_ID, TUESDAY)).hasSize(6);
+
+        appointmentConflictIndex.put(appointment(1L, at(TUESDAY, "01:00"), 60));
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, TUESDAY)))
+                .containsExactly(at(TUESDAY, "00:00"), at(TUESDAY, "00:30"), at(TUESDAY, "02:00"), at(TUESDAY, "02:30"));
+        assertThat(calendar.freeSlotsOn(DOCTOR_ID, MONDAY)).hasSize(2);
+    }
+
+    @Test
+    void localWindowFollowsDaylightSavingTime() {
+        availability(availability(DayOfWeek.WEDNESDAY, "09:00", "10:00", "America/New_York").build());
+
+        LocalDate winter = LocalDate.of(2027, 1, 6);
+        LocalDate summer = LocalDate.of(2027, 7, 7);
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, winter)))
+                .containsExactly(at(winter, "14:00"), at(winter, "14:30"));
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, summer)))
+                .containsExactly(at(summer, "13:00"), at(summer, "13:30"));
+    }
+
+    @Test
+    void localWindowMovesOnTheTransitionDate() {
+        availability(availability(DayOfWeek.SUNDAY, "09:00", "10:00", "America/New_York").build());
+
+        LocalDate before = LocalDate.of(2027, 3, 7);
+        LocalDate transition = LocalDate.of(2027, 3, 14);
+
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, before)))
+                .containsExactly(at(before, "14:00"), at(before, "14:30"));
+        assertThat(starts(calendar.freeSlotsOn(DOCTOR_ID, transition)))
+                .containsExactly(at(transition, "13:00"), at(transition, "13:30"));
+        assertThat(calendar.isFree(DOCTOR_ID, at(transition, "14:00"), 30)).isFalse();
+    }
+
+    private void availability(DoctorAvailability... availabilities) {
+        when(doctorAvailabilityRepository.findByDoctorIdAndIsAvailableTrue(DOCTOR_ID)).thenReturn(List.of(availabilities));
+    }
+
+    private static DoctorAvailability.DoctorAvailabilityBuilder availability(DayOfWeek dayOfWeek, String start, String end,
+                                                                            String timeZone) {
+        return DoctorAvailability.builder()
+                .dayOfWeek(dayOfWeek)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .isAvailable(true)
+                .appointmentDurationMinutes(30)
+                .timeZone(timeZone);
+    }
+
+    private static Appointment appointment(Long id, LocalDateTime start, int durationMinutes) {
+        return Appointment.builder()
+                .id(id)
+                .doctor(User.builder().id(DOCTOR_ID).build())
+                .appointmentDate(start)
+                .durationMinutes(durationMinutes)
+                .build();
+    }
+
+    private static LocalDateTime at(LocalDate date, String time) {
+        return date.atTime(LocalTime.parse(time));
+    }
+
+    private static List<LocalDateTime> starts(List<DoctorFreeSlotRepository.FreeSlot> slots) {
+        return slots.stream().map(DoctorFreeSlotRepository.FreeSlot::start).toList();
+    }
+}
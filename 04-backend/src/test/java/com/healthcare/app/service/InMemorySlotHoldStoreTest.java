@@ -0,0 +1,168 @@
+package com.healthcare.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySlotHoldStoreTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDateTime NINE = LocalDateTime.of(2027, 1, 4, 9, 0);
+    private static final long TTL_SECONDS = 300;
+
+    private MutableClock clock;
+    private InMemorySlotHoldStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2027-01-04T08:00:00Z"));
+        store = new InMemorySlotHoldStore(TTL_SECONDS, clock);
+    }
+
+    @Test
+    void rejectsOverlappingHoldOfAnotherPatient() {
+        assertThat(store.tryHold(hold("a", 1L, NINE, 30))).isTrue();
+
+        assertThat(store.tryHold(hold("b", 2L, NINE.plusMinutes(15), 30))).isFalse();
+        assertThat(store.tryHold(hold("c", 2L, NINE.plusMinutes(30), 30))).isTrue();
+        assertThat(store.isHeldByOthers(DOCTOR_ID, NINE, NINE.plusMinutes(30), 2L)).isTrue();
+        assertThat(store.isHeldByOthers(DOCTOR_ID, NINE, NINE.plusMinutes(30), 1L)).isFalse();
+    }
+
+    @Test
+    void samePatientMayHoldOverlappingIntervals() {
+        assertThat(store.tryHold(hold("a", 1L, NINE, 30))).isTrue();
+        assertThat(store.tryHold(hold("b", 1L, NINE.plusMinutes(15), 30))).isTrue();
+
+        assertThat(store.find(DOCTOR_ID, "a")).isPresent();
+        assertThat(store.find(DOCTOR_ID, "b")).isPresent();
+    }
+
+    @Test
+    void releaseFreesInterval() {
+        store.tryHold(hold("a", 1L, NINE, 30));
+
+        store.release(DOCTOR_ID, "a");
+
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+        assertThat(store.tryHold(hold("b", 2L, NINE, 30))).isTrue();
+    }
+
+    @Test
+    void expiredHoldIsIgnoredBeforeItIsDrained() {
+        store.tryHold(hold("a", 1L, NINE, 30));
+
+        clock.advance(Duration.ofSeconds(TTL_SECONDS));
+
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+        assertThat(store.isHeldByOthers(DOCTOR_ID, NINE, NINE.plusMinutes(30), 2L)).isFalse();
+        assertThat(store.tryHold(hold("b", 2L, NINE, 30))).isTrue();
+    }
+
+    @Test
+    void wheelDrainsHoldOnlyOnceItHasExpired() {
+        SlotHoldStore.SlotHold hold = hold("a", 1L, NINE, 30);
+        store.tryHold(hold);
+
+        clock.set(hold.expiresAt().minusMillis(1));
+        store.advance();
+        assertThat(store.find(DOCTOR_ID, "a")).isPresent();
+
+        clock.set(hold.expiresAt());
+        store.advance();
+
+        // Rewinding shows the hold was removed rather than merely filtered as expired
+        clock.set(hold.expiresAt().minusMillis(1));
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+    }
+
+    @Test
+    void expiryWithPartialSecondRoundsUpToNextTick() {
+        SlotHoldStore.SlotHold hold = new SlotHoldStore.SlotHold("a", DOCTOR_ID, 1L, NINE, NINE.plusMinutes(30),
+                clock.instant().plusMillis(1500));
+        store.tryHold(hold);
+
+        clock.advance(Duration.ofSeconds(1));
+        store.advance();
+        clock.set(hold.expiresAt().minusMillis(1));
+        assertThat(store.find(DOCTOR_ID, "a")).isPresent();
+
+        clock.advance(Duration.ofMillis(501));
+        store.advance();
+        clock.set(hold.expiresAt().minusMillis(1));
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+    }
+
+    @Test
+    void longPauseDrainsEveryDueBucket() {
+        store.tryHold(hold("a", 1L, NINE, 30));
+        clock.advance(Duration.ofSeconds(10));
+        store.tryHold(hold("b", 2L, NINE.plusHours(1), 30));
+
+        clock.advance(Duration.ofSeconds(TTL_SECONDS * 3));
+        store.advance();
+
+        clock.set(Instant.parse("2027-01-04T08:00:20Z"));
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+        assertThat(store.find(DOCTOR_ID, "b")).isEmpty();
+    }
+
+    @Test
+    void releasedHoldInBucketDoesNotDropNewerHolds() {
+        store.tryHold(hold("a", 1L, NINE, 30));
+        store.release(DOCTOR_ID, "a");
+        SlotHoldStore.SlotHold later = hold("b", 2L, NINE, 30);
+        clock.advance(Duration.ofSeconds(30));
+        store.tryHold(later);
+
+        clock.set(Instant.parse("2027-01-04T08:00:00Z").plusSeconds(TTL_SECONDS));
+        store.advance();
+
+        assertThat(store.find(DOCTOR_ID, "b")).contains(later);
+    }
+
+    private SlotHoldStore.SlotHold hold(String token, Long patientId, LocalDateTime start, int durationMinutes) {
+        return new SlotHoldStore.SlotHold(token, DOCTOR_ID, patientId, start, start.plusMinutes(durationMinutes),
+                clock.instant().plusSeconds(TTL_SECONDS));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.healthcare.app.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisSlotHoldStoreTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDateTime NINE = LocalDateTime.of(2027, 1, 4, 9, 0);
+    private static final long TTL_SECONDS = 300;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisSlotHoldStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        store = new RedisSlotHoldStore(redisTemplate, TTL_SECONDS);
+    }
+
+    @Test
+    void rejectsOverlappingHoldOfAnotherPatient() {
+        assertThat(store.tryHold(hold("a", 1L, NINE, 30, live()))).isTrue();
+
+        assertThat(store.tryHold(hold("b", 2L, NINE.plusMinutes(15), 30, live()))).isFalse();
+        assertThat(store.tryHold(hold("c", 2L, NINE.plusMinutes(30), 30, live()))).isTrue();
+        assertThat(store.isHeldByOthers(DOCTOR_ID, NINE, NINE.plusMinutes(30), 2L)).isTrue();
+        assertThat(store.isHeldByOthers(DOCTOR_ID, NINE, NINE.plusMinutes(30), 1L)).isFalse();
+        assertThat(store.isHeldByOthers(8L, NINE, NINE.plusMinutes(30), 2L)).isFalse();
+    }
+
+    @Test
+    void samePatientMayHoldOverlappingIntervals() {
+        assertThat(store.tryHold(hold("a", 1L, NINE, 30, live()))).isTrue();
+        assertThat(store.tryHold(hold("b", 1L, NINE.plusMinutes(15), 30, live()))).isTrue();
+    }
+
+    @Test
+    void findReturnsStoredHold() {
+        SlotHoldStore.SlotHold hold = hold("a", 1L, NINE, 30, live().truncatedTo(ChronoUnit.MILLIS));
+        store.tryHold(hold);
+
+        assertThat(store.find(DOCTOR_ID, "a")).contains(hold);
+        assertThat(store.find(DOCTOR_ID, "missing")).isEmpty();
+    }
+
+    @Test
+    void releaseFreesInterval() {
+        store.tryHold(hold("a", 1L, NINE, 30, live()));
+
+        store.release(DOCTOR_ID, "a");
+
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+        assertThat(store.tryHold(hold("b", 2L, NINE, 30, live()))).isTrue();
+    }
+
+    @Test
+    void scriptsPurgeExpiredHoldsBeforeCheckingOverlaps() {
+        store.tryHold(hold("a", 1L, NINE, 30, Instant.now().minusSeconds(1)));
+
+        assertThat(store.find(DOCTOR_ID, "a")).isEmpty();
+        assertThat(store.isHeldByOthers(DOCTOR_ID, NINE, NINE.plusMinutes(30), 2L)).isFalse();
+        assertThat(redisTemplate.opsForHash().hasKey("slot-holds:{" + DOCTOR_ID + "}", "a")).isFalse();
+        assertThat(store.tryHold(hold("b", 2L, NINE, 30, live()))).isTrue();
+    }
+
+    @Test
+    void keysExpireWithTheHoldTtl() {
+        store.tryHold(hold("a", 1L, NINE, 30, live()));
+
+        Long ttlMillis = redisTemplate.getExpire("slot-holds:{" + DOCTOR_ID + "}:expiry", TimeUnit.MILLISECONDS);
+        assertThat(ttlMillis).isPositive().isLessThanOrEqualTo(TTL_SECONDS * 1000);
+    }
+
+    private static Instant live() {
+        return Instant.now().plusSeconds(TTL_SECONDS);
+    }
+
+    private static SlotHoldStore.SlotHold hold(String token, Long patientId, LocalDateTime start, int durationMinutes,
+                                               Instant expiresAt) {
+        return new SlotHoldStore.SlotHold(token, DOCTOR_ID, patientId, start, start.plusMinutes(durationMinutes), expiresAt);
+    }
+}
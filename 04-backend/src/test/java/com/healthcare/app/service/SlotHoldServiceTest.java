@@ -0,0 +1,76 @@
+package com.healthcare.app.service;
+
+import com.healthcare.app.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class SlotHoldServiceTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDateTime NINE = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    private SlotHoldStore slotHoldStore;
+    private SlotHoldService slotHoldService;
+
+    @BeforeEach
+    void setUp() {
+        slotHoldStore = new InMemorySlotHoldStore(300);
+        slotHoldService = new SlotHoldService(slotHoldStore, mock(DoctorAvailabilityService.class), 300);
+        slotHoldStore.tryHold(new SlotHoldStore.SlotHold("token", DOCTOR_ID, 1L, NINE, NINE.plusMinutes(30),
+                Instant.now().plusSeconds(300)));
+    }
+
+    @Test
+    void holderMayReleaseOwnHold() {
+        slotHoldService.release(DOCTOR_ID, "token", user(1L, User.UserRole.PATIENT));
+
+        assertThat(slotHoldStore.find(DOCTOR_ID, "token")).isEmpty();
+    }
+
+    @Test
+    void adminMayReleaseAnyHold() {
+        slotHoldService.release(DOCTOR_ID, "token", user(99L, User.UserRole.ADMIN));
+
+        assertThat(slotHoldStore.find(DOCTOR_ID, "token")).isEmpty();
+    }
+
+    @Test
+    void otherPatientCannotReleaseHold() {
+        assertThatThrownBy(() -> slotHoldService.release(DOCTOR_ID, "token", user(2L, User.UserRole.PATIENT)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(slotHoldStore.find(DOCTOR_ID, "token")).isPresent();
+    }
+
+    @Test
+    void bookingReleasesCoveringHoldOfSamePatient() {
+        slotHoldService.releaseAfterCommit(DOCTOR_ID, "token", 1L, NINE, NINE.plusMinutes(30));
+
+        assertThat(slotHoldStore.find(DOCTOR_ID, "token")).isEmpty();
+    }
+
+    @Test
+    void bookingOfAnotherPatientKeepsHold() {
+        slotHoldService.releaseAfterCommit(DOCTOR_ID, "token", 2L, NINE, NINE.plusMinutes(30));
+
+        assertThat(slotHoldStore.find(DOCTOR_ID, "token")).isPresent();
+    }
+
+    @Test
+    void bookingOutsideHeldIntervalKeepsHold() {
+        slotHoldService.releaseAfterCommit(DOCTOR_ID, "token", 1L, NINE.plusMinutes(15), NINE.plusMinutes(45));
+
+        assertThat(slotHoldStore.find(DOCTOR_ID, "token")).isPresent();
+    }
+
+    private static User user(Long id, User.UserRole role) {
+        return User.builder().id(id).role(role).build();
+    }
+}